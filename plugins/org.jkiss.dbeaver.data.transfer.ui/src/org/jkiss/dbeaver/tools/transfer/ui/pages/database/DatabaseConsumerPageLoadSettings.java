@@ -284,6 +284,19 @@ public class DatabaseConsumerPageLoadSettings extends DataTransferPageNodeSettin
                 }
             });
 
+            final Button reorderRowsCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                DTUIMessages.database_consumer_wizard_reorder_rows_by_nulls_label,
+                DTUIMessages.database_consumer_wizard_reorder_rows_by_nulls_description,
+                settings.isReorderRowsByNulls(),
+                4);
+            reorderRowsCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setReorderRowsByNulls(reorderRowsCheck.getSelection());
+                }
+            });
+
             ignoreDuplicateRows = UIUtils.createCheckbox(
                 performanceSettings,
                 DTUIMessages.database_consumer_wizard_ignore_duplicate_rows_label,
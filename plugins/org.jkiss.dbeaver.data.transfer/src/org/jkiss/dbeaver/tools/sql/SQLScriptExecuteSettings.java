@@ -42,6 +42,8 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
 
     private static final Log log = Log.getLog(SQLScriptExecuteSettings.class);
 
+    public static final int INSERT_BATCH_SIZE = 1000;
+
     private List<DBPDataSourceContainer> dataSources = new ArrayList<>();
     private List<String> scriptFiles = new ArrayList<>();
 
@@ -50,6 +52,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
 
     private boolean ignoreErrors;
     private boolean dumpQueryResultsToLog;
+    private boolean batchInserts;
 
     public List<String> getScriptFiles() {
         return scriptFiles;
@@ -83,6 +86,14 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
         this.dumpQueryResultsToLog = dumpQueryResultsToLog;
     }
 
+    public boolean isBatchInserts() {
+        return batchInserts;
+    }
+
+    public void setBatchInserts(boolean batchInserts) {
+        this.batchInserts = batchInserts;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -132,6 +143,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
 
         ignoreErrors = JSONUtils.getBoolean(config, "ignoreErrors");
         dumpQueryResultsToLog = JSONUtils.getBoolean(config, "dumpQueryResultsToLog");
+        batchInserts = JSONUtils.getBoolean(config, "batchInserts");
 
         autoCommit = JSONUtils.getBoolean(config, "autoCommit");
     }
@@ -149,6 +161,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<IResource> {
 
         config.put("ignoreErrors", ignoreErrors);
         config.put("dumpQueryResultsToLog", dumpQueryResultsToLog);
+        config.put("batchInserts", batchInserts);
 
         config.put("autoCommit", autoCommit);
     }
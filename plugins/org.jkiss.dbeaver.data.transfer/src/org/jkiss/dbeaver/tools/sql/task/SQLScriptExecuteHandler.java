@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.tools.sql.task;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -33,6 +34,7 @@ import org.jkiss.dbeaver.model.sql.SQLScriptElement;
 import org.jkiss.dbeaver.model.sql.SQLScriptErrorHandling;
 import org.jkiss.dbeaver.model.sql.exec.SQLScriptProcessor;
 import org.jkiss.dbeaver.model.sql.parser.SQLScriptParser;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.model.task.*;
@@ -41,6 +43,7 @@ import org.jkiss.utils.IOUtils;
 
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Locale;
 
@@ -49,6 +52,9 @@ import java.util.Locale;
  */
 public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
+    // Larger scripts are not read into memory but parsed and executed statement by statement
+    private static final long STREAM_SCRIPT_MIN_SIZE = 32 * 1024 * 1024;
+
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
     @Override
@@ -99,38 +105,51 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
         for (String filePath : settings.getScriptFiles()) {
             IFile sqlFile = SQLScriptExecuteSettings.getWorkspaceFile(filePath);
-            try (InputStream sqlStream = sqlFile.getContents(true)) {
-                try (Reader fileReader = new InputStreamReader(sqlStream, sqlFile.getCharset())) {
-                    String sqlScriptContent = IOUtils.readToString(fileReader);
-                    try {
-                        for (DBPDataSourceContainer dataSourceContainer : dataSources) {
-                            if (!dataSourceContainer.isConnected()) {
-                                dataSourceContainer.connect(monitor, true, true);
-                            }
-                            DBPDataSource dataSource = dataSourceContainer.getDataSource();
-                            if (dataSource == null) {
-                                throw new DBException("Can't obtain data source connection");
+            try {
+                long fileSize = getFileSize(sqlFile);
+                String sqlScriptContent = null;
+                if (fileSize < STREAM_SCRIPT_MIN_SIZE) {
+                    try (Reader fileReader = new InputStreamReader(sqlFile.getContents(true), sqlFile.getCharset())) {
+                        sqlScriptContent = IOUtils.readToString(fileReader);
+                    }
+                }
+                try {
+                    for (DBPDataSourceContainer dataSourceContainer : dataSources) {
+                        if (!dataSourceContainer.isConnected()) {
+                            dataSourceContainer.connect(monitor, true, true);
+                        }
+                        DBPDataSource dataSource = dataSourceContainer.getDataSource();
+                        if (dataSource == null) {
+                            throw new DBException("Can't obtain data source connection");
+                        }
+                        DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
+
+                        log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
+                        DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
+                        if (contextDefaults != null) {
+                            DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
+                            if (defaultCatalog != null) {
+                                log.debug("> Default catalog: " + defaultCatalog.getName());
                             }
-                            DBCExecutionContext executionContext = dataSource.getDefaultInstance().getDefaultContext(monitor, false);
-
-                            log.debug("> Execute script [" + filePath + "] in [" + dataSourceContainer.getName() + "]");
-                            DBCExecutionContextDefaults contextDefaults = executionContext.getContextDefaults();
-                            if (contextDefaults != null) {
-                                DBSCatalog defaultCatalog = contextDefaults.getDefaultCatalog();
-                                if (defaultCatalog != null) {
-                                    log.debug("> Default catalog: " + defaultCatalog.getName());
-                                }
-                                DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
-                                if (defaultSchema != null) {
-                                    log.debug("> Default schema: " + defaultSchema.getName());
-                                }
+                            DBSSchema defaultSchema = contextDefaults.getDefaultSchema();
+                            if (defaultSchema != null) {
+                                log.debug("> Default schema: " + defaultSchema.getName());
                             }
+                        }
 
-                            processScript(monitor, task, settings, executionContext, filePath, sqlScriptContent, log, logStream);
+                        if (sqlScriptContent != null) {
+                            processScript(monitor, task, settings, executionContext, sqlScriptContent, log, logStream);
+                        } else {
+                            log.debug("> Script size is " + fileSize + " bytes, execute it statement by statement");
+                            try (InputStream sqlStream = sqlFile.getContents(true)) {
+                                SQLScriptStreamParser scriptParser = new SQLScriptStreamParser(
+                                    dataSource, sqlStream, Charset.forName(sqlFile.getCharset()), fileSize);
+                                processScript(monitor, task, settings, executionContext, scriptParser, log, logStream);
+                            }
                         }
-                    } catch (Exception e) {
-                        throw new InvocationTargetException(e);
                     }
+                } catch (Exception e) {
+                    throw new InvocationTargetException(e);
                 }
             } catch (Throwable e) {
                 Throwable error = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
@@ -139,16 +158,36 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         }
     }
 
-    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, String filePath, String sqlScriptContent, Log log, PrintStream logStream) throws DBException {
+    private static long getFileSize(IFile file) {
+        IPath location = file.getLocation();
+        return location == null ? -1 : location.toFile().length();
+    }
+
+    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, String sqlScriptContent, Log log, PrintStream logStream) throws DBException {
         PrintWriter logWriter = new PrintWriter(logStream, true);
         List<SQLScriptElement> scriptElements = SQLScriptParser.parseScript(executionContext.getDataSource(), sqlScriptContent);
         SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
-        scriptContext.setVariables(DBTaskUtils.getVariables(task));
         SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
-        SQLScriptProcessor scriptProcessor = new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log);
+        runScript(monitor, task, settings,
+            new SQLScriptProcessor(executionContext, scriptElements, scriptContext, dataReceiver, log), scriptContext, dataReceiver, logWriter);
+    }
+
+    private void processScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, DBCExecutionContext executionContext, SQLScriptStreamParser scriptParser, Log log, PrintStream logStream) throws DBException {
+        PrintWriter logWriter = new PrintWriter(logStream, true);
+        SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, logWriter, null);
+        SQLScriptDataReceiver dataReceiver = new SQLScriptDataReceiver();
+        runScript(monitor, task, settings,
+            new SQLScriptProcessor(executionContext, scriptParser, scriptContext, dataReceiver, log), scriptContext, dataReceiver, logWriter);
+    }
+
+    private void runScript(DBRProgressMonitor monitor, DBTTask task, SQLScriptExecuteSettings settings, SQLScriptProcessor scriptProcessor, SQLScriptContext scriptContext, SQLScriptDataReceiver dataReceiver, PrintWriter logWriter) throws DBException {
+        scriptContext.setVariables(DBTaskUtils.getVariables(task));
 
         scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
         scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
+        if (settings.isBatchInserts()) {
+            scriptProcessor.setInsertBatchSize(SQLScriptExecuteSettings.INSERT_BATCH_SIZE);
+        }
         if (settings.isDumpQueryResultsToLog()) {
             dataReceiver.setDumpWriter(logWriter);
         }
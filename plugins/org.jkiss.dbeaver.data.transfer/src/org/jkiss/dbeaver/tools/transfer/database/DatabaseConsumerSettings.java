@@ -61,6 +61,7 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
     private int multiRowInsertBatch = 500;
     private boolean skipBindValues;
     private boolean disableUsingBatches = false;
+    private boolean reorderRowsByNulls = false;
     private boolean ignoreDuplicateRows;
     private boolean useBulkLoad = false;
     private String onDuplicateKeyInsertMethodId;
@@ -182,6 +183,14 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.disableUsingBatches = disableUsingBatches;
     }
 
+    public boolean isReorderRowsByNulls() {
+        return reorderRowsByNulls;
+    }
+
+    public void setReorderRowsByNulls(boolean reorderRowsByNulls) {
+        this.reorderRowsByNulls = reorderRowsByNulls;
+    }
+
     public boolean isIgnoreDuplicateRows() {
         return ignoreDuplicateRows;
     }
@@ -239,6 +248,7 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         multiRowInsertBatch = CommonUtils.toInt(settings.get("multiRowInsertBatch"), multiRowInsertBatch);
         skipBindValues = CommonUtils.getBoolean(settings.get("skipBindValues"), skipBindValues);
         disableUsingBatches = CommonUtils.getBoolean(settings.get("disableUsingBatches"), disableUsingBatches);
+        reorderRowsByNulls = CommonUtils.getBoolean(settings.get("reorderRowsByNulls"), reorderRowsByNulls);
         ignoreDuplicateRows = CommonUtils.getBoolean(settings.get("ignoreDuplicateRows"), ignoreDuplicateRows);
         transferAutoGeneratedColumns = CommonUtils.getBoolean(settings.get("transferAutoGeneratedColumns"), transferAutoGeneratedColumns);
         disableReferentialIntegrity = CommonUtils.getBoolean(settings.get("disableReferentialIntegrity"), disableReferentialIntegrity);
@@ -309,6 +319,7 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         settings.put("multiRowInsertBatch", multiRowInsertBatch);
         settings.put("skipBindValues", skipBindValues);
         settings.put("disableUsingBatches", disableUsingBatches);
+        settings.put("reorderRowsByNulls", reorderRowsByNulls);
         settings.put("ignoreDuplicateRows", ignoreDuplicateRows);
         settings.put("onDuplicateKeyMethod", onDuplicateKeyInsertMethodId);
         settings.put("transferAutoGeneratedColumns", transferAutoGeneratedColumns);
@@ -344,6 +355,7 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_multi_insert_batch, multiRowInsertBatch);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_skip_bind_values, skipBindValues);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_disable_batches, disableUsingBatches);
+        DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_reorder_rows_by_nulls, reorderRowsByNulls);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_ignore_duplicate_rows, ignoreDuplicateRows);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_on_duplicate_key_method_label, onDuplicateKeyInsertMethodId);
         DTUtils.addSummary(summary, DTMessages.database_consumer_settings_option_transfer_auto_generated_columns, transferAutoGeneratedColumns);
@@ -0,0 +1,425 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueMeta;
+import org.jkiss.dbeaver.model.data.DBDValueReader;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decouples reading of source rows from writing them into the consumer.
+ * <p>
+ * Producer thread copies row values into batches and puts them into a bounded queue.
+ * A separate job takes batches from the queue and passes rows to the consumer through a result set
+ * which returns the buffered values. Producer waits once the queue is full.
+ * <p>
+ * Result sets with LOB or complex columns are passed to the consumer directly: their values
+ * are bound to the source cursor and can't be buffered.
+ */
+class DatabasePipelinedReceiver implements DBDDataReceiver {
+
+    private static final Log log = Log.getLog(DatabasePipelinedReceiver.class);
+
+    private static final long POLL_TIMEOUT = 100;
+    // How long to wait for the canceled consumer job
+    private static final long CANCEL_TIMEOUT = 10000;
+    private static final List<Object[]> END_OF_DATA = Collections.emptyList();
+
+    private final DBSDataContainer dataContainer;
+    private final DBDDataReceiver consumer;
+    private final int batchSize;
+    private final int queueSize;
+
+    // Current result set
+    private DBRProgressMonitor monitor;
+    private BlockingQueue<List<Object[]>> queue;
+    private BufferedResultSet bufferedResultSet;
+    private DBDValueReader[] valueReaders;
+    private int[] valuePositions;
+    private int rowSize;
+    private List<Object[]> batch;
+    private ConsumerJob consumerJob;
+
+    // Statistics
+    private long producerRows;
+    private long producerTime;
+    private long producerStallTime;
+    private long consumerRows;
+    private long consumerTime;
+    private long consumerStallTime;
+    private volatile Throwable consumerError;
+
+    DatabasePipelinedReceiver(@NotNull DBSDataContainer dataContainer, @NotNull DBDDataReceiver consumer, int batchSize, int queueSize) {
+        this.dataContainer = dataContainer;
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+        DBDAttributeBinding[] bindings = DBUtils.getAttributeBindings(session, dataContainer, resultSet.getMeta());
+        if (!canBufferValues(bindings)) {
+            log.debug("Result set of '" + dataContainer.getName() + "' can't be pipelined, pass rows to the consumer directly");
+            bufferedResultSet = null;
+            consumer.fetchStart(session, resultSet, offset, maxRows);
+            return;
+        }
+        valueReaders = new DBDValueReader[bindings.length];
+        valuePositions = new int[bindings.length];
+        rowSize = 0;
+        for (int i = 0; i < bindings.length; i++) {
+            DBDAttributeBinding binding = bindings[i];
+            // Consumer reads values by the same positions
+            valuePositions[i] = binding.getOrdinalPosition();
+            valueReaders[i] = binding.getValueHandler().createValueReader(resultSet, binding, valuePositions[i]);
+            rowSize = Math.max(rowSize, valuePositions[i] + 1);
+        }
+        bufferedResultSet = new BufferedResultSet(resultSet);
+        consumer.fetchStart(session, bufferedResultSet, offset, maxRows);
+
+        monitor = session.getProgressMonitor();
+        queue = new ArrayBlockingQueue<>(queueSize);
+        batch = new ArrayList<>(batchSize);
+        consumerError = null;
+        consumerJob = new ConsumerJob(session, bufferedResultSet, queue);
+        consumerJob.schedule();
+    }
+
+    @Override
+    public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        if (bufferedResultSet == null) {
+            consumer.fetchRow(session, resultSet);
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        Object[] row = new Object[rowSize];
+        for (int i = 0; i < valueReaders.length; i++) {
+            row[valuePositions[i]] = valueReaders[i].readValue(session, resultSet);
+        }
+        batch.add(row);
+        producerRows++;
+        producerTime += System.currentTimeMillis() - startTime;
+        if (batch.size() >= batchSize) {
+            putBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        if (bufferedResultSet == null) {
+            consumer.fetchEnd(session, resultSet);
+            return;
+        }
+        try {
+            if (consumerError == null) {
+                if (!batch.isEmpty()) {
+                    putBatch(batch);
+                }
+                putBatch(END_OF_DATA);
+            }
+        } finally {
+            finishConsumer();
+        }
+        checkConsumerError();
+        consumer.fetchEnd(session, bufferedResultSet);
+        bufferedResultSet = null;
+    }
+
+    @Override
+    public void close() {
+        finishConsumer();
+        consumer.close();
+    }
+
+    /**
+     * Throws error of the consumer job (if any). Errors thrown from fetchEnd may be swallowed by the data container.
+     */
+    void checkConsumerError() throws DBCException {
+        Throwable error = consumerError;
+        if (error != null) {
+            consumerError = null;
+            if (error instanceof DBCException) {
+                throw (DBCException) error;
+            }
+            throw new DBCException("Error writing rows to the consumer", error);
+        }
+    }
+
+    void dumpStatistics(@NotNull DBCStatistics statistics) {
+        if (producerRows == 0) {
+            return;
+        }
+        statistics.addInfo("Pipeline rows", producerRows);
+        statistics.addInfo("Pipeline producer stall time", producerStallTime);
+        statistics.addInfo("Pipeline consumer stall time", consumerStallTime);
+        statistics.addMessage(
+            "Pipelined transfer: read " + producerRows + " rows (" + getRowsPerSecond(producerRows, producerTime) + " rows/s, " +
+            producerStallTime + "ms waiting for consumer), wrote " + consumerRows + " rows (" +
+            getRowsPerSecond(consumerRows, consumerTime) + " rows/s, " + consumerStallTime + "ms waiting for producer)");
+    }
+
+    private static long getRowsPerSecond(long rows, long time) {
+        return time <= 0 ? rows : rows * 1000 / time;
+    }
+
+    private static boolean canBufferValues(@NotNull DBDAttributeBinding[] bindings) {
+        for (DBDAttributeBinding binding : bindings) {
+            DBPDataKind dataKind = binding.getDataKind();
+            if (dataKind != DBPDataKind.BOOLEAN && dataKind != DBPDataKind.NUMERIC &&
+                dataKind != DBPDataKind.STRING && dataKind != DBPDataKind.DATETIME)
+            {
+                return false;
+            }
+            if (DBDContent.class.isAssignableFrom(binding.getValueHandler().getValueObjectType(binding))) {
+                // E.g. long strings read as LOBs
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void putBatch(@NotNull List<Object[]> rows) throws DBCException {
+        long startTime = System.currentTimeMillis();
+        try {
+            while (!queue.offer(rows, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                checkConsumerError();
+                if (monitor.isCanceled()) {
+                    throw new DBCException("Pipelined transfer canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new DBCException("Pipelined transfer interrupted", e);
+        } finally {
+            producerStallTime += System.currentTimeMillis() - startTime;
+        }
+        checkConsumerError();
+    }
+
+    private void finishConsumer() {
+        ConsumerJob job = consumerJob;
+        if (job == null) {
+            return;
+        }
+        consumerJob = null;
+        try {
+            if (!job.finished) {
+                // Producer failed or was canceled. Let the consumer process what was read already.
+                putEndOfData(job);
+            }
+            waitForConsumer(job);
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while waiting for the consumer job");
+            job.cancelWriting();
+        }
+        consumerRows += job.rows;
+        consumerTime += job.time;
+        consumerStallTime += job.stallTime;
+    }
+
+    private void putEndOfData(@NotNull ConsumerJob job) throws InterruptedException {
+        while (!job.finished && !queue.offer(END_OF_DATA, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            if (monitor.isCanceled()) {
+                job.cancelWriting();
+                return;
+            }
+        }
+    }
+
+    private void waitForConsumer(@NotNull ConsumerJob job) throws InterruptedException {
+        long cancelTime = -1;
+        while (!job.join(POLL_TIMEOUT, null)) {
+            if (cancelTime < 0) {
+                if (monitor.isCanceled()) {
+                    job.cancelWriting();
+                    cancelTime = System.currentTimeMillis();
+                }
+            } else if (System.currentTimeMillis() - cancelTime > CANCEL_TIMEOUT) {
+                log.warn("Consumer job of '" + dataContainer.getName() + "' didn't finish in " + CANCEL_TIMEOUT + "ms after cancel");
+                return;
+            }
+        }
+    }
+
+    private class ConsumerJob extends AbstractJob {
+        private final DBCSession session;
+        private final BufferedResultSet resultSet;
+        private final BlockingQueue<List<Object[]>> queue;
+        private volatile boolean finished;
+        private volatile boolean writeCanceled;
+        private long rows;
+        private long time;
+        private long stallTime;
+
+        ConsumerJob(DBCSession session, BufferedResultSet resultSet, BlockingQueue<List<Object[]>> queue) {
+            super("Write rows of " + dataContainer.getName());
+            this.session = session;
+            this.resultSet = resultSet;
+            this.queue = queue;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                for (;;) {
+                    long startTime = System.currentTimeMillis();
+                    List<Object[]> batch = queue.take();
+                    stallTime += System.currentTimeMillis() - startTime;
+                    if (batch == END_OF_DATA) {
+                        break;
+                    }
+                    startTime = System.currentTimeMillis();
+                    for (Object[] row : batch) {
+                        if (writeCanceled) {
+                            return Status.CANCEL_STATUS;
+                        }
+                        resultSet.row = row;
+                        consumer.fetchRow(session, resultSet);
+                        rows++;
+                    }
+                    time += System.currentTimeMillis() - startTime;
+                }
+            } catch (Throwable e) {
+                consumerError = e;
+            } finally {
+                finished = true;
+                // Unblock producer
+                queue.clear();
+            }
+            return Status.OK_STATUS;
+        }
+
+        void cancelWriting() {
+            writeCanceled = true;
+            cancel();
+            // Unblock consumer waiting for the next batch
+            queue.clear();
+            queue.offer(END_OF_DATA);
+        }
+    }
+
+    /**
+     * Result set of buffered values. Metadata is read from the source result set.
+     */
+    private static class BufferedResultSet implements DBCResultSet {
+        private final DBCResultSet source;
+        private Object[] row;
+
+        BufferedResultSet(@NotNull DBCResultSet source) {
+            this.source = source;
+        }
+
+        @Override
+        public DBCSession getSession() {
+            return source.getSession();
+        }
+
+        @Override
+        public DBCStatement getSourceStatement() {
+            return source.getSourceStatement();
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(int index) throws DBCException {
+            if (row == null || index < 0 || index >= row.length) {
+                throw new DBCException("Attribute index " + index + " out of range");
+            }
+            return row[index];
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(String name) throws DBCException {
+            List<? extends DBCAttributeMetaData> attributes = getMeta().getAttributes();
+            for (int i = 0; i < attributes.size(); i++) {
+                if (attributes.get(i).getLabel().equalsIgnoreCase(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getAttributeValueMeta(int index) {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getRowMeta() {
+            return null;
+        }
+
+        @Override
+        public boolean nextRow() {
+            return false;
+        }
+
+        @Override
+        public boolean moveTo(int position) throws DBCException {
+            throw new DBCException("Buffered result set can't be scrolled");
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta() throws DBCException {
+            return source.getMeta();
+        }
+
+        @Nullable
+        @Override
+        public String getResultSetName() throws DBCException {
+            return source.getResultSetName();
+        }
+
+        @Nullable
+        @Override
+        public Object getFeature(String name) {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // Source result set is closed by its owner
+        }
+    }
+}
@@ -32,13 +32,18 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
     public enum ExtractType {
         SINGLE_QUERY,
-        SEGMENTS
+        SEGMENTS,
+        KEY_RANGES
     }
 
     private static final int DEFAULT_SEGMENT_SIZE = 100000;
     private static final int DEFAULT_FETCH_SIZE = 10000;
+    private static final int DEFAULT_RANGE_READERS = 4;
+    private static final int DEFAULT_PIPELINE_BATCH_SIZE = 1000;
+    private static final int DEFAULT_PIPELINE_QUEUE_SIZE = 8;
 
     private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private int rangeReaders = DEFAULT_RANGE_READERS;
 
     private boolean openNewConnections = true;
     private boolean queryRowCount = true;
@@ -46,6 +51,9 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     private boolean selectedColumnsOnly = false;
     private ExtractType extractType = ExtractType.SINGLE_QUERY;
     private int fetchSize = DEFAULT_FETCH_SIZE;
+    private boolean pipelined = false;
+    private int pipelineBatchSize = DEFAULT_PIPELINE_BATCH_SIZE;
+    private int pipelineQueueSize = DEFAULT_PIPELINE_QUEUE_SIZE;
 
     public DatabaseProducerSettings() {
     }
@@ -60,6 +68,50 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         }
     }
 
+    public int getRangeReaders() {
+        return rangeReaders;
+    }
+
+    public void setRangeReaders(int rangeReaders) {
+        if (rangeReaders > 0) {
+            this.rangeReaders = rangeReaders;
+        }
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Number of rows passed from reader to writer at once
+     */
+    public int getPipelineBatchSize() {
+        return pipelineBatchSize;
+    }
+
+    public void setPipelineBatchSize(int pipelineBatchSize) {
+        if (pipelineBatchSize > 0) {
+            this.pipelineBatchSize = pipelineBatchSize;
+        }
+    }
+
+    /**
+     * Maximum number of batches read ahead of writer. Reader waits once it is reached.
+     */
+    public int getPipelineQueueSize() {
+        return pipelineQueueSize;
+    }
+
+    public void setPipelineQueueSize(int pipelineQueueSize) {
+        if (pipelineQueueSize > 0) {
+            this.pipelineQueueSize = pipelineQueueSize;
+        }
+    }
+
     public boolean isQueryRowCount() {
         return queryRowCount;
     }
@@ -112,7 +164,11 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     public void loadSettings(DBRRunnableContext runnableContext, DataTransferSettings dataTransferSettings, Map<String, Object> settings) {
         extractType = CommonUtils.valueOf(ExtractType.class, (String) settings.get("extractType"), extractType);
         segmentSize = CommonUtils.toInt(settings.get("segmentSize"), DEFAULT_SEGMENT_SIZE);
+        rangeReaders = CommonUtils.toInt(settings.get("rangeReaders"), DEFAULT_RANGE_READERS);
         fetchSize = CommonUtils.toInt(settings.get("fetchSize"), fetchSize);
+        pipelined = CommonUtils.getBoolean(settings.get("pipelined"), false);
+        pipelineBatchSize = CommonUtils.toInt(settings.get("pipelineBatchSize"), DEFAULT_PIPELINE_BATCH_SIZE);
+        pipelineQueueSize = CommonUtils.toInt(settings.get("pipelineQueueSize"), DEFAULT_PIPELINE_QUEUE_SIZE);
         openNewConnections = CommonUtils.toBoolean(settings.get("openNewConnections"));
         queryRowCount = CommonUtils.toBoolean(settings.get("queryRowCount"));
         selectedColumnsOnly = CommonUtils.toBoolean(settings.get("selectedColumnsOnly"));
@@ -123,7 +179,11 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     public void saveSettings(Map<String, Object> settings) {
         settings.put("extractType", extractType.name());
         settings.put("segmentSize", segmentSize);
+        settings.put("rangeReaders", rangeReaders);
         settings.put("fetchSize", fetchSize);
+        settings.put("pipelined", pipelined);
+        settings.put("pipelineBatchSize", pipelineBatchSize);
+        settings.put("pipelineQueueSize", pipelineQueueSize);
         settings.put("openNewConnections", openNewConnections);
         settings.put("queryRowCount", queryRowCount);
         settings.put("selectedColumnsOnly", selectedColumnsOnly);
@@ -137,6 +197,7 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_new_connection, openNewConnections);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_extract_type, extractType.name());
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_select_row_count, queryRowCount);
+        DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_pipelined, pipelined);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_rows_only, selectedRowsOnly);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_columns_only, selectedColumnsOnly);
 
@@ -0,0 +1,375 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads entity data by key ranges in parallel.
+ * Each range is read by a separate job in its own isolated execution context (with auto-commit turned off,
+ * otherwise some drivers ignore fetch size or can't read LOBs).
+ * Rows are passed to the consumer one by one (consumers are not thread-safe), so fetching and
+ * decoding on the server/driver side overlaps while the consumer sees a single unordered stream.
+ */
+class DatabaseRangeReader {
+
+    private static final Log log = Log.getLog(DatabaseRangeReader.class);
+
+    private final DBSEntity entity;
+    private final DBCExecutionContext context;
+    @Nullable
+    private final DBDDataFilter dataFilter;
+    private final long readFlags;
+    private final int fetchSize;
+    @Nullable
+    private final String defaultCatalog;
+    @Nullable
+    private final String defaultSchema;
+
+    DatabaseRangeReader(
+        @NotNull DBSEntity entity,
+        @NotNull DBCExecutionContext context,
+        @Nullable DBDDataFilter dataFilter,
+        long readFlags,
+        int fetchSize,
+        @Nullable String defaultCatalog,
+        @Nullable String defaultSchema)
+    {
+        this.entity = entity;
+        this.context = context;
+        this.dataFilter = dataFilter;
+        this.readFlags = readFlags;
+        this.fetchSize = fetchSize;
+        this.defaultCatalog = defaultCatalog;
+        this.defaultSchema = defaultSchema;
+    }
+
+    /**
+     * Splits entity into key ranges.
+     * Numeric keys are split by min/max values, other keys - with NTILE window function.
+     * Returns null if entity has no suitable single-column key or range boundaries can't be determined.
+     */
+    @Nullable
+    List<String> makeRangeConditions(@NotNull DBCSession session, int rangeCount) throws DBException {
+        if (rangeCount < 2 || !(entity instanceof DBSDataContainer)) {
+            return null;
+        }
+        List<? extends DBSEntityAttribute> keyAttrs = DBUtils.getBestTableIdentifier(session.getProgressMonitor(), entity);
+        if (keyAttrs.size() != 1) {
+            return null;
+        }
+        DBSEntityAttribute keyAttr = keyAttrs.get(0);
+        DBPDataSource dataSource = entity.getDataSource();
+        String keyName = DBUtils.getQuotedIdentifier(keyAttr);
+        String tableName = entity.getFullyQualifiedName(DBPEvaluationContext.DML);
+
+        List<String> bounds = new ArrayList<>();
+        if (keyAttr.getDataKind() == DBPDataKind.NUMERIC) {
+            StringBuilder query = new StringBuilder();
+            query.append("SELECT MIN(").append(keyName).append("),MAX(").append(keyName).append(") FROM ").append(tableName);
+            SQLUtils.appendQueryConditions(dataSource, query, null, dataFilter);
+            List<Object[]> result = executeQuery(session, query.toString(), 2);
+            if (result.isEmpty() || !(result.get(0)[0] instanceof Number) || !(result.get(0)[1] instanceof Number)) {
+                return null;
+            }
+            BigDecimal minValue = toBigDecimal((Number) result.get(0)[0]);
+            BigDecimal maxValue = toBigDecimal((Number) result.get(0)[1]);
+            boolean integral = minValue.scale() <= 0 && maxValue.scale() <= 0;
+            BigDecimal step = maxValue.subtract(minValue).divide(BigDecimal.valueOf(rangeCount), 10, RoundingMode.HALF_UP);
+            for (int i = 1; i < rangeCount; i++) {
+                BigDecimal bound = minValue.add(step.multiply(BigDecimal.valueOf(i)));
+                if (integral) {
+                    bound = bound.setScale(0, RoundingMode.CEILING);
+                }
+                String strBound = bound.stripTrailingZeros().toPlainString();
+                if (!bounds.contains(strBound)) {
+                    bounds.add(strBound);
+                }
+            }
+            return makeConditions(keyName, bounds, false);
+        } else {
+            // Upper bound of each tile
+            StringBuilder query = new StringBuilder();
+            query.append("SELECT MAX(").append(keyName).append(") FROM (SELECT ").append(keyName)
+                .append(", NTILE(").append(rangeCount).append(") OVER (ORDER BY ").append(keyName).append(") dbeaver_tile FROM ").append(tableName);
+            SQLUtils.appendQueryConditions(dataSource, query, null, dataFilter);
+            query.append(") dbeaver_tiles GROUP BY dbeaver_tile ORDER BY 1");
+            List<Object[]> result;
+            try {
+                result = executeQuery(session, query.toString(), 1);
+            } catch (DBCException e) {
+                log.debug("Can't split '" + entity.getName() + "' with NTILE: " + e.getMessage());
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+                if (txnManager != null && !txnManager.isAutoCommit()) {
+                    txnManager.rollback(session, null);
+                }
+                return null;
+            }
+            // Skip last tile - its upper bound is the max value
+            for (int i = 0; i < result.size() - 1; i++) {
+                Object value = result.get(i)[0];
+                if (value != null) {
+                    bounds.add(SQLUtils.convertValueToSQL(dataSource, keyAttr, value));
+                }
+            }
+            return makeConditions(keyName, bounds, true);
+        }
+    }
+
+    @Nullable
+    private static List<String> makeConditions(String keyName, List<String> bounds, boolean inclusiveUpper) {
+        if (bounds.isEmpty()) {
+            return null;
+        }
+        String lessOp = inclusiveUpper ? " <= " : " < ";
+        String greaterOp = inclusiveUpper ? " > " : " >= ";
+        List<String> conditions = new ArrayList<>();
+        // Nulls are possible in unique keys
+        conditions.add(keyName + lessOp + bounds.get(0) + " OR " + keyName + " IS NULL");
+        for (int i = 1; i < bounds.size(); i++) {
+            conditions.add(keyName + greaterOp + bounds.get(i - 1) + " AND " + keyName + lessOp + bounds.get(i));
+        }
+        conditions.add(keyName + greaterOp + bounds.get(bounds.size() - 1));
+        return conditions;
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+        return BigDecimal.valueOf(value.longValue());
+    }
+
+    private List<Object[]> executeQuery(DBCSession session, String query, int columnCount) throws DBCException {
+        List<Object[]> rows = new ArrayList<>();
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query, false, false, false)) {
+            if (dbStat.executeStatement()) {
+                try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                    while (dbResult.nextRow()) {
+                        Object[] row = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            row[i] = dbResult.getAttributeValue(i);
+                        }
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reads all ranges in parallel and feeds rows to the consumer.
+     */
+    DBCStatistics readRanges(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionSource source,
+        @NotNull DBDDataReceiver consumer,
+        @NotNull List<String> conditions) throws DBException
+    {
+        SerializedReceiver receiver = new SerializedReceiver(monitor, consumer, conditions.size());
+        CountDownLatch finishLatch = new CountDownLatch(conditions.size());
+        List<RangeReaderJob> jobs = new ArrayList<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            RangeReaderJob job = new RangeReaderJob(i + 1, source, receiver, makeRangeFilter(conditions.get(i)), finishLatch);
+            jobs.add(job);
+            job.schedule();
+        }
+        try {
+            while (!finishLatch.await(100, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled() || jobs.stream().anyMatch(job -> job.error != null)) {
+                    // Stop other readers
+                    for (RangeReaderJob job : jobs) {
+                        job.cancel();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            for (RangeReaderJob job : jobs) {
+                job.cancel();
+            }
+            throw new DBException("Parallel read interrupted", e);
+        }
+
+        DBCStatistics statistics = new DBCStatistics();
+        for (RangeReaderJob job : jobs) {
+            if (job.error != null) {
+                throw new DBException("Error reading range " + job.rangeNumber + " of '" + entity.getName() + "'", job.error);
+            }
+            if (job.statistics != null) {
+                statistics.accumulate(job.statistics);
+            }
+        }
+        return statistics;
+    }
+
+    private DBDDataFilter makeRangeFilter(String condition) {
+        DBDDataFilter rangeFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+        String where = rangeFilter.getWhere();
+        rangeFilter.setWhere(CommonUtils.isEmpty(where) ? condition : "(" + where + ") AND (" + condition + ")");
+        return rangeFilter;
+    }
+
+    /**
+     * Passes rows from multiple readers to the single consumer.
+     * Consumer gets one fetchStart (from the first reader) and one fetchEnd (from the last one).
+     * Fetch progress of all readers is reported to the transfer monitor.
+     */
+    private static class SerializedReceiver implements DBDDataReceiver {
+        private final DBRProgressMonitor monitor;
+        private final DBDDataReceiver consumer;
+        private final int readerCount;
+        private int activeReaders;
+        private boolean started;
+        private long fetchedRows;
+        private long reportedRows;
+
+        SerializedReceiver(DBRProgressMonitor monitor, DBDDataReceiver consumer, int readerCount) {
+            this.monitor = monitor;
+            this.consumer = consumer;
+            this.readerCount = readerCount;
+            this.activeReaders = readerCount;
+        }
+
+        @Override
+        public synchronized void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            if (!started) {
+                started = true;
+                consumer.fetchStart(session, resultSet, offset, maxRows);
+            }
+        }
+
+        @Override
+        public synchronized void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            consumer.fetchRow(session, resultSet);
+            fetchedRows++;
+            if (DBFetchProgress.monitorFetchProgress(fetchedRows)) {
+                reportProgress();
+            }
+        }
+
+        @Override
+        public synchronized void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            activeReaders--;
+            reportProgress();
+            if (activeReaders == 0 && started) {
+                consumer.fetchEnd(session, resultSet);
+            }
+        }
+
+        @Override
+        public void close() {
+            // Consumer is closed by the transfer pipe
+        }
+
+        private void reportProgress() {
+            monitor.subTask(fetchedRows + " rows fetched (" + (readerCount - activeReaders) + " of " + readerCount + " ranges done)");
+            monitor.worked((int) (fetchedRows - reportedRows));
+            reportedRows = fetchedRows;
+        }
+    }
+
+    private class RangeReaderJob extends AbstractJob {
+        private final int rangeNumber;
+        private final DBCExecutionSource source;
+        private final DBDDataReceiver receiver;
+        private final DBDDataFilter rangeFilter;
+        private final CountDownLatch finishLatch;
+        private volatile DBCStatistics statistics;
+        private volatile Throwable error;
+
+        RangeReaderJob(int rangeNumber, DBCExecutionSource source, DBDDataReceiver receiver, DBDDataFilter rangeFilter, CountDownLatch finishLatch) {
+            super("Read range " + rangeNumber + " of " + entity.getName());
+            this.rangeNumber = rangeNumber;
+            this.source = source;
+            this.receiver = receiver;
+            this.rangeFilter = rangeFilter;
+            this.finishLatch = finishLatch;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                DBCExecutionContext rangeContext = DBUtils.getObjectOwnerInstance(entity).openIsolatedContext(
+                    monitor, "Data transfer producer (range " + rangeNumber + ")", context);
+                try {
+                    DBExecUtils.setExecutionContextDefaults(monitor, entity.getDataSource(), rangeContext, defaultCatalog, null, defaultSchema);
+                    // Turn off auto-commit, the same way as producer does for its own connection
+                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(rangeContext);
+                    if (txnManager != null && txnManager.isSupportsTransactions()) {
+                        try {
+                            txnManager.setAutoCommit(monitor, false);
+                        } catch (DBCException e) {
+                            log.warn("Can't change auto-commit", e);
+                        }
+                    }
+                    try (DBCSession session = rangeContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Read range " + rangeNumber)) {
+                        session.enableLogging(false);
+                        try {
+                            statistics = ((DBSDataContainer) entity).readData(source, session, receiver, rangeFilter, -1, -1, readFlags, fetchSize);
+                        } finally {
+                            if (txnManager != null && txnManager.isSupportsTransactions() && !txnManager.isAutoCommit()) {
+                                txnManager.rollback(session, null);
+                            }
+                        }
+                    }
+                } finally {
+                    rangeContext.close();
+                }
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                finishLatch.countDown();
+            }
+            return Status.OK_STATUS;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingCustom;
 import org.jkiss.dbeaver.model.data.DBDInsertReplaceMethod;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValueReader;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
@@ -93,6 +94,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         public DBDAttributeBinding sourceAttr;
         public DatabaseMappingAttribute targetAttr;
         public DBDValueHandler sourceValueHandler;
+        public DBDValueReader sourceValueReader;
         public DBDValueHandler targetValueHandler;
         public int targetIndex = -1;
         public IDataTransferAttributeTransformer valueTransformer;
@@ -255,6 +257,12 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 }
             }
             columnMapping.sourceValueHandler = columnMapping.sourceAttr.getValueHandler();
+            if (columnMapping.sourceValueHandler != null && !(columnMapping.sourceAttr instanceof DBDAttributeBindingCustom)) {
+                columnMapping.sourceValueReader = columnMapping.sourceValueHandler.createValueReader(
+                    resultSet,
+                    columnMapping.sourceAttr,
+                    columnMapping.sourceAttr.getOrdinalPosition());
+            }
             columnMapping.targetValueHandler = DBUtils.findValueHandler(targetContext.getDataSource(), targetAttr);
             columnMapping.targetIndex = targetAttributes.size();
 
@@ -316,11 +324,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 if (column.sourceAttr instanceof DBDAttributeBindingCustom) {
                     attrValue = DBUtils.getAttributeValue(column.sourceAttr, sourceBindings, rowValues);
                 } else {
-                    attrValue = column.sourceValueHandler.fetchValueObject(
-                        session,
-                        resultSet,
-                        column.sourceAttr,
-                        column.sourceAttr.getOrdinalPosition());
+                    attrValue = column.sourceValueReader.readValue(session, resultSet);
                 }
             } else {
                 // No value handler - get raw value
@@ -400,6 +404,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
                 Map<String, Object> options = new HashMap<>();
                 options.put(DBSDataManipulator.OPTION_DISABLE_BATCHES, disableUsingBatches);
+                options.put(DBSDataManipulator.OPTION_REORDER_ROWS, settings.isReorderRowsByNulls());
                 options.put(DBSDataManipulator.OPTION_MULTI_INSERT_BATCH_SIZE, settings.getMultiRowInsertBatch());
                 options.put(DBSDataManipulator.OPTION_SKIP_BIND_VALUES, settings.isSkipBindValues());
 
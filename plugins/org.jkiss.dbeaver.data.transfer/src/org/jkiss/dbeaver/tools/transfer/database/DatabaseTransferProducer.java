@@ -25,6 +25,8 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDKeysetPosition;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DataSourceContextProvider;
@@ -53,6 +55,7 @@ import org.jkiss.utils.CommonUtils;
 import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -254,16 +257,58 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                             monitor.subTask("Read data");
 
                             // Perform export
-                            if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                            List<String> rangeConditions = null;
+                            DatabaseRangeReader rangeReader = null;
+                            if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.KEY_RANGES && !newConnection) {
+                                // Each range needs its own connection
+                                log.debug("New connections are disabled, read '" + dataContainer.getName() + "' with single query");
+                            } else if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.KEY_RANGES &&
+                                !selectiveExportFromUI && dataContainer instanceof DBSEntity)
+                            {
+                                rangeReader = new DatabaseRangeReader(
+                                    (DBSEntity) dataContainer, context, dataFilter, readFlags, settings.getFetchSize(), defaultCatalog, defaultSchema);
+                                rangeConditions = rangeReader.makeRangeConditions(session, settings.getRangeReaders());
+                                if (rangeConditions == null) {
+                                    log.debug("Can't split '" + dataContainer.getName() + "' by key ranges, read it with single query");
+                                }
+                            }
+                            DatabasePipelinedReceiver pipeline = null;
+                            DBDDataReceiver dataReceiver = consumer;
+                            if (rangeConditions == null && settings.isPipelined()) {
+                                // Write rows in a separate job while the next rows are read
+                                pipeline = new DatabasePipelinedReceiver(
+                                    dataContainer, consumer, settings.getPipelineBatchSize(), settings.getPipelineQueueSize());
+                                dataReceiver = pipeline;
+                            }
+                            if (rangeConditions != null) {
+                                // Read key ranges in parallel
+                                producerStatistics.accumulate(rangeReader.readRanges(monitor, transferSource, consumer, rangeConditions));
+                            } else if (settings.getExtractType() != DatabaseProducerSettings.ExtractType.SEGMENTS) {
                                 // Just do it in single query
-                                producerStatistics.accumulate(dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
+                                producerStatistics.accumulate(dataContainer.readData(transferSource, session, dataReceiver, dataFilter, -1, -1, readFlags, settings.getFetchSize()));
+                                if (pipeline != null) {
+                                    pipeline.checkConsumerError();
+                                }
                             } else {
                                 // Read all data by segments
                                 long offset = 0;
                                 int segmentSize = settings.getSegmentSize();
+                                DBDDataFilter segmentFilter = dataFilter;
+                                long segmentFlags = readFlags;
+                                if (dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_KEYSET_PAGINATION) &&
+                                    (dataFilter == null || !dataFilter.hasOrdering()))
+                                {
+                                    // Seek by key instead of offset. Container falls back to offset if table has no unique key.
+                                    segmentFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+                                    segmentFilter.setKeysetPosition(new DBDKeysetPosition());
+                                    segmentFlags |= DBSDataContainer.FLAG_KEYSET_PAGINATION;
+                                }
                                 for (; ; ) {
                                     DBCStatistics statistics = dataContainer.readData(
-                                        transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, settings.getFetchSize());
+                                        transferSource, session, dataReceiver, segmentFilter, offset, segmentSize, segmentFlags, settings.getFetchSize());
+                                    if (pipeline != null) {
+                                        pipeline.checkConsumerError();
+                                    }
                                     if (statistics == null || statistics.getRowsFetched() < segmentSize) {
                                         // Done
                                         break;
@@ -272,6 +317,9 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                                     offset += statistics.getRowsFetched();
                                 }
                             }
+                            if (pipeline != null) {
+                                pipeline.dumpStatistics(producerStatistics);
+                            }
                         } finally {
                             monitor.done();
                         }
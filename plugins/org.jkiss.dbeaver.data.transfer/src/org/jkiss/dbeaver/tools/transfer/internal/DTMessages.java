@@ -40,6 +40,7 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_output_checkbox_selected_columns_only;
 	public static String data_transfer_wizard_output_checkbox_selected_rows_only;
 	public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
+	public static String data_transfer_wizard_output_combo_extract_type_item_by_key_ranges;
 	public static String data_transfer_wizard_output_combo_extract_type_item_single_query;
 	public static String data_transfer_wizard_output_description;
 	public static String data_transfer_wizard_output_dialog_directory_message;
@@ -59,6 +60,10 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_output_label_insert_bom_tooltip;
 	public static String data_transfer_wizard_output_label_max_threads;
 	public static String data_transfer_wizard_output_label_segment_size;
+	public static String data_transfer_wizard_output_label_range_readers;
+	public static String data_transfer_wizard_output_label_range_readers_tip;
+	public static String data_transfer_wizard_output_checkbox_pipelined;
+	public static String data_transfer_wizard_output_checkbox_pipelined_tip;
 	public static String data_transfer_wizard_output_label_add_to_end_of_file;
 	public static String data_transfer_wizard_output_label_add_to_end_of_file_tip;
 	public static String data_transfer_wizard_output_error_empty_output_directory;
@@ -130,12 +135,15 @@ public class DTMessages extends NLS {
 	public static String sql_script_task_page_settings_option_ignore_errors;
 	public static String sql_script_task_page_settings_option_dump_results;
 	public static String sql_script_task_page_settings_option_auto_commit;
+	public static String sql_script_task_page_settings_option_batch_inserts;
+	public static String sql_script_task_page_settings_option_batch_inserts_tip;
 	public static String database_consumer_settings_option_use_transactions;
 	public static String database_consumer_settings_option_commit_after;
 	public static String database_consumer_settings_option_use_multi_insert;
 	public static String database_consumer_settings_option_multi_insert_batch;
 	public static String database_consumer_settings_option_skip_bind_values;
 	public static String database_consumer_settings_option_disable_batches;
+	public static String database_consumer_settings_option_reorder_rows_by_nulls;
 	public static String database_consumer_settings_option_ignore_duplicate_rows;
 	public static String database_consumer_settings_option_on_duplicate_key_method_label;
 	public static String database_consumer_settings_option_transfer_auto_generated_columns;
@@ -131,6 +131,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private long bytesWritten = 0;
 
     private DBDAttributeBinding[] columnMetas;
+    private DBDValueReader[] valueReaders;
     private DBDAttributeBinding[] columnBindings;
     private File lobDirectory;
     private long lobCount;
@@ -161,6 +162,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         // Prepare columns
         columnMetas = DBUtils.getAttributeBindings(session, dataContainer, resultSet.getMeta());
+        valueReaders = createValueReaders(resultSet, columnMetas);
         if (processor instanceof IDocumentDataExporter) {
             columnBindings = DBUtils.injectAndFilterAttributeBindings(session.getDataSource(), dataContainer, columnMetas, true);
         } else {
@@ -204,7 +206,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
 
             // Get values
-            Object[] srcRow = fetchRow(session, resultSet, columnMetas);
+            Object[] srcRow = fetchRow(session, resultSet, columnMetas, valueReaders);
             Object[] targetRow;
             targetRow = new Object[columnBindings.length];
             for (int i = 0; i < columnBindings.length; i++) {
@@ -892,7 +894,28 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         return null;
     }
 
+    @NotNull
+    private static DBDValueReader[] createValueReaders(@NotNull DBCResultSet resultSet, @NotNull DBDAttributeBinding[] attributes) {
+        DBDValueReader[] readers = new DBDValueReader[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            DBDAttributeBinding attribute = attributes[i];
+            DBSAttributeBase metaAttr = attribute.getMetaAttribute();
+            if (metaAttr != null) {
+                readers[i] = attribute.getValueHandler().createValueReader(resultSet, metaAttr, attribute.getOrdinalPosition());
+            }
+        }
+        return readers;
+    }
+
     public static Object[] fetchRow(DBCSession session, DBCResultSet resultSet, DBDAttributeBinding[] attributes) throws DBCException {
+        return fetchRow(session, resultSet, attributes, null);
+    }
+
+    /**
+     * Fetches row values. If readers are specified (see {@link DBDValueHandler#createValueReader}) they are used
+     * instead of value handlers.
+     */
+    public static Object[] fetchRow(DBCSession session, DBCResultSet resultSet, DBDAttributeBinding[] attributes, @Nullable DBDValueReader[] readers) throws DBCException {
         int columnCount = attributes.length; // Column count without virtual columns
 
         Object[] row = new Object[columnCount];
@@ -903,7 +926,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 continue;
             }
             try {
-                row[i] = attribute.getValueHandler().fetchValueObject(session, resultSet, metaAttr, attribute.getOrdinalPosition());
+                if (readers != null) {
+                    row[i] = readers[i].readValue(session, resultSet);
+                } else {
+                    row[i] = attribute.getValueHandler().fetchValueObject(session, resultSet, metaAttr, attribute.getOrdinalPosition());
+                }
             } catch (Exception e) {
                 log.debug("Error fetching '" + metaAttr.getName() + "' value: " + e.getMessage());
             }
@@ -0,0 +1,134 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.clickhouse.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Bulk loader based on native insert.
+ * New ClickHouse driver converts INSERT ... SELECT FROM input() into a RowBinary stream.
+ * Legacy driver has no such mode, so the loader isn't provided for it.
+ */
+public class ClickhouseBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(ClickhouseBulkLoader.class);
+
+    private final ClickhouseDataSource dataSource;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private JDBCPreparedStatement insertStatement;
+    private int bufferedRows;
+    private long totalRows;
+
+    public ClickhouseBulkLoader(ClickhouseDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk load is supported only for tables");
+        }
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        StringBuilder columns = new StringBuilder();
+        StringBuilder structure = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                columns.append(",");
+                structure.append(", ");
+            }
+            String columnName = DBUtils.getQuotedIdentifier(dataSource, attributes[i].getName());
+            columns.append(columnName);
+            structure.append(columnName).append(' ').append(attributes[i].getFullTypeName());
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        String tableName = ((DBSEntity) dataContainer).getFullyQualifiedName(DBPEvaluationContext.DML);
+        String query = "INSERT INTO " + tableName + " (" + columns + ") SELECT " + columns +
+            " FROM input('" + structure.toString().replace("'", "\\'") + "')";
+        try {
+            insertStatement = ((JDBCSession) session).prepareStatement(query);
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i].bindValueObject(session, insertStatement, attributes[i], i, attributeValues[i]);
+        }
+        insertStatement.addToBatch();
+        bufferedRows++;
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        session.getProgressMonitor().subTask("Insert " + bufferedRows + " rows");
+        try {
+            insertStatement.executeBatch();
+            totalRows += bufferedRows;
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getExecutionContext());
+        } finally {
+            bufferedRows = 0;
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        // ClickHouse has no transactions, so there is nothing to commit
+        flushRows(session);
+        log.debug("Data has been inserted (" + totalRows + ")");
+    }
+
+    @Override
+    public void close() {
+        if (insertStatement != null) {
+            insertStatement.close();
+            insertStatement = null;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.net.SSLHandlerTrustStoreImpl;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSDataType;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.CommonUtils;
@@ -101,7 +102,7 @@ public class ClickhouseDataSource extends GenericDataSource {
         monitor.subTask("Initialising SSL configuration");
         properties.put(ClickhouseConstants.SSL_PARAM, "true");
         try {
-            if ("com_clickhouse".equals(getContainer().getDriver().getId())) {
+            if (isNewDriver()) {
                 if (DBWorkbench.isDistributed()) {
                     String clientCertProp =
                         sslConfig.getSecureProperty(SSLHandlerTrustStoreImpl.PROP_SSL_CLIENT_CERT_VALUE);
@@ -175,6 +176,18 @@ public class ClickhouseDataSource extends GenericDataSource {
         return isServerVersionAtLeast(21, 6);
     }
 
+    boolean isNewDriver() {
+        return "com_clickhouse".equals(getContainer().getDriver().getId());
+    }
+
+    @Override
+    public <T> T getAdapter(Class<T> adapter) {
+        if (adapter == DBSDataBulkLoader.class && isNewDriver()) {
+            return adapter.cast(new ClickhouseBulkLoader(this));
+        }
+        return super.getAdapter(adapter);
+    }
+
     static class TableEnginesCache extends JDBCObjectCache<ClickhouseDataSource, ClickhouseTableEngine> {
 
         TableEnginesCache() {
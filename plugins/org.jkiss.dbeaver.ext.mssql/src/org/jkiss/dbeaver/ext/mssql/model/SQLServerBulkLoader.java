@@ -0,0 +1,242 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * Bulk loader based on SQLServerBulkCopy.
+ * Buffered rows are passed to the driver as ISQLServerBulkRecord implementation (dynamic proxy, driver classes
+ * are not available at compile time).
+ */
+public class SQLServerBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(SQLServerBulkLoader.class);
+
+    private final SQLServerDataSource dataSource;
+    private Object bulkCopy;
+    private Method writeToServerMethod;
+    private Class<?> bulkRecordClass;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private final List<Object[]> rows = new ArrayList<>();
+    private long totalRows;
+
+    public SQLServerBulkLoader(SQLServerDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk load is supported only for tables");
+        }
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        try {
+            // Use reflection to create bulk copy
+            Connection connection = ((JDBCSession) session).getOriginal();
+            ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+            Class<?> bulkCopyClass = Class.forName("com.microsoft.sqlserver.jdbc.SQLServerBulkCopy", true, driverClassLoader);
+            bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+            bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(
+                bulkCopy,
+                ((DBSEntity) dataContainer).getFullyQualifiedName(DBPEvaluationContext.DML));
+            for (DBSAttributeBase attr : attributes) {
+                bulkCopyClass.getMethod("addColumnMapping", String.class, String.class).invoke(bulkCopy, attr.getName(), attr.getName());
+            }
+            // writeToServer(ISQLServerBulkRecord) in older drivers, writeToServer(ISQLServerBulkData) in newer ones
+            for (Method method : bulkCopyClass.getMethods()) {
+                if (method.getName().equals("writeToServer") && method.getParameterCount() == 1) {
+                    Class<?> paramType = method.getParameterTypes()[0];
+                    if (paramType.isInterface() && !ResultSet.class.isAssignableFrom(paramType) && paramType.getName().startsWith("com.microsoft.sqlserver")) {
+                        writeToServerMethod = method;
+                        bulkRecordClass = paramType;
+                        break;
+                    }
+                }
+            }
+            if (writeToServerMethod == null) {
+                throw new DBCException("SQL Server driver doesn't support bulk record API");
+            }
+        } catch (DBCException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DBCException("Can't instantiate SQLServerBulkCopy", e);
+        }
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        Object[] row = new Object[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            Object value = attributeValues[i];
+            if (DBUtils.isNullValue(value)) {
+                row[i] = null;
+            } else if (value instanceof Number || value instanceof String || value instanceof Boolean ||
+                value instanceof Date || value instanceof byte[] || value instanceof java.time.temporal.Temporal)
+            {
+                row[i] = value;
+            } else {
+                row[i] = valueHandlers[i].getValueDisplayString(attributes[i], value, DBDDisplayFormat.NATIVE);
+            }
+        }
+        rows.add(row);
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        session.getProgressMonitor().subTask("Bulk copy " + rows.size() + " rows");
+        try {
+            writeToServerMethod.invoke(bulkCopy, createBulkRecord());
+            totalRows += rows.size();
+        } catch (InvocationTargetException e) {
+            throw new DBCException("Error copying dataset on remote server", e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new DBCException("Can't call SQLServerBulkCopy", e);
+        } finally {
+            rows.clear();
+        }
+    }
+
+    private Object createBulkRecord() {
+        final Iterator<Object[]> iterator = rows.iterator();
+        final Object[][] current = new Object[1][];
+        final Set<Integer> ordinals = new LinkedHashSet<>();
+        for (int i = 1; i <= attributes.length; i++) {
+            ordinals.add(i);
+        }
+        return Proxy.newProxyInstance(bulkRecordClass.getClassLoader(), new Class[]{bulkRecordClass}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getColumnOrdinals":
+                    return ordinals;
+                case "getColumnName":
+                    return attributes[(Integer) args[0] - 1].getName();
+                case "getColumnType":
+                    return attributes[(Integer) args[0] - 1].getTypeID();
+                case "getPrecision":
+                    return getPrecision(attributes[(Integer) args[0] - 1]);
+                case "getScale": {
+                    Integer scale = attributes[(Integer) args[0] - 1].getScale();
+                    return scale == null ? 0 : scale;
+                }
+                case "isAutoIncrement":
+                    return false;
+                case "next":
+                    if (iterator.hasNext()) {
+                        current[0] = iterator.next();
+                        return true;
+                    }
+                    return false;
+                case "getRowData":
+                    return current[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "DBeaver bulk record";
+                default: {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == Boolean.TYPE) {
+                        return false;
+                    } else if (returnType == Integer.TYPE) {
+                        return 0;
+                    }
+                    return null;
+                }
+            }
+        });
+    }
+
+    private static int getPrecision(@NotNull DBSAttributeBase attr) {
+        Integer precision = attr.getPrecision();
+        if (precision != null && precision > 0) {
+            return precision;
+        }
+        long maxLength = attr.getMaxLength();
+        DBPDataKind dataKind = attr.getDataKind();
+        if (dataKind == DBPDataKind.STRING || dataKind == DBPDataKind.BINARY || dataKind == DBPDataKind.CONTENT) {
+            // MAX types report -1 or 0 length. Driver treats precision over 8000 as MAX type
+            return maxLength > 0 && maxLength < Integer.MAX_VALUE ? (int) maxLength : Integer.MAX_VALUE;
+        }
+        return maxLength > 0 ? (int) Math.min(maxLength, Integer.MAX_VALUE) : 0;
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+
+        // Commit changes
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit bulk copy");
+            txnManager.commit(session);
+        }
+        log.debug("Data has been copied (" + totalRows + ")");
+    }
+
+    @Override
+    public void close() {
+        rows.clear();
+        if (bulkCopy != null) {
+            try {
+                bulkCopy.getClass().getMethod("close").invoke(bulkCopy);
+            } catch (ReflectiveOperationException e) {
+                log.debug("Error closing bulk copy", e);
+            }
+            bulkCopy = null;
+        }
+    }
+}
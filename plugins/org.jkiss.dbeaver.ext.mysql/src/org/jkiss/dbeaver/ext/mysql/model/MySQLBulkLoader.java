@@ -0,0 +1,263 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCTransactionManager;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Map;
+
+/**
+ * Bulk loader based on LOAD DATA LOCAL INFILE.
+ * Rows are serialized in MySQL text format and passed to the driver as an input stream
+ * (setLocalInfileInputStream is supported by both MySQL Connector/J and MariaDB drivers).
+ * Requires allowLoadLocalInfile=true driver property.
+ * Binary values are passed hex-encoded and decoded on server with UNHEX.
+ * With LOCAL server reports duplicate keys and conversion errors as warnings and skips or truncates rows.
+ * Loader checks warnings after each load and fails like the regular insert would.
+ */
+public class MySQLBulkLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
+
+    private static final Log log = Log.getLog(MySQLBulkLoader.class);
+
+    private static final String STREAM_FILE_NAME = "dbeaver-bulk-load";
+    private static final int MAX_REPORTED_WARNINGS = 10;
+
+    private final MySQLDataSource dataSource;
+    private String loadQuery;
+    private DBSAttributeBase[] attributes;
+    private DBDValueHandler[] valueHandlers;
+    private boolean[] binaryAttributes;
+    private ByteArrayOutputStream rowBuffer;
+    private int bufferedRows;
+    private long totalRows;
+
+    public MySQLBulkLoader(MySQLDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public BulkLoadManager createBulkLoad(
+        @NotNull DBCSession session,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int batchSize,
+        Map<String, Object> options) throws DBCException
+    {
+        if (!(dataContainer instanceof DBSEntity)) {
+            throw new DBCException("Bulk load is supported only for tables");
+        }
+        this.attributes = attributes;
+        this.valueHandlers = new DBDValueHandler[attributes.length];
+        this.binaryAttributes = new boolean[attributes.length];
+        StringBuilder binarySetClause = new StringBuilder();
+        StringBuilder query = new StringBuilder();
+        query.append("LOAD DATA LOCAL INFILE '").append(STREAM_FILE_NAME).append("' INTO TABLE ")
+            .append(((DBSEntity) dataContainer).getFullyQualifiedName(DBPEvaluationContext.DML))
+            .append(" CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (");
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                query.append(",");
+            }
+            String columnName = DBUtils.getQuotedIdentifier(dataSource, attributes[i].getName());
+            binaryAttributes[i] = isBinaryAttribute(attributes[i]);
+            if (binaryAttributes[i]) {
+                // Text stream can't hold raw bytes. Read hex into variable and decode it
+                String varName = "@bin" + (i + 1);
+                query.append(varName);
+                binarySetClause.append(binarySetClause.length() == 0 ? " SET " : ",")
+                    .append(columnName).append("=UNHEX(").append(varName).append(")");
+            } else {
+                query.append(columnName);
+            }
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+        }
+        query.append(")").append(binarySetClause);
+        this.loadQuery = query.toString();
+        this.rowBuffer = new ByteArrayOutputStream(1024 * 1024);
+        return this;
+    }
+
+    @Override
+    public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            Object value = attributeValues[i];
+            if (DBUtils.isNullValue(value)) {
+                line.append("\\N");
+            } else if (binaryAttributes[i]) {
+                line.append(CommonUtils.toHexString(getBinaryValue(session, attributes[i], valueHandlers[i], value)));
+            } else if (value instanceof Number) {
+                line.append(value);
+            } else if (value instanceof Boolean) {
+                line.append((Boolean) value ? '1' : '0');
+            } else {
+                escapeValue(line, valueHandlers[i].getValueDisplayString(attributes[i], value, DBDDisplayFormat.NATIVE));
+            }
+        }
+        line.append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        rowBuffer.write(bytes, 0, bytes.length);
+        bufferedRows++;
+    }
+
+    private static boolean isBinaryAttribute(@NotNull DBSAttributeBase attribute) {
+        if (attribute.getDataKind() == DBPDataKind.BINARY) {
+            return true;
+        }
+        if (attribute.getDataKind() == DBPDataKind.CONTENT) {
+            switch (attribute.getTypeID()) {
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static byte[] getBinaryValue(
+        @NotNull DBCSession session,
+        @NotNull DBSAttributeBase attribute,
+        @NotNull DBDValueHandler valueHandler,
+        @NotNull Object value) throws DBCException
+    {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof DBDContent) {
+            byte[] bytes = ContentUtils.getContentBinaryValue(session.getProgressMonitor(), (DBDContent) value);
+            return bytes == null ? new byte[0] : bytes;
+        }
+        return valueHandler.getValueDisplayString(attribute, value, DBDDisplayFormat.NATIVE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void escapeValue(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': line.append("\\\\"); break;
+                case '\t': line.append("\\t"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\0': line.append("\\0"); break;
+                default: line.append(c); break;
+            }
+        }
+    }
+
+    @Override
+    public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        session.getProgressMonitor().subTask("Load " + bufferedRows + " rows");
+        try (Statement dbStat = ((JDBCSession) session).getOriginal().createStatement()) {
+            Statement driverStat = dbStat.unwrap(Statement.class);
+            Method setStreamMethod = driverStat.getClass().getMethod("setLocalInfileInputStream", InputStream.class);
+            setStreamMethod.invoke(driverStat, new ByteArrayInputStream(rowBuffer.toByteArray()));
+            totalRows += dbStat.executeUpdate(loadQuery);
+            checkWarnings(dbStat);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new DBCException("MySQL driver doesn't support local infile streams", e);
+        } catch (InvocationTargetException e) {
+            throw new DBCException("Error loading data on remote server", e.getTargetException());
+        } catch (SQLException e) {
+            throw new DBCException("Error loading data on remote server", e);
+        } finally {
+            rowBuffer.reset();
+            bufferedRows = 0;
+        }
+    }
+
+    /**
+     * Fails if LOAD DATA skipped or changed some rows.
+     * Notes (e.g. about implicit defaults) are ignored.
+     */
+    private void checkWarnings(@NotNull Statement dbStat) throws SQLException, DBCException {
+        StringBuilder messages = new StringBuilder();
+        int warningCount = 0;
+        try (ResultSet dbResult = dbStat.executeQuery("SHOW WARNINGS")) {
+            while (dbResult.next()) {
+                if ("Note".equalsIgnoreCase(dbResult.getString("Level"))) {
+                    continue;
+                }
+                warningCount++;
+                if (warningCount <= MAX_REPORTED_WARNINGS) {
+                    messages.append("\n").append(dbResult.getString("Level"))
+                        .append(" ").append(dbResult.getInt("Code"))
+                        .append(": ").append(dbResult.getString("Message"));
+                }
+            }
+        }
+        if (warningCount > 0) {
+            throw new DBCException("LOAD DATA reported " + warningCount + " warning(s), some rows were skipped or changed:" + messages);
+        }
+    }
+
+    @Override
+    public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
+        flushRows(session);
+
+        // Commit changes
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
+        if (txnManager != null && !txnManager.isAutoCommit()) {
+            session.getProgressMonitor().subTask("Commit LOAD DATA");
+            txnManager.commit(session);
+        }
+        log.debug("Data has been loaded (" + totalRows + ")");
+    }
+
+    @Override
+    public void close() {
+        rowBuffer = null;
+    }
+}
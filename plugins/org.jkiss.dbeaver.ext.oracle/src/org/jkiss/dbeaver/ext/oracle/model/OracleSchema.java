@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCacheSnapshotProvider;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
@@ -615,7 +616,23 @@ public class OracleSchema extends OracleGlobalObject implements
         }
     }
 
-    public class TableCache extends JDBCStructLookupCache<OracleSchema, OracleTableBase, OracleTableColumn> {
+    /**
+     * Metadata change marker for persistent cache snapshots.
+     * Any DDL in the schema updates LAST_DDL_TIME of the affected objects.
+     */
+    private JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session) throws SQLException {
+        JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT " + OracleUtils.getSysCatalogHint(getDataSource()) +
+                " COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME), 'YYYYMMDDHH24MISS')\n" +
+                "FROM " + OracleUtils.getAdminAllViewPrefix(session.getProgressMonitor(), getDataSource(), "OBJECTS") + "\n" +
+                "WHERE OWNER=?");
+        dbStat.setString(1, getName());
+        return dbStat;
+    }
+
+    public class TableCache extends JDBCStructLookupCache<OracleSchema, OracleTableBase, OracleTableColumn>
+        implements JDBCCacheSnapshotProvider<OracleSchema>
+    {
 
         TableCache()
         {
@@ -623,6 +640,12 @@ public class OracleSchema extends OracleGlobalObject implements
             setListOrderComparator(DBUtils.nameComparator());
         }
 
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner) throws SQLException {
+            return owner.prepareChangeMarkerStatement(session);
+        }
+
         @NotNull
         @Override
         public JDBCStatement prepareLookupStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner, @Nullable OracleTableBase object, @Nullable String objectName) throws SQLException {
@@ -775,12 +798,20 @@ public class OracleSchema extends OracleGlobalObject implements
     /**
      * Constraint cache implementation
      */
-    class ConstraintCache extends JDBCCompositeCache<OracleSchema, OracleTableBase, OracleTableConstraint, OracleTableConstraintColumn> {
+    class ConstraintCache extends JDBCCompositeCache<OracleSchema, OracleTableBase, OracleTableConstraint, OracleTableConstraintColumn>
+        implements JDBCCacheSnapshotProvider<OracleSchema>
+    {
         ConstraintCache()
         {
             super(tableCache, OracleTableBase.class, "TABLE_NAME", "CONSTRAINT_NAME");
         }
 
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner) throws SQLException {
+            return owner.prepareChangeMarkerStatement(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, OracleSchema owner, OracleTableBase forTable)
@@ -1171,12 +1202,20 @@ public class OracleSchema extends OracleGlobalObject implements
     /**
      * Index cache implementation
      */
-    class IndexCache extends JDBCCompositeCache<OracleSchema, OracleTablePhysical, OracleTableIndex, OracleTableIndexColumn> {
+    class IndexCache extends JDBCCompositeCache<OracleSchema, OracleTablePhysical, OracleTableIndex, OracleTableIndexColumn>
+        implements JDBCCacheSnapshotProvider<OracleSchema>
+    {
         IndexCache()
         {
             super(tableCache, OracleTablePhysical.class, "TABLE_NAME", "INDEX_NAME");
         }
 
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull OracleSchema owner) throws SQLException {
+            return owner.prepareChangeMarkerStatement(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, OracleSchema owner, OracleTablePhysical forTable)
@@ -43,10 +43,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * OracleTable base
@@ -78,6 +75,56 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
         }
     }
 
+    /**
+     * Reads comments of all tables and views of the schema with one query.
+     */
+    public static class CommentsLoader implements IPropertyBulkLoader<OracleTableBase> {
+        @Override
+        public void loadProperty(DBRProgressMonitor monitor, Collection<OracleTableBase> objects, Object propertyId) throws DBException {
+            Map<OracleSchema, List<OracleTableBase>> schemaTables = new LinkedHashMap<>();
+            for (OracleTableBase table : objects) {
+                if (table.comment == null && table.isPersisted() && hasTableComments(table)) {
+                    schemaTables.computeIfAbsent(table.getSchema(), s -> new ArrayList<>()).add(table);
+                }
+            }
+            for (Map.Entry<OracleSchema, List<OracleTableBase>> entry : schemaTables.entrySet()) {
+                OracleSchema schema = entry.getKey();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, schema, "Load schema table comments")) {
+                    try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                        "SELECT TABLE_NAME,TABLE_TYPE,COMMENTS FROM " +
+                            OracleUtils.getAdminAllViewPrefix(monitor, schema.getDataSource(), "TAB_COMMENTS") + " " +
+                            "WHERE OWNER=?"))
+                    {
+                        dbStat.setString(1, schema.getName());
+                        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                // Set comments of all cached tables, so that other batches don't query them again
+                                OracleTableBase table = schema.getTableCache().getCachedObject(JDBCUtils.safeGetString(dbResult, "TABLE_NAME"));
+                                if (table != null && table.comment == null && hasTableComments(table) &&
+                                    table.getTableTypeName().equals(JDBCUtils.safeGetString(dbResult, "TABLE_TYPE")))
+                                {
+                                    table.comment = CommonUtils.notEmpty(JDBCUtils.safeGetString(dbResult, "COMMENTS"));
+                                }
+                            }
+                        }
+                    } catch (SQLException e) {
+                        throw new DBException("Error reading table comments of schema '" + schema.getName() + "'", e, schema.getDataSource());
+                    }
+                }
+                for (OracleTableBase table : entry.getValue()) {
+                    if (table.comment == null) {
+                        table.comment = "";
+                    }
+                }
+            }
+        }
+
+        private static boolean hasTableComments(OracleTableBase table) {
+            // Materialized view comments are stored separately
+            return table instanceof OracleTable || table instanceof OracleView;
+        }
+    }
+
     private final TablePrivCache tablePrivCache = new TablePrivCache();
 
     public abstract TableAdditionalInfo getAdditionalInfo();
@@ -138,7 +185,7 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
     }
 
     @Property(viewable = true, editable = true, updatable = true, length = PropertyLength.MULTILINE, order = 100)
-    @LazyProperty(cacheValidator = CommentsValidator.class)
+    @LazyProperty(cacheValidator = CommentsValidator.class, bulkLoader = CommentsLoader.class)
     public String getComment(DBRProgressMonitor monitor) {
         if (comment == null) {
             comment = "";
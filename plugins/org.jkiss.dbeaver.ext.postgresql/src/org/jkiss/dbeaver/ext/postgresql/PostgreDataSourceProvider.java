@@ -53,6 +53,7 @@ public class PostgreDataSourceProvider extends JDBCDataSourceProvider implements
         if (preferenceStore != null) {
             PrefUtils.setDefaultPreferenceValue(preferenceStore, PostgreConstants.PROP_DD_PLAIN_STRING, false);
             PrefUtils.setDefaultPreferenceValue(preferenceStore, PostgreConstants.PROP_DD_TAG_STRING, false);
+            PrefUtils.setDefaultPreferenceValue(preferenceStore, PostgreConstants.PROP_COPY_BINARY_FORMAT, false);
         }
     }
 
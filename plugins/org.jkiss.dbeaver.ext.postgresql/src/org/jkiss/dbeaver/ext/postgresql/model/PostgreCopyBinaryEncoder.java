@@ -0,0 +1,462 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Encodes values in PostgreSQL binary COPY format.
+ * Only fixed set of scalar types is supported, see {@link #isSupportedType(String)}.
+ */
+class PostgreCopyBinaryEncoder {
+
+    static final byte[] HEADER = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+        0, 0, 0, 0, // flags
+        0, 0, 0, 0  // header extension length
+    };
+    static final byte[] TRAILER = {(byte) 0xFF, (byte) 0xFF};
+
+    private static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime PG_EPOCH = PG_EPOCH_DATE.atStartOfDay();
+    private static final int NUMERIC_POS = 0x0000;
+    private static final int NUMERIC_NEG = 0x4000;
+    private static final int NUMERIC_NAN = 0xC000;
+    private static final int NUMERIC_PINF = 0xD000;
+    private static final int NUMERIC_NINF = 0xF000;
+
+    // Date/time in PostgreSQL or ISO text format, e.g. 2020-01-31 10:20:30.123456+03
+    private static final DateTimeFormatter DATE_TIME_FORMAT = new DateTimeFormatterBuilder()
+        .parseCaseInsensitive()
+        .append(DateTimeFormatter.ISO_LOCAL_DATE)
+        .optionalStart()
+        .appendLiteral(' ')
+        .append(DateTimeFormatter.ISO_LOCAL_TIME)
+        .optionalEnd()
+        .appendPattern("[XXX][X]")
+        .toFormatter(Locale.ENGLISH);
+
+    private PostgreCopyBinaryEncoder() {
+    }
+
+    static boolean isSupportedType(@NotNull String typeName) {
+        switch (typeName.toLowerCase(Locale.ENGLISH)) {
+            case PostgreConstants.TYPE_BOOL:
+            case PostgreConstants.TYPE_INT2:
+            case PostgreConstants.TYPE_INT4:
+            case PostgreConstants.TYPE_INT8:
+            case PostgreConstants.TYPE_FLOAT4:
+            case PostgreConstants.TYPE_FLOAT8:
+            case "numeric":
+            case "date":
+            case PostgreConstants.TYPE_TIMESTAMP:
+            case PostgreConstants.TYPE_TIMESTAMPTZ:
+            case PostgreConstants.TYPE_TEXT:
+            case PostgreConstants.TYPE_VARCHAR:
+            case PostgreConstants.TYPE_BPCHAR:
+            case "bytea":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static void writeTupleHeader(@NotNull ByteArrayOutputStream out, int fieldCount) {
+        writeShort(out, fieldCount);
+    }
+
+    /**
+     * Writes field (length and value). Null value is written as field with length -1.
+     * Content values (e.g. bytea or text LOBs) are read with the specified monitor.
+     *
+     * @throws DBCException if value can't be converted to the column type or doesn't fit into it
+     */
+    static void writeField(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ByteArrayOutputStream out,
+        @NotNull String typeName,
+        @Nullable Object value) throws DBCException
+    {
+        if (value instanceof DBDContent) {
+            DBDContent content = (DBDContent) value;
+            if (content.isNull()) {
+                value = null;
+            } else if (typeName.equalsIgnoreCase("bytea")) {
+                value = ContentUtils.getContentBinaryValue(monitor, content);
+            } else {
+                value = ContentUtils.getContentStringValue(monitor, content);
+            }
+        }
+        if (value == null) {
+            writeInt(out, -1);
+            return;
+        }
+        switch (typeName.toLowerCase(Locale.ENGLISH)) {
+            case PostgreConstants.TYPE_BOOL:
+                writeInt(out, 1);
+                out.write(toBoolean(value) ? 1 : 0);
+                break;
+            case PostgreConstants.TYPE_INT2:
+                writeInt(out, 2);
+                writeShort(out, (int) toIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE, typeName));
+                break;
+            case PostgreConstants.TYPE_INT4:
+                writeInt(out, 4);
+                writeInt(out, (int) toIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, typeName));
+                break;
+            case PostgreConstants.TYPE_INT8:
+                writeInt(out, 8);
+                writeLong(out, toIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE, typeName));
+                break;
+            case PostgreConstants.TYPE_FLOAT4:
+                writeInt(out, 4);
+                writeInt(out, Float.floatToIntBits(toNumber(value).floatValue()));
+                break;
+            case PostgreConstants.TYPE_FLOAT8:
+                writeInt(out, 8);
+                writeLong(out, Double.doubleToLongBits(toNumber(value).doubleValue()));
+                break;
+            case "numeric": {
+                int specialSign = getSpecialNumericSign(value);
+                if (specialSign != 0) {
+                    writeSpecialNumeric(out, specialSign);
+                } else {
+                    writeNumeric(out, toBigDecimal(value));
+                }
+                break;
+            }
+            case "date": {
+                writeInt(out, 4);
+                int infinity = getInfinity(value);
+                if (infinity != 0) {
+                    writeInt(out, infinity > 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE);
+                } else {
+                    writeInt(out, (int) ChronoUnit.DAYS.between(PG_EPOCH_DATE, toLocalDate(value)));
+                }
+                break;
+            }
+            case PostgreConstants.TYPE_TIMESTAMP:
+            case PostgreConstants.TYPE_TIMESTAMPTZ: {
+                writeInt(out, 8);
+                int infinity = getInfinity(value);
+                if (infinity != 0) {
+                    writeLong(out, infinity > 0 ? Long.MAX_VALUE : Long.MIN_VALUE);
+                } else if (typeName.equalsIgnoreCase(PostgreConstants.TYPE_TIMESTAMP)) {
+                    writeLong(out, ChronoUnit.MICROS.between(PG_EPOCH, toLocalDateTime(value)));
+                } else {
+                    writeLong(out, ChronoUnit.MICROS.between(PG_EPOCH.toInstant(ZoneOffset.UTC), toInstant(value)));
+                }
+                break;
+            }
+            case "bytea":
+                writeBytes(out, toBytes(value));
+                break;
+            default:
+                writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+                break;
+        }
+    }
+
+    static void writeNumeric(@NotNull ByteArrayOutputStream out, @NotNull BigDecimal value) {
+        int sign = value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+        int dscale = Math.max(value.scale(), 0);
+        String plain = value.abs().setScale(dscale).toPlainString();
+        int dotPos = plain.indexOf('.');
+        String intPart = dotPos < 0 ? plain : plain.substring(0, dotPos);
+        String fracPart = dotPos < 0 ? "" : plain.substring(dotPos + 1);
+        if (intPart.equals("0")) {
+            intPart = "";
+        }
+        // Split into base 10000 digits
+        int intGroups = (intPart.length() + 3) / 4;
+        StringBuilder padded = new StringBuilder();
+        for (int i = intGroups * 4 - intPart.length(); i > 0; i--) {
+            padded.append('0');
+        }
+        padded.append(intPart).append(fracPart);
+        while (padded.length() % 4 != 0) {
+            padded.append('0');
+        }
+        List<Integer> digits = new ArrayList<>();
+        for (int i = 0; i < padded.length(); i += 4) {
+            digits.add(Integer.parseInt(padded.substring(i, i + 4)));
+        }
+        int weight = intGroups - 1;
+        while (!digits.isEmpty() && digits.get(0) == 0) {
+            digits.remove(0);
+            weight--;
+        }
+        while (!digits.isEmpty() && digits.get(digits.size() - 1) == 0) {
+            digits.remove(digits.size() - 1);
+        }
+        if (digits.isEmpty()) {
+            weight = 0;
+            sign = NUMERIC_POS;
+        }
+        writeInt(out, 8 + digits.size() * 2);
+        writeShort(out, digits.size());
+        writeShort(out, weight);
+        writeShort(out, sign);
+        writeShort(out, dscale);
+        for (Integer digit : digits) {
+            writeShort(out, digit);
+        }
+    }
+
+    private static void writeSpecialNumeric(@NotNull ByteArrayOutputStream out, int sign) {
+        writeInt(out, 8);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, sign);
+        writeShort(out, 0);
+    }
+
+    /**
+     * Returns sign of NaN or infinite numeric value or 0 for regular values
+     */
+    private static int getSpecialNumericSign(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue)) {
+                return NUMERIC_NAN;
+            } else if (Double.isInfinite(doubleValue)) {
+                return doubleValue > 0 ? NUMERIC_PINF : NUMERIC_NINF;
+            }
+        } else if (value instanceof CharSequence) {
+            String strValue = value.toString().trim();
+            if (strValue.equalsIgnoreCase("NaN")) {
+                return NUMERIC_NAN;
+            }
+            int infinity = getInfinity(strValue);
+            if (infinity != 0) {
+                return infinity > 0 ? NUMERIC_PINF : NUMERIC_NINF;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns 1 for 'infinity', -1 for '-infinity' and 0 for other values
+     */
+    private static int getInfinity(Object value) {
+        if (value instanceof CharSequence) {
+            String strValue = value.toString().trim();
+            if (strValue.equalsIgnoreCase("infinity") || strValue.equalsIgnoreCase("+infinity")) {
+                return 1;
+            } else if (strValue.equalsIgnoreCase("-infinity")) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    private static long toIntegral(Object value, long minValue, long maxValue, String typeName) throws DBCException {
+        long result;
+        try {
+            Number number = toNumber(value);
+            if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+                result = number.longValue();
+            } else {
+                result = toBigDecimal(number).setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+            }
+        } catch (NumberFormatException e) {
+            throw new DBCException("Value '" + value + "' is not a valid " + typeName, e);
+        } catch (ArithmeticException e) {
+            throw new DBCException("Value " + value + " is out of range for type " + typeName, e);
+        }
+        if (result < minValue || result > maxValue) {
+            throw new DBCException("Value " + value + " is out of range for type " + typeName);
+        }
+        return result;
+    }
+
+    /**
+     * Converts bytea value. Strings are accepted in hex format (\x0A1B) or as plain text without escapes.
+     */
+    private static byte[] toBytes(Object value) throws DBCException {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        } else if (value instanceof CharSequence) {
+            String strValue = value.toString();
+            if (strValue.startsWith("\\x") && isHexString(strValue, 2)) {
+                return CommonUtils.parseHexString(strValue.substring(2));
+            }
+            if (strValue.indexOf('\\') < 0) {
+                // Escape format without escapes is just the text
+                return strValue.getBytes(StandardCharsets.UTF_8);
+            }
+            throw new DBCException("Value '" + CommonUtils.truncateString(strValue, 64) + "' is not a valid bytea");
+        }
+        throw new DBCException("Can't convert " + value.getClass().getName() + " to bytea");
+    }
+
+    private static boolean isHexString(String value, int offset) {
+        if ((value.length() - offset) % 2 != 0) {
+            return false;
+        }
+        for (int i = offset; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        String strValue = value.toString().trim();
+        return strValue.equalsIgnoreCase("true") || strValue.equalsIgnoreCase("t") || strValue.equals("1");
+    }
+
+    private static Number toNumber(Object value) throws NumberFormatException {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            return new BigDecimal(value.toString());
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static LocalDate toLocalDate(Object value) throws DBCException {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return toLocalDateTime(value).toLocalDate();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) throws DBCException {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof java.util.Date) {
+            return LocalDateTime.ofInstant(((java.util.Date) value).toInstant(), ZoneId.systemDefault());
+        } else if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } else if (value instanceof Instant) {
+            return LocalDateTime.ofInstant((Instant) value, ZoneId.systemDefault());
+        } else if (value instanceof CharSequence) {
+            TemporalAccessor temporal = parseDateTime(value.toString());
+            if (temporal instanceof OffsetDateTime) {
+                return ((OffsetDateTime) temporal).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } else if (temporal instanceof LocalDateTime) {
+                return (LocalDateTime) temporal;
+            }
+            return ((LocalDate) temporal).atStartOfDay();
+        }
+        throw new DBCException("Can't convert " + value.getClass().getName() + " to timestamp");
+    }
+
+    private static Instant toInstant(Object value) throws DBCException {
+        if (value instanceof java.util.Date && !(value instanceof java.sql.Date)) {
+            return ((java.util.Date) value).toInstant();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        } else if (value instanceof Instant) {
+            return (Instant) value;
+        } else if (value instanceof CharSequence) {
+            TemporalAccessor temporal = parseDateTime(value.toString());
+            if (temporal instanceof OffsetDateTime) {
+                return ((OffsetDateTime) temporal).toInstant();
+            }
+        }
+        return toLocalDateTime(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    @NotNull
+    private static TemporalAccessor parseDateTime(@NotNull String value) throws DBCException {
+        String strValue = value.trim();
+        if (strValue.length() > 10 && strValue.charAt(10) == 'T') {
+            strValue = strValue.substring(0, 10) + ' ' + strValue.substring(11);
+        }
+        try {
+            return DATE_TIME_FORMAT.parseBest(strValue, OffsetDateTime::from, LocalDateTime::from, LocalDate::from);
+        } catch (DateTimeParseException e) {
+            throw new DBCException("Can't parse date/time value '" + value + "'", e);
+        }
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        writeInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write((value >>> 8) & 0xFF);
+        out.write(value & 0xFF);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write((value >>> 24) & 0xFF);
+        out.write((value >>> 16) & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        out.write(value & 0xFF);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+}
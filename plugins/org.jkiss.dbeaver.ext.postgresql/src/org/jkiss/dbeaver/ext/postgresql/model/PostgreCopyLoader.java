@@ -18,8 +18,10 @@ package org.jkiss.dbeaver.ext.postgresql.model;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -30,31 +32,28 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
-import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.Connection;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Bulk loader based on CopyManager
+ * Bulk loader based on CopyManager.
+ * Rows are encoded into a reusable buffer and streamed to the server with CopyIn.writeToCopy,
+ * so the server ingests data while the source is still being read.
  *
- * //        new CopyManager((BaseConnection) conn)
- * //            .copyIn(
- * //                "COPY table1 FROM STDIN (FORMAT csv)",
- * //                new BufferedReader(new FileReader("data.csv"))
- * //            );
+ * //        CopyIn copyIn = new CopyManager((BaseConnection) conn).copyIn("COPY table1 FROM STDIN (FORMAT csv)");
+ * //        copyIn.writeToCopy(buffer, 0, length);
+ * //        copyIn.endCopy();
  */
 public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.BulkLoadManager {
 
@@ -64,12 +63,18 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
     private PostgreTableReal table;
     private Object copyManager;
     private Method copyInMethod;
-    private Writer csvWriter;
-    private Path csvFile;
+    private Object copyIn;
+    private Method writeToCopyMethod;
+    private Method flushCopyMethod;
+    private Method endCopyMethod;
+    private Method cancelCopyMethod;
+    private String copyQuery;
+    private boolean binaryFormat;
 
     private AttrMapping[] mappings;
 
     private int copyBufferSize = 100 * 1024;
+    private final CopyBuffer copyBuffer = new CopyBuffer(copyBufferSize + 4096);
 
     private static class AttrMapping {
         PostgreTableColumn tableAttr;
@@ -83,6 +88,19 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
         }
     }
 
+    /**
+     * Byte buffer which exposes its internal array (to avoid copying on each write)
+     */
+    private static class CopyBuffer extends ByteArrayOutputStream {
+        CopyBuffer(int size) {
+            super(size);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
     public PostgreCopyLoader(PostgreDataSource dataSource) {
         this.dataSource = dataSource;
     }
@@ -105,51 +123,73 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
 
             Class<?> baseConnectionClass = Class.forName("org.postgresql.core.BaseConnection", true, driverClassLoader);
             Class<?> copyManagerClass = Class.forName("org.postgresql.copy.CopyManager", true, driverClassLoader);
+            Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn", true, driverClassLoader);
 
-            // Get method copyIn(final String sql, Reader from, int bufferSize)
-            copyInMethod = copyManagerClass.getMethod("copyIn", String.class, Reader.class, Integer.TYPE);
+            // Get method copyIn(final String sql) and CopyIn streaming methods
+            copyInMethod = copyManagerClass.getMethod("copyIn", String.class);
+            writeToCopyMethod = copyInClass.getMethod("writeToCopy", byte[].class, Integer.TYPE, Integer.TYPE);
+            flushCopyMethod = copyInClass.getMethod("flushCopy");
+            endCopyMethod = copyInClass.getMethod("endCopy");
+            cancelCopyMethod = copyInClass.getMethod("cancelCopy");
 
             copyManager = copyManagerClass.getConstructor(baseConnectionClass).newInstance(pgConnection);
 
-            Path tempFolder = DBWorkbench.getPlatform().getTempFolder(session.getProgressMonitor(), "postgesql-copy-datasets");
-            csvFile = tempFolder.resolve(CommonUtils.escapeFileName(table.getFullyQualifiedName(DBPEvaluationContext.DML)) + "-" + System.currentTimeMillis() + ".csv");  //$NON-NLS-1$ //$NON-NLS-2$
-            try {
-                Files.createFile(csvFile);
-            } catch (IOException ex) {
-                throw new IOException("Can't create CSV file " + csvFile);
-            }
-
-            csvWriter = new BufferedWriter(
-                Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8),
-                copyBufferSize
-                );
-
             List<? extends PostgreTableColumn> tableAttrs = CommonUtils.safeList(table.getAttributes(session.getProgressMonitor()));
-            tableAttrs.removeIf(a -> a.getOrdinalPosition() < 0);
-            mappings = new AttrMapping[tableAttrs.size()];
-
-            for (int i = 0; i < tableAttrs.size(); i++) {
-                PostgreTableColumn attr = tableAttrs.get(i);
-                DBDValueHandler valueHandler = DBUtils.findValueHandler(session, attr);
-                AttrMapping mapping = new AttrMapping(
-                    attr,
-                    valueHandler,
-                    ArrayUtils.indexOf(attributes, attr)
-                );
-                mappings[i] = mapping;
+            List<AttrMapping> mappingList = new ArrayList<>();
+            for (PostgreTableColumn attr : tableAttrs) {
+                int srcPos = ArrayUtils.indexOf(attributes, attr);
+                if (attr.getOrdinalPosition() < 0 || srcPos < 0) {
+                    // Skip columns which are not loaded, so they get default values
+                    continue;
+                }
+                mappingList.add(new AttrMapping(attr, DBUtils.findValueHandler(session, attr), srcPos));
             }
+            mappings = mappingList.toArray(new AttrMapping[0]);
         } catch (Exception e) {
             throw new DBCException("Can't instantiate CopyManager", e);
         }
+
+        binaryFormat = dataSource.getContainer().getPreferenceStore().getBoolean(PostgreConstants.PROP_COPY_BINARY_FORMAT);
+        StringBuilder columns = new StringBuilder();
+        for (AttrMapping mapping : mappings) {
+            if (columns.length() > 0) {
+                columns.append(",");
+            }
+            columns.append(DBUtils.getQuotedIdentifier(mapping.tableAttr));
+            if (mapping.tableAttr.getTypeName() == null || !PostgreCopyBinaryEncoder.isSupportedType(mapping.tableAttr.getTypeName())) {
+                // Binary format is used only if all columns can be encoded
+                binaryFormat = false;
+            }
+        }
+        copyQuery = "COPY " + table.getFullyQualifiedName(DBPEvaluationContext.DML) + " (" + columns + ")" +
+            " FROM STDIN (FORMAT " + (binaryFormat ? "BINARY" : "CSV") + ")";
         return this;
     }
 
     @Override
     public void addRow(@NotNull DBCSession session, @NotNull Object[] attributeValues) throws DBCException {
-        StringBuilder line = new StringBuilder();
-        boolean hasCell = false;
-        for (AttrMapping mapping : mappings) {
-            if (mapping.srcPos >= 0) {
+        if (copyIn == null) {
+            startCopy(session);
+        }
+        if (binaryFormat) {
+            PostgreCopyBinaryEncoder.writeTupleHeader(copyBuffer, mappings.length);
+            for (AttrMapping mapping : mappings) {
+                Object srcValue = attributeValues[mapping.srcPos];
+                if (DBUtils.isNullValue(srcValue)) {
+                    srcValue = null;
+                } else if (!isPlainValue(srcValue)) {
+                    srcValue = mapping.valueHandler.getValueDisplayString(mapping.tableAttr, srcValue, DBDDisplayFormat.NATIVE);
+                }
+                try {
+                    PostgreCopyBinaryEncoder.writeField(session.getProgressMonitor(), copyBuffer, mapping.tableAttr.getTypeName(), srcValue);
+                } catch (Exception e) {
+                    throw new DBCException("Error encoding value of column " + mapping.tableAttr.getName(), e);
+                }
+            }
+        } else {
+            StringBuilder line = new StringBuilder();
+            boolean hasCell = false;
+            for (AttrMapping mapping : mappings) {
                 if (hasCell) {
                     line.append(",");
                 }
@@ -166,51 +206,80 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                 }
                 hasCell = true;
             }
+            line.append("\n");
+            byte[] lineBytes = line.toString().getBytes(StandardCharsets.UTF_8);
+            copyBuffer.write(lineBytes, 0, lineBytes.length);
         }
-        line.append("\n");
-        try {
-            csvWriter.write(line.toString());
-        } catch (IOException e) {
-            throw new DBCException("Error writing CSV line", e);
+        if (copyBuffer.size() >= copyBufferSize) {
+            writeBuffer();
         }
     }
 
+    private static boolean isPlainValue(Object value) {
+        // Content is read by encoder, its display string isn't the actual value
+        return value instanceof Number || value instanceof Boolean || value instanceof String ||
+            value instanceof byte[] || value instanceof DBDContent || value instanceof Date || value instanceof Temporal;
+    }
+
     private String convertStringValueToCell(String strValue) {
         return '"' +
-            strValue.replace("\"", "\\\"") +
+            strValue.replace("\"", "\"\"") +
             '"';
     }
 
+    private void startCopy(@NotNull DBCSession session) throws DBCException {
+        session.getProgressMonitor().subTask("Copy into " + table.getFullyQualifiedName(DBPEvaluationContext.DML));
+        try {
+            copyIn = copyInMethod.invoke(copyManager, copyQuery);
+        } catch (Throwable e) {
+            throw new DBCException("Error starting COPY on remote server", unwrapError(e));
+        }
+        copyBuffer.reset();
+        if (binaryFormat) {
+            copyBuffer.write(PostgreCopyBinaryEncoder.HEADER, 0, PostgreCopyBinaryEncoder.HEADER.length);
+        }
+    }
+
+    private void writeBuffer() throws DBCException {
+        if (copyBuffer.size() == 0) {
+            return;
+        }
+        try {
+            writeToCopyMethod.invoke(copyIn, copyBuffer.getBuffer(), 0, copyBuffer.size());
+        } catch (Throwable e) {
+            throw new DBCException("Error copying dataset on remote server", unwrapError(e));
+        } finally {
+            copyBuffer.reset();
+        }
+    }
+
     @Override
     public void flushRows(@NotNull DBCSession session) throws DBCException {
+        if (copyIn == null) {
+            return;
+        }
+        writeBuffer();
         try {
-            csvWriter.flush();
-        } catch (IOException e) {
-            throw new DBCException("Error saving CSV data", e);
+            flushCopyMethod.invoke(copyIn);
+        } catch (Throwable e) {
+            throw new DBCException("Error copying dataset on remote server", unwrapError(e));
         }
     }
 
     @Override
     public void finishBulkLoad(@NotNull DBCSession session) throws DBCException {
-        try {
-            csvWriter.flush();
-            csvWriter.close();
-        } catch (IOException e) {
-            log.debug(e);
+        if (copyIn == null) {
+            // No rows
+            return;
         }
-        csvWriter = null;
-
-        String tableFQN = table.getFullyQualifiedName(DBPEvaluationContext.DML);
-
-        session.getProgressMonitor().subTask("Copy into " + tableFQN);
-
-        String queryText = "COPY " + tableFQN + " FROM STDIN (FORMAT CSV)";
+        if (binaryFormat) {
+            copyBuffer.write(PostgreCopyBinaryEncoder.TRAILER, 0, PostgreCopyBinaryEncoder.TRAILER.length);
+        }
+        writeBuffer();
 
         try {
-            Object rowCount;
-            try (Reader csvReader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
-                rowCount = copyInMethod.invoke(copyManager, queryText, csvReader, copyBufferSize);
-            }
+            Object rowCount = endCopyMethod.invoke(copyIn);
+            copyIn = null;
 
             // Commit changes
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(session.getExecutionContext());
@@ -219,25 +288,30 @@ public class PostgreCopyLoader implements DBSDataBulkLoader, DBSDataBulkLoader.B
                 txnManager.commit(session);
             }
 
-            log.debug("CSV has been imported (" + rowCount + ")");
+            log.debug("Dataset has been copied (" + rowCount + ")");
         } catch (Throwable e) {
-            if (e instanceof InvocationTargetException) {
-                e = ((InvocationTargetException) e).getTargetException();
-            }
-            throw new DBCException("Error copying dataset on remote server", e);
+            throw new DBCException("Error copying dataset on remote server", unwrapError(e));
         }
     }
 
-    @Override
+    private static Throwable unwrapError(Throwable e) {
+        if (e instanceof InvocationTargetException) {
+            return ((InvocationTargetException) e).getTargetException();
+        }
+        return e;
+    }
 
+    @Override
     public void close() {
-        if (csvFile != null && Files.exists(csvFile)) {
+        if (copyIn != null) {
+            // Copy wasn't finished - cancel it to release the connection
             try {
-                Files.delete(csvFile);
-            } catch (IOException e) {
-                log.debug("Error deleting CSV file " + csvFile, e);
-                csvFile.toFile().deleteOnExit();
+                cancelCopyMethod.invoke(copyIn);
+            } catch (Throwable e) {
+                log.debug("Error canceling COPY", unwrapError(e));
             }
+            copyIn = null;
         }
+        copyBuffer.reset();
     }
 }
@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCacheSnapshotProvider;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCCompositeCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCObjectLookupCache;
@@ -728,11 +729,21 @@ public class PostgreSchema implements
         }
     }
 
-    public class TableCache extends JDBCStructLookupCache<PostgreTableContainer, PostgreTableBase, PostgreTableColumn> {
+    public class TableCache extends JDBCStructLookupCache<PostgreTableContainer, PostgreTableBase, PostgreTableColumn>
+        implements JDBCCacheSnapshotProvider<PostgreTableContainer>
+    {
 
         protected TableCache() {
             super("relname");
             setListOrderComparator(DBUtils.nameComparator());
+            // Tables are read concurrently by navigator, SQL completion and editors
+            setCopyOnWrite(true);
+        }
+
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container) throws SQLException {
+            return PostgreSchema.this.prepareChangeMarkerStatement(session);
         }
 
         @NotNull
@@ -822,14 +833,38 @@ public class PostgreSchema implements
         return "";
     }
 
+    /**
+     * Metadata change marker for persistent cache snapshots.
+     * Any DDL in the schema changes system catalog rows and thus their xmin.
+     */
+    protected JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session) throws SQLException {
+        JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT (SELECT count(*) || ':' || coalesce(max(c.xmin::text::bigint), 0) FROM pg_catalog.pg_class c WHERE c.relnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(a.xmin::text::bigint), 0) FROM pg_catalog.pg_attribute a" +
+                " INNER JOIN pg_catalog.pg_class c ON (a.attrelid=c.oid) WHERE c.relnamespace=?)" +
+                " || '/' || (SELECT count(*) || ':' || coalesce(max(co.xmin::text::bigint), 0) FROM pg_catalog.pg_constraint co WHERE co.connamespace=?)");
+        dbStat.setLong(1, getObjectId());
+        dbStat.setLong(2, getObjectId());
+        dbStat.setLong(3, getObjectId());
+        return dbStat;
+    }
+
     /**
      * Constraint cache implementation
      */
-    public class ConstraintCache extends JDBCCompositeCache<PostgreTableContainer, PostgreTableBase, PostgreTableConstraintBase, PostgreTableConstraintColumn> {
+    public class ConstraintCache extends JDBCCompositeCache<PostgreTableContainer, PostgreTableBase, PostgreTableConstraintBase, PostgreTableConstraintColumn>
+        implements JDBCCacheSnapshotProvider<PostgreTableContainer>
+    {
         protected ConstraintCache() {
             super(getTableCache(), PostgreTableBase.class, "tabrelname", "conname");
         }
 
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container) throws SQLException {
+            return PostgreSchema.this.prepareChangeMarkerStatement(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forParent) throws SQLException {
@@ -979,11 +1014,19 @@ public class PostgreSchema implements
     /**
      * Index cache implementation
      */
-    class IndexCache extends JDBCCompositeCache<PostgreTableContainer, PostgreTableBase, PostgreIndex, PostgreIndexColumn> {
+    class IndexCache extends JDBCCompositeCache<PostgreTableContainer, PostgreTableBase, PostgreIndex, PostgreIndexColumn>
+        implements JDBCCacheSnapshotProvider<PostgreTableContainer>
+    {
         protected IndexCache() {
             super(getTableCache(), PostgreTableBase.class, "tabrelname", "relname");
         }
 
+        @Nullable
+        @Override
+        public JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container) throws SQLException {
+            return PostgreSchema.this.prepareChangeMarkerStatement(session);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, PostgreTableContainer container, PostgreTableBase forTable)
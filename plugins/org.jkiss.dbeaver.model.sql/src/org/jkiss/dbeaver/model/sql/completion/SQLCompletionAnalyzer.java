@@ -1127,8 +1127,15 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
                     }
                 }
             }
+            boolean indexedSearch = !allObjects && !CommonUtils.isEmpty(startPart) &&
+                dataSource != null && !request.getContext().isSearchInsideNames();
+            Collection<? extends DBSObject> candidates = children;
+            if (indexedSearch) {
+                // Look up names in the completion catalog instead of scanning all children
+                candidates = SQLCompletionCatalog.getInstance().getIndex(parent, children).findObjects(startPart);
+            }
             StringBuilder combinedMatch = new StringBuilder();
-            for (DBSObject child : children) {
+            for (DBSObject child : candidates) {
                 if (DBUtils.isHiddenObject(child)) {
                     // Skip hidden
                     continue;
@@ -1146,7 +1153,7 @@ public class SQLCompletionAnalyzer implements DBRRunnableParametrized<DBRProgres
                 } else {
                     if (dataSource != null && !request.getContext().isSearchInsideNames()) {
                         // startsWith
-                        if (CommonUtils.isEmpty(startPart) || CommonUtils.startsWithIgnoreCase(child.getName(), startPart)) {
+                        if (indexedSearch || CommonUtils.isEmpty(startPart) || CommonUtils.startsWithIgnoreCase(child.getName(), startPart)) {
                             matchedObjects.add(child);
                         }
                     } else {
@@ -0,0 +1,225 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.completion;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+/**
+ * In-memory name catalog of already loaded database objects.
+ * <p>
+ * Children of each container are indexed once: upper-cased names and name fragments
+ * (parts starting at underscore and camel case boundaries) are kept in a sorted array,
+ * so prefix lookup is a binary search instead of a scan over all children.
+ * Indexes are dropped on object add/update/remove events of the data source registry (including
+ * connect/disconnect) and rebuilt when the children collection changes.
+ */
+public class SQLCompletionCatalog implements DBPEventListener {
+
+    /**
+     * Fragment matches are ignored for shorter prefixes, there are too many of them
+     */
+    private static final int MIN_FRAGMENT_PREFIX_LENGTH = 2;
+
+    private static final SQLCompletionCatalog INSTANCE = new SQLCompletionCatalog();
+
+    public static SQLCompletionCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    // Indexes reference children which reference their parents, so values must not be strongly reachable
+    private final Map<Object, SoftReference<NameIndex>> indexes = new WeakHashMap<>();
+    private final Set<DBPDataSourceRegistry> registries = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private SQLCompletionCatalog() {
+    }
+
+    /**
+     * Returns name index of the specified container children. Builds it if needed.
+     */
+    @NotNull
+    public NameIndex getIndex(@NotNull DBPObject parent, @NotNull Collection<? extends DBSObject> children) {
+        DBPDataSourceRegistry registry = null;
+        if (parent instanceof DBSObject && ((DBSObject) parent).getDataSource() != null) {
+            registry = DBUtils.getObjectRegistry((DBSObject) parent);
+        }
+        synchronized (this) {
+            SoftReference<NameIndex> indexRef = indexes.get(parent);
+            NameIndex index = indexRef == null ? null : indexRef.get();
+            if (index != null && index.isValidFor(children)) {
+                return index;
+            }
+        }
+        NameIndex index = new NameIndex(children);
+        synchronized (this) {
+            indexes.put(parent, new SoftReference<>(index));
+            if (registry != null && registries.add(registry)) {
+                registry.addDataSourceListener(this);
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public void handleDataSourceEvent(DBPEvent event) {
+        DBSObject object = event.getObject();
+        switch (event.getAction()) {
+            case OBJECT_ADD:
+            case OBJECT_UPDATE:
+            case OBJECT_REMOVE:
+                synchronized (this) {
+                    if (object == null || object instanceof DBPDataSourceContainer) {
+                        indexes.clear();
+                    } else {
+                        indexes.remove(object);
+                        indexes.remove(object.getParentObject());
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Sorted name index of container children
+     */
+    public static class NameIndex {
+        private final DBSObject[] objects;
+        private final int[] virtualObjects;
+        // Sorted keys and positions of their objects. Negative position means name fragment.
+        private final String[] keys;
+        private final int[] positions;
+
+        NameIndex(@NotNull Collection<? extends DBSObject> children) {
+            this.objects = children.toArray(new DBSObject[0]);
+
+            List<String> keyList = new ArrayList<>(objects.length);
+            List<Integer> positionList = new ArrayList<>(objects.length);
+            List<Integer> virtualList = new ArrayList<>();
+            for (int i = 0; i < objects.length; i++) {
+                DBSObject object = objects[i];
+                if (DBUtils.isHiddenObject(object)) {
+                    continue;
+                }
+                if (DBUtils.isVirtualObject(object)) {
+                    virtualList.add(i);
+                    continue;
+                }
+                String name = object.getName();
+                if (name == null) {
+                    continue;
+                }
+                String upperName = name.toUpperCase(Locale.ENGLISH);
+                keyList.add(upperName);
+                positionList.add(i);
+                for (int pos = 1; pos < name.length(); pos++) {
+                    if (isFragmentStart(name, pos)) {
+                        keyList.add(upperName.substring(pos));
+                        positionList.add(-i - 1);
+                    }
+                }
+            }
+
+            Integer[] order = new Integer[keyList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keyList::get));
+            this.keys = new String[order.length];
+            this.positions = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = keyList.get(order[i]);
+                positions[i] = positionList.get(order[i]);
+            }
+            this.virtualObjects = virtualList.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        boolean isValidFor(@NotNull Collection<? extends DBSObject> children) {
+            if (children.size() != objects.length) {
+                return false;
+            }
+            int i = 0;
+            for (DBSObject child : children) {
+                if (child != objects[i++]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns objects which names (or name fragments) start with the specified upper-cased prefix.
+         * Objects whose full names match come first, all in the original children order.
+         * Virtual objects are always returned as they are searched separately.
+         */
+        @NotNull
+        public List<DBSObject> findObjects(@NotNull String prefix) {
+            BitSet nameMatches = new BitSet(objects.length);
+            BitSet fragmentMatches = new BitSet(objects.length);
+            boolean matchFragments = prefix.length() >= MIN_FRAGMENT_PREFIX_LENGTH;
+            // Lower bound of the prefix (keys may have duplicates)
+            int pos = 0;
+            for (int high = keys.length; pos < high; ) {
+                int mid = (pos + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    pos = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (; pos < keys.length && keys[pos].startsWith(prefix); pos++) {
+                int objectPos = positions[pos];
+                if (objectPos >= 0) {
+                    nameMatches.set(objectPos);
+                } else if (matchFragments) {
+                    fragmentMatches.set(-objectPos - 1);
+                }
+            }
+            fragmentMatches.andNot(nameMatches);
+
+            List<DBSObject> result = new ArrayList<>(nameMatches.cardinality() + fragmentMatches.cardinality() + virtualObjects.length);
+            for (int i = nameMatches.nextSetBit(0); i >= 0; i = nameMatches.nextSetBit(i + 1)) {
+                result.add(objects[i]);
+            }
+            for (int i = fragmentMatches.nextSetBit(0); i >= 0; i = fragmentMatches.nextSetBit(i + 1)) {
+                result.add(objects[i]);
+            }
+            for (int virtualPos : virtualObjects) {
+                result.add(objects[virtualPos]);
+            }
+            return result;
+        }
+
+        private static boolean isFragmentStart(@NotNull String name, int pos) {
+            char c = name.charAt(pos), prev = name.charAt(pos - 1);
+            if (c == '_' || !Character.isLetterOrDigit(c)) {
+                return false;
+            }
+            if (prev == '_') {
+                return true;
+            }
+            // camelCase and ABCName boundaries
+            return Character.isUpperCase(c) && (Character.isLowerCase(prev) ||
+                (pos + 1 < name.length() && Character.isUpperCase(prev) && Character.isLowerCase(name.charAt(pos + 1))));
+        }
+    }
+}
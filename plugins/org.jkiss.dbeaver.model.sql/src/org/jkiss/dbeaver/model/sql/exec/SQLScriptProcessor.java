@@ -17,21 +17,34 @@
 package org.jkiss.dbeaver.model.sql.exec;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
+import org.jkiss.dbeaver.model.sql.parser.SQLScriptStreamParser;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
+import org.jkiss.utils.CommonUtils;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * SQLScriptProcessor
@@ -39,13 +52,22 @@ import java.util.List;
 public class SQLScriptProcessor {
     private static final String STAT_LOG_PREFIX = "-----------------> ";
 
+    // Target table and optional column list of a single INSERT ... VALUES
+    private static final Pattern INSERT_VALUES_PATTERN = Pattern.compile(
+        "^\\s*INSERT\\s+INTO\\s+([^\\s(]+)\\s*(\\([^)]*\\))?\\s*VALUES\\s*\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RETURNING_PATTERN = Pattern.compile("\\bRETURNING\\b", Pattern.CASE_INSENSITIVE);
+
     private final DBCExecutionContext executionContext;
+    @Nullable
     private final List<SQLScriptElement> queries;
+    @Nullable
+    private final SQLScriptStreamParser scriptParser;
     private final SQLScriptContext scriptContext;
     private final DBDDataReceiver dataReceiver;
     private final Log log;
 
     private Throwable lastError = null;
+    private IOException readError = null;
 
     private DBCStatistics statistics;
     private final DBCStatistics totalStatistics = new DBCStatistics();
@@ -54,6 +76,14 @@ public class SQLScriptProcessor {
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
     private SQLScriptErrorHandling errorHandling = SQLScriptErrorHandling.STOP_ROLLBACK;
+    private int insertBatchSize;
+
+    // Consecutive INSERTs which are executed as a single batch
+    private boolean batchInserts;
+    private int queryNumber;
+    private String insertBatchKey;
+    private final List<SQLQuery> insertBatch = new ArrayList<>();
+    private final List<Integer> insertBatchNumbers = new ArrayList<>();
 
     public SQLScriptProcessor(
         @NotNull DBCExecutionContext executionContext,
@@ -63,6 +93,25 @@ public class SQLScriptProcessor {
         @NotNull Log log) {
         this.executionContext = executionContext;
         this.queries = queries;
+        this.scriptParser = null;
+        this.scriptContext = scriptContext;
+        this.dataReceiver = dataReceiver;
+        this.log = log;
+    }
+
+    /**
+     * Creates processor which executes queries one by one as they are parsed from the stream.
+     * Progress is reported in kilobytes of the script.
+     */
+    public SQLScriptProcessor(
+        @NotNull DBCExecutionContext executionContext,
+        @NotNull SQLScriptStreamParser scriptParser,
+        @NotNull SQLScriptContext scriptContext,
+        @NotNull DBDDataReceiver dataReceiver,
+        @NotNull Log log) {
+        this.executionContext = executionContext;
+        this.queries = null;
+        this.scriptParser = scriptParser;
         this.scriptContext = scriptContext;
         this.dataReceiver = dataReceiver;
         this.log = log;
@@ -92,9 +141,24 @@ public class SQLScriptProcessor {
         this.errorHandling = errorHandling;
     }
 
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
+    /**
+     * Enables execution of consecutive INSERT statements with the same target and columns list as JDBC batches
+     * of the specified size. Zero disables batching.
+     */
+    public void setInsertBatchSize(int insertBatchSize) {
+        this.insertBatchSize = insertBatchSize;
+    }
+
     public void runScript(DBRProgressMonitor monitor) throws DBCException {
         RuntimeUtils.setThreadName("SQL script execution");
         statistics = new DBCStatistics();
+        batchInserts = insertBatchSize > 1 && executionContext.getDataSource().getInfo().supportsBatchUpdates();
+        queryNumber = 0;
+        clearInsertBatch();
         try {
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
             try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
@@ -109,14 +173,41 @@ public class SQLScriptProcessor {
                     txnManager.setAutoCommit(monitor, newAutoCommit);
                 }
 
-                monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                Iterator<SQLScriptElement> queryIterator = null;
+                long kilobytesDone = 0;
+                if (scriptParser != null) {
+                    monitor.beginTask("Execute script", (int) Math.max(scriptParser.getTotalBytes() / 1024, 1));
+                } else {
+                    monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
+                    queryIterator = queries.iterator();
+                }
 
-                for (SQLScriptElement query : queries) {
+                for (;;) {
                     if (monitor.isCanceled()) {
                         break;
                     }
+                    SQLScriptElement query;
+                    if (queryIterator != null) {
+                        query = queryIterator.hasNext() ? queryIterator.next() : null;
+                    } else {
+                        try {
+                            query = scriptParser.nextElement();
+                        } catch (IOException e) {
+                            // Stop and finish transaction as if query failed
+                            readError = e;
+                            lastError = e;
+                            break;
+                        }
+                    }
+                    if (query == null) {
+                        if (!insertBatch.isEmpty() && !executeInsertBatch(session) && lastError != null) {
+                            log.error(lastError);
+                        }
+                        break;
+                    }
+                    queryNumber++;
                     // Execute query
-                    boolean runNext = executeSingleQuery(session, query);
+                    boolean runNext = executeQuery(session, query);
                     if (!runNext) {
                         if (lastError == null) {
                             // Execution cancel
@@ -130,8 +221,16 @@ public class SQLScriptProcessor {
                         }
                     }
 
-                    monitor.worked(1);
+                    if (scriptParser != null) {
+                        long kilobytesRead = scriptParser.getBytesRead() / 1024;
+                        monitor.worked((int) (kilobytesRead - kilobytesDone));
+                        kilobytesDone = kilobytesRead;
+                    } else {
+                        monitor.worked(1);
+                    }
                 }
+                // Pending batch of canceled script
+                clearInsertBatch();
                 monitor.done();
 
                 // Commit data
@@ -164,11 +263,174 @@ public class SQLScriptProcessor {
             throw new DBCException("Error during SQL script execution", ex);
         }
 
+        if (readError != null) {
+            throw new DBCException("Error reading SQL script", readError);
+        }
         if (lastError != null && errorHandling != SQLScriptErrorHandling.IGNORE) {
             throw new DBCException("Script execute failed", lastError);
         }
     }
 
+    private boolean executeQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
+        if (batchInserts) {
+            String batchKey = getInsertBatchKey(element);
+            if (!insertBatch.isEmpty() && !CommonUtils.equalObjects(batchKey, insertBatchKey) && !executeInsertBatch(session)) {
+                return false;
+            }
+            if (batchKey != null) {
+                insertBatchKey = batchKey;
+                insertBatch.add((SQLQuery) element);
+                insertBatchNumbers.add(queryNumber);
+                return insertBatch.size() < insertBatchSize || executeInsertBatch(session);
+            }
+        }
+        return executeSingleQuery(session, element);
+    }
+
+    /**
+     * Returns normalized target and column list of INSERT ... VALUES query or null if query can't be batched
+     */
+    @Nullable
+    private static String getInsertBatchKey(@NotNull SQLScriptElement element) {
+        if (!(element instanceof SQLQuery) || !CommonUtils.isEmpty(((SQLQuery) element).getParameters())) {
+            return null;
+        }
+        String text = element.getText();
+        Matcher matcher = INSERT_VALUES_PATTERN.matcher(text);
+        if (!matcher.find() || RETURNING_PATTERN.matcher(text).find(matcher.end())) {
+            return null;
+        }
+        String columns = matcher.group(2);
+        return matcher.group(1).toUpperCase(Locale.ENGLISH) +
+            (columns == null ? "" : columns.replaceAll("\\s+", "").toUpperCase(Locale.ENGLISH));
+    }
+
+    private void clearInsertBatch() {
+        insertBatch.clear();
+        insertBatchNumbers.clear();
+        insertBatchKey = null;
+    }
+
+    /**
+     * Executes pending INSERTs as a single batch. Failed query is reported with its text and number in the script
+     * (if driver reports batch update counts, otherwise just the range of batch queries is reported).
+     * If errors are ignored then queries which were not processed by the driver are executed one by one.
+     */
+    private boolean executeInsertBatch(@NotNull DBCSession session) {
+        List<SQLQuery> queries = new ArrayList<>(insertBatch);
+        List<Integer> numbers = new ArrayList<>(insertBatchNumbers);
+        clearInsertBatch();
+        if (queries.size() == 1) {
+            return executeSingleQuery(session, queries.get(0));
+        }
+        lastError = null;
+        int processedCount = queries.size();
+
+        statistics.reset();
+        statistics.setQueryText(queries.get(0).getText());
+        long startTime = System.currentTimeMillis();
+        try {
+            DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
+                try {
+                    executeBatchStatement(session, queries);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        } catch (Throwable e) {
+            BatchUpdateException batchError = findBatchUpdateException(e);
+            int[] updateCounts = batchError == null ? null : batchError.getUpdateCounts();
+            // Unknown unless driver reports update counts
+            int failedIndex = -1;
+            if (updateCounts != null) {
+                addUpdateCounts(updateCounts);
+                // Driver either stops at the failed query or marks all failed queries
+                failedIndex = updateCounts.length;
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                        failedIndex = i;
+                        break;
+                    }
+                }
+                if (updateCounts.length < queries.size()) {
+                    processedCount = Math.min(failedIndex + 1, queries.size());
+                }
+                if (failedIndex >= queries.size()) {
+                    failedIndex = -1;
+                }
+            }
+            String batchRange = "#" + numbers.get(0) + "-#" + numbers.get(numbers.size() - 1);
+            if (failedIndex < 0) {
+                lastError = new DBCException("Batch of queries " + batchRange + " failed", e);
+            } else {
+                lastError = new DBCException(
+                    "Query #" + numbers.get(failedIndex) + " failed (batch of queries " + batchRange + "):\n" +
+                        queries.get(failedIndex).getText(), e);
+            }
+        } finally {
+            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+            for (int i = 0; i < queries.size(); i++) {
+                statistics.addStatementsCount();
+            }
+            scriptContext.clearStatementContext();
+            log.debug(STAT_LOG_PREFIX + "Time: " + RuntimeUtils.formatExecutionTime(statistics.getExecuteTime()) +
+                (statistics.getRowsUpdated() >= 0 ? ", updated " + statistics.getRowsUpdated() + " row(s)" : ""));
+            totalStatistics.accumulate(statistics);
+        }
+
+        if (lastError == null) {
+            return true;
+        }
+        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
+            return false;
+        }
+        log.warn("Query failed: " + lastError.getMessage());
+        for (int i = processedCount; i < queries.size(); i++) {
+            if (!executeSingleQuery(session, queries.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void executeBatchStatement(@NotNull DBCSession session, @NotNull List<SQLQuery> queries) throws DBCException, SQLException {
+        DBCStatement statement = session.prepareStatement(DBCStatementType.SCRIPT, queries.get(0).getText(), false, false, false);
+        try {
+            if (!(statement instanceof JDBCStatement)) {
+                throw new DBCException("Batch execution is not supported by " + session.getDataSource().getContainer().getName());
+            }
+            for (SQLQuery query : queries) {
+                ((JDBCStatement) statement).addBatch(query.getText());
+            }
+            log.debug(STAT_LOG_PREFIX + "Execute batch of " + queries.size() + " queries\n" + queries.get(0).getText());
+            addUpdateCounts(statement.executeStatementBatch());
+        } finally {
+            try {
+                statement.close();
+            } catch (Throwable e) {
+                log.error("Error closing statement", e);
+            }
+        }
+    }
+
+    @Nullable
+    private static BatchUpdateException findBatchUpdateException(@NotNull Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof BatchUpdateException) {
+                return (BatchUpdateException) e;
+            }
+        }
+        return null;
+    }
+
+    private void addUpdateCounts(@NotNull int[] updateCounts) {
+        for (int count : updateCounts) {
+            if (count >= 0) {
+                statistics.addRowsUpdated(count);
+            }
+        }
+    }
+
     private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
         if (element instanceof SQLControlCommand) {
             log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
@@ -0,0 +1,201 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLControlCommand;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.parser.rules.SQLDelimiterRule;
+import org.jkiss.dbeaver.model.text.parser.TPRule;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parses SQL script from a stream without reading it into memory.
+ * <p>
+ * Script text is read into a window which is parsed with {@link SQLScriptParser}. All elements except the last one
+ * are returned, then the window is moved to the start of the last element (which may be incomplete) and filled
+ * with the next portion of the script. Window grows if a single statement doesn't fit into it.
+ * <p>
+ * Offsets of returned elements are relative to the window they were parsed in.
+ * <p>
+ * Parser resets redefined statement delimiter after each window, so delimiter set by the returned
+ * elements is applied again before parsing of the next window.
+ */
+public class SQLScriptStreamParser implements Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1024 * 1024;
+
+    private final DBPDataSource dataSource;
+    private final SQLSyntaxManager syntaxManager;
+    private final SQLRuleManager ruleManager;
+    private final CountingInputStream stream;
+    private final Reader reader;
+    private final long totalBytes;
+
+    private final StringBuilder window = new StringBuilder();
+    private final char[] buffer = new char[8192];
+    private final Deque<SQLScriptElement> elements = new ArrayDeque<>();
+    private int windowSize;
+    private boolean endOfStream;
+    // Delimiter redefined by the previous windows or null
+    @Nullable
+    private String activeDelimiter;
+
+    /**
+     * @param totalBytes total script size in bytes, or -1 if unknown
+     */
+    public SQLScriptStreamParser(@NotNull DBPDataSource dataSource, @NotNull InputStream stream, @NotNull Charset charset, long totalBytes) {
+        this.dataSource = dataSource;
+        this.syntaxManager = new SQLSyntaxManager();
+        this.syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        this.ruleManager = new SQLRuleManager(syntaxManager);
+        this.ruleManager.loadRules(dataSource, false);
+        this.stream = new CountingInputStream(stream);
+        this.reader = new InputStreamReader(this.stream, charset);
+        this.totalBytes = totalBytes;
+        this.windowSize = DEFAULT_WINDOW_SIZE;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Number of bytes read from the stream so far
+     */
+    public long getBytesRead() {
+        return stream.count;
+    }
+
+    /**
+     * Returns next script element or null if the end of script was reached
+     */
+    @Nullable
+    public SQLScriptElement nextElement() throws IOException {
+        while (elements.isEmpty()) {
+            if (endOfStream && window.length() == 0) {
+                return null;
+            }
+            parseWindow();
+        }
+        return elements.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void parseWindow() throws IOException {
+        fillWindow();
+        if (window.length() == 0) {
+            return;
+        }
+        if (activeDelimiter != null) {
+            changeDelimiter(activeDelimiter);
+        }
+        SQLParserContext parserContext = new SQLParserContext(dataSource, syntaxManager, ruleManager, new Document(window.toString()));
+        List<SQLScriptElement> queries = SQLScriptParser.extractScriptQueries(parserContext, 0, window.length(), true, false, true);
+        if (endOfStream) {
+            elements.addAll(queries);
+            window.setLength(0);
+            return;
+        }
+        if (queries.size() < 2) {
+            // Statement doesn't fit into the window
+            windowSize *= 2;
+            return;
+        }
+        // Last element may be incomplete. Parse it again with the next portion of the script.
+        SQLScriptElement lastQuery = queries.remove(queries.size() - 1);
+        for (SQLScriptElement query : queries) {
+            if (query instanceof SQLControlCommand && ((SQLControlCommand) query).isEmptyCommand()) {
+                // Delimiter redefinition. Delimiter is the first word of the parameter (see SQLDelimiterSetRule)
+                String parameter = ((SQLControlCommand) query).getParameter();
+                activeDelimiter = CommonUtils.isEmptyTrimmed(parameter) ? null : parameter.trim().split("\\s+")[0];
+            }
+        }
+        elements.addAll(queries);
+        window.delete(0, lastQuery.getOffset());
+    }
+
+    private void changeDelimiter(@NotNull String delimiter) {
+        for (TPRule rule : ruleManager.getAllRules()) {
+            if (rule instanceof SQLDelimiterRule) {
+                ((SQLDelimiterRule) rule).changeDelimiter(delimiter);
+            }
+        }
+    }
+
+    private void fillWindow() throws IOException {
+        while (!endOfStream && window.length() < windowSize) {
+            int count = reader.read(buffer, 0, Math.min(buffer.length, windowSize - window.length()));
+            if (count < 0) {
+                endOfStream = true;
+            } else {
+                window.append(buffer, 0, count);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = super.skip(n);
+            count += result;
+            return result;
+        }
+    }
+}
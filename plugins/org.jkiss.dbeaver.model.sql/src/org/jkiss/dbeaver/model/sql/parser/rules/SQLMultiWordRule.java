@@ -22,17 +22,22 @@ import org.jkiss.dbeaver.model.text.parser.TPRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
+import java.util.Locale;
+
 /**
  * Rule for matching tokens consisting of several words separated by one or more whitespaces.
  */
 public class SQLMultiWordRule implements TPRule {
-    private final String[] parts;
+    private final char[][] parts;
     private final TPToken token;
 
     public SQLMultiWordRule(String[] parts, TPToken token) {
-        this.parts = parts;
-        this.token = token;
         Assert.isLegal(parts.length > 1, "Multi-word rule should consist of two or more parts");
+        this.parts = new char[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            this.parts[i] = parts[i].toUpperCase(Locale.ENGLISH).toCharArray();
+        }
+        this.token = token;
     }
 
     @Override
@@ -40,14 +45,20 @@ public class SQLMultiWordRule implements TPRule {
         int ch = scanner.read();
         int read = 1;
 
+        if (ch == TPCharacterScanner.EOF || Character.toUpperCase(ch) != parts[0][0]) {
+            // Fast path: most words don't start with the first letter of the rule
+            scanner.unread();
+            return TPTokenAbstract.UNDEFINED;
+        }
+
         outer:
         for (int partIndex = 0; partIndex < parts.length; partIndex++) {
             if (ch == TPCharacterScanner.EOF || !Character.isUnicodeIdentifierStart(ch)) {
                 break;
             }
 
-            for (char partCh : parts[partIndex].toCharArray()) {
-                if (ch == TPCharacterScanner.EOF || !Character.isUnicodeIdentifierPart(ch) || Character.toUpperCase(partCh) != Character.toUpperCase(ch)) {
+            for (char partCh : parts[partIndex]) {
+                if (ch == TPCharacterScanner.EOF || !Character.isUnicodeIdentifierPart(ch) || partCh != Character.toUpperCase(ch)) {
                     break outer;
                 }
 
@@ -23,8 +23,10 @@ import org.jkiss.dbeaver.model.text.parser.TPRule;
 import org.jkiss.dbeaver.model.text.parser.TPToken;
 import org.jkiss.dbeaver.model.text.parser.TPTokenAbstract;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -39,9 +41,12 @@ public class SQLWordRule implements TPRule {
     private final TPToken defaultToken;
     private final Map<String, TPToken> words = new HashMap<>();
     private final Set<String> functions = new HashSet<>();
-    private final StringBuilder buffer = new StringBuilder();
+    private char[] buffer = new char[64];
+    private int bufferLength;
     private final SQLDialect dialect;
     private char[][] delimiters;
+    // Compiled on first evaluation, reset when words change
+    private SQLWordTable wordTable;
 
     public SQLWordRule(SQLDelimiterRule delimRule, TPToken functionToken, TPToken defaultToken, @NotNull SQLDialect dialect) {
         this.delimRule = delimRule;
@@ -51,39 +56,48 @@ public class SQLWordRule implements TPRule {
     }
 
     public boolean hasWord(String word) {
-        return words.containsKey(word.toLowerCase());
+        return words.containsKey(word.toLowerCase(Locale.ENGLISH));
     }
 
     public void addWord(String word, TPToken token) {
-        words.put(word.toLowerCase(), token);
+        words.put(word.toLowerCase(Locale.ENGLISH), token);
+        wordTable = null;
     }
 
     public boolean hasFunction(String function) {
-        return functions.contains(function);
+        return functions.contains(function.toLowerCase(Locale.ENGLISH));
     }
 
     public void addFunction(String function) {
-        functions.add(function.toLowerCase());
+        functions.add(function.toLowerCase(Locale.ENGLISH));
+        wordTable = null;
     }
 
     @Override
     public TPToken evaluate(TPCharacterScanner scanner) {
         int c = scanner.read();
         if (c != TPCharacterScanner.EOF && dialect.isWordStart(c)) {
-            buffer.setLength(0);
+            bufferLength = 0;
             delimiters = delimRule.getDelimiters();
             char prevC;
             do {
                 prevC = (char)c;
-                buffer.append((char) c);
+                if (bufferLength == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, bufferLength * 2);
+                }
+                buffer[bufferLength++] = (char) c;
                 c = scanner.read();
             } while (c != TPCharacterScanner.EOF && isWordPart((char) c, prevC, scanner));
             scanner.unread();
 
-            String buffer = this.buffer.toString().toLowerCase();
-            TPToken token = words.get(buffer);
+            SQLWordTable table = wordTable;
+            if (table == null) {
+                table = wordTable = new SQLWordTable(words, functions);
+            }
+            int slot = table.find(buffer, bufferLength);
+            TPToken token = slot < 0 ? null : table.getToken(slot);
 
-            if (functions.contains(buffer)) {
+            if (slot >= 0 && table.isFunction(slot)) {
                 int length = 0;
                 while (c != TPCharacterScanner.EOF && Character.isWhitespace(c)) {
                     c = scanner.read();
@@ -118,7 +132,7 @@ public class SQLWordRule implements TPRule {
         if (c == '$' && prevC == '$') {
             // Double dollar. Prev dollar is also wrong char
             scanner.unread();
-            buffer.setLength(buffer.length() - 1);
+            bufferLength--;
             return false;
         }
         // Check for delimiter
@@ -153,7 +167,7 @@ public class SQLWordRule implements TPRule {
     }
 
     private void unreadBuffer(TPCharacterScanner scanner) {
-        for (int i = buffer.length() - 1; i >= 0; i--) {
+        for (int i = bufferLength - 1; i >= 0; i--) {
             scanner.unread();
         }
     }
@@ -0,0 +1,110 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.sql.parser.rules;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.text.parser.TPToken;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-insensitive table of words and functions, compiled once from {@link SQLWordRule} words.
+ * <p>
+ * Open addressing hash table which is looked up directly by scanned characters,
+ * so scanning doesn't allocate and lower-case a string per word.
+ */
+final class SQLWordTable {
+
+    private final char[][] keys;
+    private final TPToken[] tokens;
+    private final boolean[] functions;
+    private final int mask;
+
+    SQLWordTable(@NotNull Map<String, TPToken> words, @NotNull Set<String> functionNames) {
+        Set<String> allWords = new LinkedHashSet<>(words.keySet());
+        allWords.addAll(functionNames);
+
+        int capacity = 16;
+        while (capacity < allWords.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new char[capacity][];
+        this.tokens = new TPToken[capacity];
+        this.functions = new boolean[capacity];
+        this.mask = capacity - 1;
+
+        for (String word : allWords) {
+            char[] key = word.toCharArray();
+            for (int i = 0; i < key.length; i++) {
+                key[i] = Character.toLowerCase(key[i]);
+            }
+            int slot = hash(key, key.length) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            tokens[slot] = words.get(word);
+            functions[slot] = functionNames.contains(word);
+        }
+    }
+
+    /**
+     * Returns slot of the word (compared case-insensitively) or -1 if there is no such word
+     */
+    int find(@NotNull char[] chars, int length) {
+        for (int slot = hash(chars, length) & mask; ; slot = (slot + 1) & mask) {
+            char[] key = keys[slot];
+            if (key == null) {
+                return -1;
+            }
+            if (equalsIgnoreCase(key, chars, length)) {
+                return slot;
+            }
+        }
+    }
+
+    TPToken getToken(int slot) {
+        return tokens[slot];
+    }
+
+    boolean isFunction(int slot) {
+        return functions[slot];
+    }
+
+    private static int hash(char[] chars, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + Character.toLowerCase(chars[i]);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(char[] key, char[] chars, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != Character.toLowerCase(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
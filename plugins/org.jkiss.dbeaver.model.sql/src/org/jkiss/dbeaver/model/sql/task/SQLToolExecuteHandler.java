@@ -16,17 +16,24 @@
  */
 package org.jkiss.dbeaver.model.sql.task;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.edit.SQLDatabasePersistActionComment;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.runtime.PrintStreamProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -38,10 +45,10 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -99,120 +106,331 @@ public abstract class SQLToolExecuteHandler<OBJECT_TYPE extends DBSObject, SETTI
                 Throwable throwable = warnings.get(0);
                 throw new DBCException("Tool execution error: " + throwable.getMessage(), throwable);
             }
-            for (OBJECT_TYPE object : objectList) {
-                monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
-                try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
-                    List<DBEPersistAction> queries = new ArrayList<>();
-                    generateObjectQueries(session, settings, queries, object);
+            int threadCount = Math.min(settings.getThreadCount(), objectList.size());
+            if (threadCount > 1 && canRunInParallel(objectList)) {
+                lastError = executeParallel(monitor, task, settings, log, outLog, listener, threadCount);
+            } else {
+                for (OBJECT_TYPE object : objectList) {
+                    monitor.subTask("Process [" + DBUtils.getObjectFullName(object, DBPEvaluationContext.UI) + "]");
+                    ObjectResult result = new ObjectResult(object);
+                    try (DBCSession session = DBUtils.openUtilSession(monitor, object, "Execute " + task.getType().getName())) {
+                        try {
+                            processObject(monitor, session, settings, log, listener, result);
+                        } finally {
+                            if (publishResult(result, session, outLog, listener) != null) {
+                                lastError = result.error;
+                            }
+                        }
+                    }
+                    monitor.worked(1);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e;
+            outLog.println("Process error\n" + e.getMessage());
+        } finally {
+            monitor.done();
+        }
+        listener.taskFinished(task, null, lastError, settings);
 
-                    DBCExecutionContext context = session.getExecutionContext();
-                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
-                    boolean isAutoCommitModeSwitchedOn = true;
+        outLog.println("Tool execution finished");
+        outLog.flush();
+    }
 
-                    try {
-                        if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
-                            isAutoCommitModeSwitchedOn = false;
-                            txnManager.setAutoCommit(monitor, true);
-                        }
+    /**
+     * Processes objects in parallel jobs, each job uses its own isolated execution context.
+     * Jobs take objects from the shared queue, so slow objects don't hold others.
+     * Results are passed to the listener in the original order of objects. Worker sessions are closed
+     * by then, so listener gets no session.
+     */
+    private Exception executeParallel(DBRProgressMonitor monitor, DBTTask task, SETTINGS settings, Log log, PrintStream outLog, DBTTaskExecutionListener listener, int threadCount) throws DBException {
+        List<ObjectResult> results = new ArrayList<>();
+        for (OBJECT_TYPE object : settings.getObjectList()) {
+            results.add(new ObjectResult(object));
+        }
+        Queue<ObjectResult> pendingObjects = new ConcurrentLinkedQueue<>(results);
+        List<ToolWorkerJob> jobs = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            ToolWorkerJob job = new ToolWorkerJob(i + 1, task, settings, log, listener, pendingObjects);
+            jobs.add(job);
+            job.schedule();
+        }
+        log.debug("Execute tool '" + task.getType().getName() + "' in " + threadCount + " threads");
 
-                        for (DBEPersistAction action : queries) {
-                            if (monitor.isCanceled()) {
-                                break;
-                            }
-                            if (!CommonUtils.isEmpty(action.getTitle())) {
-                                monitor.subTask(action.getTitle());
-                            }
-                            try {
-                                if (action instanceof SQLDatabasePersistActionComment) {
-                                    continue;
-                                }
-                                String script = action.getScript();
-                                if (!CommonUtils.isEmpty(script)) {
-                                    long startTime = System.currentTimeMillis();
-                                    try (final DBCStatement statement = session.prepareStatement(
-                                        DBCStatementType.SCRIPT,
-                                        script,
-                                        false,
-                                        false,
-                                        false)) {
-                                        long execTime = System.currentTimeMillis() - startTime;
-                                        statement.executeStatement();
-                                        if (listener instanceof SQLToolRunListener) {
-                                            if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
-                                                SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
-                                                if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
-                                                    List<? extends SQLToolStatistics> executeStatistics =
-                                                            ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
-                                                                    object,
-                                                                    settings,
-                                                                    action,
-                                                                    session,
-                                                                    statement);
-                                                    monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
-                                                    if (!CommonUtils.isEmpty(executeStatistics)) {
-                                                        for (SQLToolStatistics stat : executeStatistics) {
-                                                            stat.setExecutionTime(execTime);
-                                                        }
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, executeStatistics);
-                                                    } else {
-                                                        ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                    }
-                                                } else {
-                                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(statisticsSimple));
-                                                }
-                                            }
-                                        }
+        Exception lastError = null;
+        try {
+            for (ObjectResult result : results) {
+                while (!result.finishLatch.await(100, TimeUnit.MILLISECONDS)) {
+                    if (monitor.isCanceled()) {
+                        cancelWorkers(pendingObjects, jobs);
+                    }
+                    if (result.finishLatch.getCount() > 0 && isWorkersFinished(jobs)) {
+                        // Canceled before this object was processed
+                        return lastError;
+                    }
+                }
+                monitor.subTask("Process [" + DBUtils.getObjectFullName(result.object, DBPEvaluationContext.UI) + "]");
+                if (publishResult(result, null, outLog, listener) != null) {
+                    lastError = result.error;
+                }
+                monitor.worked(1);
+            }
+        } catch (InterruptedException e) {
+            pendingObjects.clear();
+            for (ToolWorkerJob job : jobs) {
+                job.cancel();
+            }
+            throw new DBException("Tool execution interrupted", e);
+        }
+        return lastError;
+    }
+
+    /**
+     * Cancels workers and waits until they finish. Jobs canceled before start are never run.
+     */
+    private void cancelWorkers(Queue<ObjectResult> pendingObjects, List<ToolWorkerJob> jobs) throws InterruptedException {
+        pendingObjects.clear();
+        for (ToolWorkerJob job : jobs) {
+            job.cancel();
+        }
+        for (ToolWorkerJob job : jobs) {
+            job.join();
+        }
+    }
+
+    private static boolean isWorkersFinished(List<? extends Job> jobs) {
+        for (Job job : jobs) {
+            if (job.getState() != Job.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean canRunInParallel(List<? extends DBSObject> objects) {
+        for (DBSObject object : objects) {
+            DBPDataSource dataSource = object.getDataSource();
+            if (dataSource == null || dataSource.getContainer().getDriver().isEmbedded()) {
+                // Embedded databases don't like concurrent connections
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void processObject(DBRProgressMonitor monitor, DBCSession session, SETTINGS settings, Log log, DBTTaskExecutionListener listener, ObjectResult result) throws DBException {
+        OBJECT_TYPE object = result.object;
+        List<DBEPersistAction> queries = new ArrayList<>();
+        generateObjectQueries(session, settings, queries, object);
+
+        DBCExecutionContext context = session.getExecutionContext();
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        boolean isAutoCommitModeSwitchedOn = true;
+        int objectTimeout = settings.getObjectTimeout();
+        long deadline = objectTimeout > 0 ? System.currentTimeMillis() + objectTimeout * 1000L : 0;
+
+        try {
+            if(isRunInAutoCommit() && txnManager != null && !txnManager.isAutoCommit()){
+                isAutoCommitModeSwitchedOn = false;
+                txnManager.setAutoCommit(monitor, true);
+            }
 
-                                        statistics.addStatementsCount();
-                                        statistics.addExecuteTime(execTime);
-                                        try {
-                                            long updateCount = statement.getUpdateRowCount();
-                                            if (updateCount >= 0) {
-                                                statistics.addRowsUpdated(updateCount);
+            for (DBEPersistAction action : queries) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (!CommonUtils.isEmpty(action.getTitle())) {
+                    monitor.subTask(action.getTitle());
+                }
+                boolean timedOut = false;
+                try {
+                    if (action instanceof SQLDatabasePersistActionComment) {
+                        continue;
+                    }
+                    String script = action.getScript();
+                    if (!CommonUtils.isEmpty(script)) {
+                        long startTime = System.currentTimeMillis();
+                        if (deadline > 0 && startTime >= deadline) {
+                            timedOut = true;
+                            throw new DBCException("Object processing timeout (" + objectTimeout + "s) exceeded");
+                        }
+                        try (final DBCStatement statement = session.prepareStatement(
+                            DBCStatementType.SCRIPT,
+                            script,
+                            false,
+                            false,
+                            false)) {
+                            if (deadline > 0) {
+                                statement.setStatementTimeout((int) ((deadline - startTime + 999) / 1000));
+                            }
+                            long execTime = System.currentTimeMillis() - startTime;
+                            statement.executeStatement();
+                            if (listener instanceof SQLToolRunListener) {
+                                if (action.getType() != DBEPersistAction.ActionType.INITIALIZER && action.getType() != DBEPersistAction.ActionType.FINALIZER) {
+                                    SQLToolStatisticsSimple statisticsSimple = new SQLToolStatisticsSimple(object, false);
+                                    if (SQLToolExecuteHandler.this instanceof SQLToolRunStatisticsGenerator) {
+                                        List<? extends SQLToolStatistics> executeStatistics =
+                                                ((SQLToolRunStatisticsGenerator) SQLToolExecuteHandler.this).getExecuteStatistics(
+                                                        object,
+                                                        settings,
+                                                        action,
+                                                        session,
+                                                        statement);
+                                        monitor.subTask("\tFinished in " + RuntimeUtils.formatExecutionTime(execTime));
+                                        if (!CommonUtils.isEmpty(executeStatistics)) {
+                                            for (SQLToolStatistics stat : executeStatistics) {
+                                                stat.setExecutionTime(execTime);
                                             }
-                                        } catch (DBCException e) {
-                                            // In some cases we can't read update count
-                                            // This is bad but we can live with it
-                                            // Just print a warning
-                                            log.warn("Can't obtain update count", e);
+                                            result.addActionStatistics(action, executeStatistics);
+                                        } else {
+                                            result.addActionStatistics(action, Collections.singletonList(statisticsSimple));
                                         }
+                                    } else {
+                                        result.addActionStatistics(action, Collections.singletonList(statisticsSimple));
                                     }
                                 }
-                            } catch (Exception e) {
-                                lastError = e;
-                                log.debug("Error executing query", e);
-                                outLog.println("Error executing query\n" + e.getMessage());
-                                if(listener instanceof SQLToolRunListener) {
-                                    SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
-                                    errorStat.setStatusMessage(e.getMessage());
-                                    ((SQLToolRunListener) listener).handleActionStatistics(object, action, session, Collections.singletonList(errorStat));
-                                }
-                            } finally {
-                                monitor.worked(1);
                             }
-                        }
-                    } finally {
-                        if (!isAutoCommitModeSwitchedOn) {
+
+                            result.statistics.addStatementsCount();
+                            result.statistics.addExecuteTime(execTime);
                             try {
-                                txnManager.setAutoCommit(monitor, false);
+                                long updateCount = statement.getUpdateRowCount();
+                                if (updateCount >= 0) {
+                                    result.statistics.addRowsUpdated(updateCount);
+                                }
                             } catch (DBCException e) {
-                                log.debug("Cannot set auto-commit status", e);
+                                // In some cases we can't read update count
+                                // This is bad but we can live with it
+                                // Just print a warning
+                                log.warn("Can't obtain update count", e);
                             }
                         }
                     }
+                } catch (Exception e) {
+                    result.error = e;
+                    log.debug("Error executing query", e);
+                    result.messages.add("Error executing query\n" + e.getMessage());
+                    if(listener instanceof SQLToolRunListener) {
+                        SQLToolStatisticsSimple errorStat = new SQLToolStatisticsSimple(object, true);
+                        errorStat.setStatusMessage(e.getMessage());
+                        result.addActionStatistics(action, Collections.singletonList(errorStat));
+                    }
+                } finally {
+                    monitor.worked(1);
+                }
+                if (timedOut) {
+                    break;
                 }
-                monitor.worked(1);
             }
-        } catch (Exception e) {
-            lastError = e;
-            outLog.println("Process error\n" + e.getMessage());
         } finally {
-            monitor.done();
+            if (!isAutoCommitModeSwitchedOn) {
+                try {
+                    txnManager.setAutoCommit(monitor, false);
+                } catch (DBCException e) {
+                    log.debug("Cannot set auto-commit status", e);
+                }
+            }
         }
-        listener.taskFinished(task, null, lastError, settings);
+    }
 
-        outLog.println("Tool execution finished");
-        outLog.flush();
+    /**
+     * Passes object results to the listener and task statistics. Returns object error (if any).
+     */
+    private Exception publishResult(ObjectResult result, @Nullable DBCSession session, PrintStream outLog, DBTTaskExecutionListener listener) {
+        for (String message : result.messages) {
+            outLog.println(message);
+        }
+        if (listener instanceof SQLToolRunListener) {
+            for (ActionStatistics actionStatistics : result.actionStatistics) {
+                ((SQLToolRunListener) listener).handleActionStatistics(
+                    result.object, actionStatistics.action, session, actionStatistics.statistics);
+            }
+        }
+        statistics.accumulate(result.statistics);
+        return result.error;
+    }
+
+    private static class ActionStatistics {
+        final DBEPersistAction action;
+        final List<? extends SQLToolStatistics> statistics;
+
+        ActionStatistics(DBEPersistAction action, List<? extends SQLToolStatistics> statistics) {
+            this.action = action;
+            this.statistics = statistics;
+        }
+    }
+
+    /**
+     * Results of single object processing. Published once the object is processed.
+     */
+    private class ObjectResult {
+        final OBJECT_TYPE object;
+        final DBCStatistics statistics = new DBCStatistics();
+        final List<ActionStatistics> actionStatistics = new ArrayList<>();
+        final List<String> messages = new ArrayList<>();
+        final CountDownLatch finishLatch = new CountDownLatch(1);
+        volatile Exception error;
+
+        ObjectResult(OBJECT_TYPE object) {
+            this.object = object;
+        }
+
+        void addActionStatistics(DBEPersistAction action, List<? extends SQLToolStatistics> statistics) {
+            actionStatistics.add(new ActionStatistics(action, statistics));
+        }
+    }
+
+    private class ToolWorkerJob extends AbstractJob {
+        private final int workerNumber;
+        private final DBTTask task;
+        private final SETTINGS settings;
+        private final Log log;
+        private final DBTTaskExecutionListener listener;
+        private final Queue<ObjectResult> pendingObjects;
+
+        ToolWorkerJob(int workerNumber, DBTTask task, SETTINGS settings, Log log, DBTTaskExecutionListener listener, Queue<ObjectResult> pendingObjects) {
+            super("Execute tool '" + task.getType().getName() + "' (" + workerNumber + ")");
+            this.workerNumber = workerNumber;
+            this.task = task;
+            this.settings = settings;
+            this.log = log;
+            this.listener = listener;
+            this.pendingObjects = pendingObjects;
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            // Isolated contexts of database instances processed by this worker
+            Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+            try {
+                for (ObjectResult result = pendingObjects.poll(); result != null && !monitor.isCanceled(); result = pendingObjects.poll()) {
+                    try {
+                        DBSInstance instance = DBUtils.getObjectOwnerInstance(result.object);
+                        DBCExecutionContext context = contexts.get(instance);
+                        if (context == null) {
+                            context = instance.openIsolatedContext(
+                                monitor, "Tool executor (" + workerNumber + ")", instance.getDefaultContext(monitor, false));
+                            contexts.put(instance, context);
+                        }
+                        try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Execute " + task.getType().getName())) {
+                            processObject(monitor, session, settings, log, listener, result);
+                        }
+                    } catch (Throwable e) {
+                        result.error = e instanceof Exception ? (Exception) e : new DBException("Error processing object", e);
+                        result.messages.add("Process error\n" + e.getMessage());
+                    } finally {
+                        result.finishLatch.countDown();
+                    }
+                }
+            } finally {
+                for (DBCExecutionContext context : contexts.values()) {
+                    context.close();
+                }
+            }
+            return Status.OK_STATUS;
+        }
     }
 
     public String generateScript(DBRProgressMonitor monitor, SETTINGS settings) throws DBCException {
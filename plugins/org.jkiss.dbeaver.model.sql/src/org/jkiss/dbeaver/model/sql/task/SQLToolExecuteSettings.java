@@ -21,6 +21,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.json.JSONUtils;
+import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTaskSettingsInput;
@@ -42,6 +43,8 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
 
     private List<OBJECT_TYPE> objectList = new ArrayList<>();
     private final List<Throwable> warnings = new ArrayList<>();
+    private int threadCount = 1;
+    private int objectTimeout;
 
     protected SQLToolExecuteSettings() {
     }
@@ -58,12 +61,38 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
         return warnings;
     }
 
+    /**
+     * Number of objects processed concurrently. Each thread uses its own isolated connection.
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 100)
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    /**
+     * Max time (in seconds) of single object processing. Zero means no limit.
+     */
+    @Property(viewable = true, editable = true, updatable = true, order = 101)
+    public int getObjectTimeout() {
+        return objectTimeout;
+    }
+
+    public void setObjectTimeout(int objectTimeout) {
+        this.objectTimeout = Math.max(0, objectTimeout);
+    }
+
         @Override
     public void loadSettingsFromInput(List<OBJECT_TYPE> inputObjects) {
         objectList.addAll(inputObjects);
     }
 
     public void loadConfiguration(DBRRunnableContext runnableContext, Map<String, Object> config) {
+        setThreadCount(JSONUtils.getInteger(config, "threadCount", 1));
+        setObjectTimeout(JSONUtils.getInteger(config, "objectTimeout", 0));
         try {
             runnableContext.run(true, true, monitor -> {
                 List<OBJECT_TYPE> objList = new ArrayList<>();
@@ -97,6 +126,8 @@ public class SQLToolExecuteSettings<OBJECT_TYPE extends DBSObject> implements DB
     public void saveConfiguration(Map<String, Object> config) {
         List<Map<String, Object>> objectsConfig = new ArrayList<>();
         config.put("objects", objectsConfig);
+        config.put("threadCount", threadCount);
+        config.put("objectTimeout", objectTimeout);
         for (OBJECT_TYPE obj : objectList) {
             Map<String, Object> objectInfo = new LinkedHashMap<>();
             objectInfo.put("project", obj.getDataSource().getContainer().getProject().getName());
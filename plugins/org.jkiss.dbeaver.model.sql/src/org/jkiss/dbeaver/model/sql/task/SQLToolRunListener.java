@@ -16,6 +16,7 @@
  */
 package org.jkiss.dbeaver.model.sql.task;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPObject;
 import org.jkiss.dbeaver.model.edit.DBEPersistAction;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -27,6 +28,10 @@ import java.util.List;
  */
 public interface SQLToolRunListener {
 
-    void handleActionStatistics(DBPObject object, DBEPersistAction action, DBCSession session, List<? extends SQLToolStatistics> statistics);
+    /**
+     * @param session session which executed the action. Null if objects were processed in parallel
+     *                (statistics are published after worker sessions are closed).
+     */
+    void handleActionStatistics(DBPObject object, DBEPersistAction action, @Nullable DBCSession session, List<? extends SQLToolStatistics> statistics);
 
 }
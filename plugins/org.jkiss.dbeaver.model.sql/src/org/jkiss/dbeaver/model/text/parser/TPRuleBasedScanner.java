@@ -46,6 +46,15 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
 	private int fColumn;
 	/** Internal setting for the un-initialized column cache. */
 	private static final int UNDEFINED= -1;
+	/** The size of the document text buffer */
+	private static final int BUFFER_SIZE= 4096;
+
+	/** The buffer with part of document text. Rules read characters from it instead of the document */
+	private final char[] fBuffer= new char[BUFFER_SIZE];
+	/** The document offset of the first buffered character */
+	private int fBufferOffset;
+	/** The number of buffered characters */
+	private int fBufferLength;
 
 	private boolean evalMode;
 
@@ -96,6 +105,8 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
 		fOffset= offset;
 		fColumn= UNDEFINED;
 		fRangeEnd= offset + length;
+		fBufferOffset= offset;
+		fBufferLength= 0;
 
 		String[] delimiters= fDocument.getLegalLineDelimiters();
 		fDelimiters= new char[delimiters.length][];
@@ -190,10 +201,12 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
 		try {
 
 			if (fOffset < fRangeEnd) {
-				try {
-					return fDocument.getChar(fOffset);
-				} catch (BadLocationException e) {
+				if (fOffset < fBufferOffset || fOffset >= fBufferOffset + fBufferLength) {
+					if (!fillBuffer(fOffset)) {
+						return EOF;
+					}
 				}
+				return fBuffer[fOffset - fBufferOffset];
 			}
 
 			return EOF;
@@ -204,6 +217,21 @@ public class TPRuleBasedScanner implements TPCharacterScanner, TPTokenScanner, T
 		}
 	}
 
+	/**
+	 * Reads document text starting from the given offset into the buffer
+	 */
+	private boolean fillBuffer(int offset) {
+		try {
+			fBufferOffset= offset;
+			fBufferLength= Math.min(BUFFER_SIZE, fRangeEnd - offset);
+			fDocument.get(offset, fBufferLength).getChars(0, fBufferLength, fBuffer, 0);
+			return true;
+		} catch (BadLocationException e) {
+			fBufferLength= 0;
+			return false;
+		}
+	}
+
 	@Override
 	public void unread() {
 		--fOffset;
@@ -33,6 +33,8 @@ public class DBDDataFilter {
     private boolean anyConstraint; // means OR condition
     private String order;
     private String where;
+    @Nullable
+    private DBDKeysetPosition keysetPosition;
 
     public DBDDataFilter() {
         this.constraints = new ArrayList<>();
@@ -50,6 +52,7 @@ public class DBDDataFilter {
         this.order = source.order;
         this.where = source.where;
         this.anyConstraint = source.anyConstraint;
+        this.keysetPosition = source.keysetPosition;
     }
 
     public List<DBDAttributeConstraint> getConstraints() {
@@ -129,6 +132,20 @@ public class DBDDataFilter {
         this.where = where;
     }
 
+    /**
+     * Keyset pagination position. Used by containers which support
+     * {@link org.jkiss.dbeaver.model.struct.DBSDataContainer#FEATURE_DATA_KEYSET_PAGINATION}.
+     * Position is a read state, so it doesn't participate in filters comparison.
+     */
+    @Nullable
+    public DBDKeysetPosition getKeysetPosition() {
+        return keysetPosition;
+    }
+
+    public void setKeysetPosition(@Nullable DBDKeysetPosition keysetPosition) {
+        this.keysetPosition = keysetPosition;
+    }
+
     public boolean hasFilters() {
         if (!CommonUtils.isEmpty(this.order) || !CommonUtils.isEmpty(this.where)) {
             return true;
@@ -0,0 +1,50 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.Nullable;
+
+/**
+ * Keyset (seek) pagination position.
+ * Keeps key values of the last fetched row. Data container reads next page with condition
+ * on these values instead of row offset, so each page costs the same regardless of its number.
+ */
+public class DBDKeysetPosition {
+
+    @Nullable
+    private Object[] lastKeyValues;
+
+    public DBDKeysetPosition() {
+    }
+
+    public boolean isFirstPage() {
+        return lastKeyValues == null;
+    }
+
+    @Nullable
+    public Object[] getLastKeyValues() {
+        return lastKeyValues;
+    }
+
+    public void setLastKeyValues(@Nullable Object[] lastKeyValues) {
+        this.lastKeyValues = lastKeyValues;
+    }
+
+    public void reset() {
+        this.lastKeyValues = null;
+    }
+}
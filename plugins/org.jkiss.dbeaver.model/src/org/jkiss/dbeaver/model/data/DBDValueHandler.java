@@ -63,6 +63,21 @@ public interface DBDValueHandler extends DBDValueRenderer
     Object fetchValueObject(@NotNull DBCSession session, @NotNull DBCResultSet resultSet, @NotNull DBSTypedObject type, int index)
         throws DBCException;
 
+    /**
+     * Creates reader of the specified result set column.
+     * Reader is created once per result set so it may resolve column type specifics in advance.
+     * By default it calls {@link #fetchValueObject}.
+     *
+     * @param resultSet result set
+     * @param type attribute type
+     * @param index attribute index (zero based)
+     * @return column reader
+     */
+    @NotNull
+    default DBDValueReader createValueReader(@NotNull DBCResultSet resultSet, @NotNull DBSTypedObject type, int index) {
+        return (session, rs) -> fetchValueObject(session, rs, type, index);
+    }
+
     /**
      * Binds specified parameter to statement
      *
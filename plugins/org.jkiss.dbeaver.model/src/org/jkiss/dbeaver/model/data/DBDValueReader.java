@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Reader of a single result set column.
+ * Readers are created once per result set (see {@link DBDValueHandler#createValueReader})
+ * and then called for each fetched row.
+ */
+@FunctionalInterface
+public interface DBDValueReader
+{
+    /**
+     * Reads column value of the current result set row
+     *
+     * @param session session
+     * @param resultSet result set the reader was created for
+     * @return value or null
+     * @throws DBCException on error
+     */
+    @Nullable
+    Object readValue(@NotNull DBCSession session, @NotNull DBCResultSet resultSet)
+        throws DBCException;
+
+}
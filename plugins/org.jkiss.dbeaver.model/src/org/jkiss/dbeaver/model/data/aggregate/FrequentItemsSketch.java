@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Space-Saving frequent items sketch.
+ * <p>
+ * Tracks at most {@code capacity} counters. When all counters are taken a new item replaces
+ * the item with the minimal counter and inherits its count. Any item which occurs more than
+ * {@code n / capacity} times is guaranteed to be tracked.
+ */
+public class FrequentItemsSketch {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Map<Object, Long> counters = new HashMap<>();
+    // Items grouped by their counters. Items in each bucket are kept in order of arrival.
+    private final TreeMap<Long, LinkedHashSet<Object>> buckets = new TreeMap<>();
+
+    public FrequentItemsSketch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FrequentItemsSketch(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void update(Object value) {
+        Long count = counters.get(value);
+        if (count == null) {
+            if (counters.size() < capacity) {
+                count = 0L;
+            } else {
+                Map.Entry<Long, LinkedHashSet<Object>> minBucket = buckets.firstEntry();
+                Object minItem = minBucket.getValue().iterator().next();
+                removeFromBucket(minItem, minBucket.getKey());
+                counters.remove(minItem);
+                count = minBucket.getKey();
+            }
+        } else {
+            removeFromBucket(value, count);
+        }
+        count++;
+        counters.put(value, count);
+        buckets.computeIfAbsent(count, c -> new LinkedHashSet<>()).add(value);
+    }
+
+    /**
+     * Returns the most frequent item (or null if sketch is empty)
+     */
+    public Object getMostFrequent() {
+        Map.Entry<Long, LinkedHashSet<Object>> maxBucket = buckets.lastEntry();
+        return maxBucket == null ? null : maxBucket.getValue().iterator().next();
+    }
+
+    private void removeFromBucket(Object value, long count) {
+        LinkedHashSet<Object> bucket = buckets.get(count);
+        bucket.remove(value);
+        if (bucket.isEmpty()) {
+            buckets.remove(count);
+        }
+    }
+}
@@ -20,15 +20,32 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * FunctionCountDistinct
+ * FunctionCountDistinct.
+ * In approximate mode distinct values are estimated by {@link DistinctCountSketch}.
  */
 public class FunctionCountDistinct implements IAggregateFunction {
 
     private int count = 0;
     private Set<Object> cache = new HashSet<>();
+    private DistinctCountSketch sketch;
+
+    @Override
+    public void setApproximate(boolean approximate) {
+        if (approximate) {
+            cache = null;
+            sketch = new DistinctCountSketch();
+        } else {
+            cache = new HashSet<>();
+            sketch = null;
+        }
+    }
 
     @Override
     public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        if (sketch != null) {
+            sketch.update(value);
+            return true;
+        }
         if (!cache.contains(value)) {
             count++;
             cache.add(value);
@@ -39,6 +56,9 @@ public class FunctionCountDistinct implements IAggregateFunction {
 
     @Override
     public Object getResult(int valueCount) {
+        if (sketch != null) {
+            return sketch.getEstimate();
+        }
         return count;
     }
 }
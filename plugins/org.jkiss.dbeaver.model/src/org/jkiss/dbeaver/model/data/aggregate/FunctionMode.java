@@ -16,15 +16,29 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Mode
+ * Mode.
+ * In approximate mode values are counted by {@link FrequentItemsSketch}.
  */
 public class FunctionMode implements IAggregateFunction {
 
-    private final List<Object> cache = new ArrayList<>();
+    // Keeps order of first appearance: the first of equally frequent values wins
+    private Map<Object, Integer> counts = new LinkedHashMap<>();
+    private FrequentItemsSketch sketch;
+
+    @Override
+    public void setApproximate(boolean approximate) {
+        if (approximate) {
+            counts = null;
+            sketch = new FrequentItemsSketch();
+        } else {
+            counts = new LinkedHashMap<>();
+            sketch = null;
+        }
+    }
 
     @Override
     public boolean accumulate(Object value, boolean aggregateAsStrings) {
@@ -33,7 +47,11 @@ public class FunctionMode implements IAggregateFunction {
             value = num;
         }
         if (value != null) {
-            cache.add(value);
+            if (sketch != null) {
+                sketch.update(value);
+            } else {
+                counts.merge(value, 1, Integer::sum);
+            }
             return true;
         }
         return false;
@@ -41,24 +59,17 @@ public class FunctionMode implements IAggregateFunction {
 
     @Override
     public Object getResult(int valueCount) {
+        if (sketch != null) {
+            return sketch.getMostFrequent();
+        }
         Object maxValue = null;
         int maxCount = 0;
-
-        for (int i = 0; i < cache.size(); ++i) {
-            int count = 0;
-            for (int j = 0; j < cache.size(); ++j) {
-                if (cache.get(j).equals(cache.get(i))) {
-                    count++;
-                }
-            }
-            if (count > maxCount) {
-                maxCount = count;
-                maxValue = cache.get(i);
+        for (Map.Entry<Object, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > maxCount) {
+                maxCount = entry.getValue();
+                maxValue = entry.getKey();
             }
         }
-//        if (maxCount <= 1) {
-//            return null;
-//        }
         return maxValue;
     }
 }
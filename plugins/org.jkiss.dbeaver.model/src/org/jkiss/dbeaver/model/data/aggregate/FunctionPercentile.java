@@ -0,0 +1,99 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.dbeaver.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Percentile (continuous, with linear interpolation between numeric values).
+ * In approximate mode values are collected into {@link QuantileSketch}.
+ */
+public abstract class FunctionPercentile implements IAggregateFunction {
+
+    private static final Log log = Log.getLog(FunctionPercentile.class);
+
+    private final double quantile;
+    private List<Comparable> cache = new ArrayList<>();
+    private QuantileSketch sketch;
+
+    protected FunctionPercentile(double quantile) {
+        this.quantile = quantile;
+    }
+
+    @Override
+    public void setApproximate(boolean approximate) {
+        if (approximate) {
+            cache = null;
+            sketch = new QuantileSketch();
+        } else {
+            cache = new ArrayList<>();
+            sketch = null;
+        }
+    }
+
+    @Override
+    public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        value = FunctionNumeric.getComparable(value, aggregateAsStrings);
+        if (value != null) {
+            if (sketch != null) {
+                sketch.update((Comparable<?>) value);
+            } else {
+                cache.add((Comparable<?>) value);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object getResult(int valueCount) {
+        if (sketch != null) {
+            return sketch.getQuantile(quantile);
+        }
+        if (cache.isEmpty()) {
+            return null;
+        }
+        Comparable[] values = cache.toArray(new Comparable[0]);
+        try {
+            // Parallel sort splits big arrays into chunks which are sorted in common fork-join pool
+            Arrays.parallelSort(values, AggregateUtils::compareValues);
+        } catch (Exception e) {
+            log.debug("Can't sort value collection", e);
+            return null;
+        }
+
+        double position = quantile * (values.length - 1);
+        int lowIndex = (int) Math.floor(position);
+        int highIndex = (int) Math.ceil(position);
+        Comparable<?> val1 = values[lowIndex];
+        Comparable<?> val2 = values[highIndex];
+        if (lowIndex == highIndex) {
+            return val1;
+        }
+        if (val1 instanceof Number && val2 instanceof Number) {
+            double low = ((Number) val1).doubleValue();
+            double high = ((Number) val2).doubleValue();
+            return low + (high - low) * (position - lowIndex);
+        }
+        // Can't interpolate non-numeric values - so just get the lower one
+        return val1;
+    }
+}
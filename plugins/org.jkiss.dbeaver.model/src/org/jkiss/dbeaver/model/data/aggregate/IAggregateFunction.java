@@ -25,4 +25,11 @@ public interface IAggregateFunction {
 
     Object getResult(int valueCount);
 
+    /**
+     * Switches function to approximate (constant memory) mode.
+     * Must be called before the first value is accumulated. Functions which always use constant memory ignore it.
+     */
+    default void setApproximate(boolean approximate) {
+    }
+
 }
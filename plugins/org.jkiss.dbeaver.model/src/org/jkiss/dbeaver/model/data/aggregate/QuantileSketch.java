@@ -0,0 +1,137 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * KLL quantile sketch.
+ * <p>
+ * Keeps a hierarchy of compactors: items at level {@code h} have weight {@code 2^h}.
+ * Memory is bounded by {@code O(k)} items, rank error is about {@code 1.65 / k} with high probability.
+ */
+public class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private final List<List<Comparable>> levels = new ArrayList<>();
+    private final Random random = new Random(0);
+    private long count;
+    private int size;
+    private int capacity;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        this.k = k;
+        addLevel();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void update(Comparable value) {
+        levels.get(0).add(value);
+        size++;
+        count++;
+        if (size >= capacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Returns value with the specified normalized rank (0..1) or null if sketch is empty
+     */
+    public Comparable getQuantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        List<WeightedItem> items = new ArrayList<>(size);
+        for (int level = 0; level < levels.size(); level++) {
+            long weight = 1L << level;
+            for (Comparable value : levels.get(level)) {
+                items.add(new WeightedItem(value, weight));
+            }
+        }
+        items.sort((o1, o2) -> AggregateUtils.compareValues(o1.value, o2.value));
+        double targetWeight = quantile * count;
+        long cumulativeWeight = 0;
+        for (WeightedItem item : items) {
+            cumulativeWeight += item.weight;
+            if (cumulativeWeight >= targetWeight) {
+                return item.value;
+            }
+        }
+        return items.get(items.size() - 1).value;
+    }
+
+    private void compress() {
+        for (int level = 0; level < levels.size(); level++) {
+            List<Comparable> compactor = levels.get(level);
+            if (compactor.size() < getLevelCapacity(level)) {
+                continue;
+            }
+            if (level + 1 >= levels.size()) {
+                addLevel();
+            }
+            compactor.sort(AggregateUtils::compareValues);
+            // Keep odd item (if any) on the current level, promote every second of the rest
+            Comparable oddItem = compactor.size() % 2 == 1 ? compactor.remove(compactor.size() - 1) : null;
+            List<Comparable> nextCompactor = levels.get(level + 1);
+            for (int i = random.nextBoolean() ? 1 : 0; i < compactor.size(); i += 2) {
+                nextCompactor.add(compactor.get(i));
+            }
+            size -= compactor.size() - compactor.size() / 2;
+            compactor.clear();
+            if (oddItem != null) {
+                compactor.add(oddItem);
+            }
+            break;
+        }
+    }
+
+    private void addLevel() {
+        levels.add(new ArrayList<>());
+        capacity = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            capacity += getLevelCapacity(level);
+        }
+    }
+
+    private int getLevelCapacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private static class WeightedItem {
+        final Comparable value;
+        final long weight;
+
+        WeightedItem(Comparable value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -33,10 +33,7 @@ import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Execute batch.
@@ -47,6 +44,9 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
     private static final Log log = Log.getLog(ExecuteBatchImpl.class);
 
+    // Max number of simultaneously open statements in batch grouped by row nulls
+    private static final int MAX_NULL_PATTERN_STATEMENTS = 16;
+
     protected final DBSAttributeBase[] attributes;
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
@@ -117,6 +117,10 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             useBatch = false;
         }
 
+        if (useBatch && actions == null && canReorderRows(options)) {
+            return executeBatchByNullPattern(session, handlers, options);
+        }
+
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
 
@@ -226,6 +230,75 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    /**
+     * Executes batch keeping a separate prepared statement for each distinct row nulls pattern.
+     * Rows are added to the batch of the statement with the same nulls, so sparse data doesn't restart
+     * batch on each null pattern change. Least recently used statement is flushed once there are too many of them.
+     */
+    @NotNull
+    private DBCStatistics executeBatchByNullPattern(@NotNull DBCSession session, DBDValueHandler[] handlers, Map<String, Object> options) throws DBCException
+    {
+        DBCStatistics statistics = new DBCStatistics();
+        // Access-ordered, eldest entry is the least recently used statement
+        LinkedHashMap<BitSet, DBCStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+        try {
+            for (Object[] rowValues : values) {
+                if (session.getProgressMonitor().isCanceled()) {
+                    break;
+                }
+                BitSet nulls = new BitSet(rowValues.length);
+                for (int i = 0; i < rowValues.length; i++) {
+                    if (DBUtils.isNullValue(rowValues[i])) {
+                        nulls.set(i);
+                    }
+                }
+                DBCStatement statement = statements.get(nulls);
+                if (statement == null) {
+                    if (statements.size() >= MAX_NULL_PATTERN_STATEMENTS) {
+                        Iterator<DBCStatement> iter = statements.values().iterator();
+                        DBCStatement eldest = iter.next();
+                        iter.remove();
+                        flushAndCloseBatch(statistics, eldest);
+                    }
+                    statement = prepareStatement(session, handlers, rowValues, options);
+                    statistics.setQueryText(statement.getQueryString());
+                    statistics.addStatementsCount();
+                    statements.put(nulls, statement);
+                }
+                bindStatement(handlers, statement, rowValues);
+                statement.addToBatch();
+            }
+            for (Iterator<DBCStatement> iter = statements.values().iterator(); iter.hasNext(); ) {
+                DBCStatement statement = iter.next();
+                iter.remove();
+                flushAndCloseBatch(statistics, statement);
+            }
+        } finally {
+            for (DBCStatement statement : statements.values()) {
+                statement.close();
+            }
+            values.clear();
+        }
+        return statistics;
+    }
+
+    private void flushAndCloseBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
+        try {
+            flushBatch(statistics, statement);
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * Returns true if rows may be executed in a different order than they were added.
+     * Then rows with different nulls may be batched in separate statements.
+     * Reordering is enabled only by {@link DBSDataManipulator#OPTION_REORDER_ROWS} option.
+     */
+    protected boolean canReorderRows(Map<String, Object> options) {
+        return false;
+    }
+
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         return paramIndex + 1;
     }
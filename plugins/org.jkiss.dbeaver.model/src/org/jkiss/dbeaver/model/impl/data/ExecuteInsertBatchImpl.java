@@ -19,6 +19,8 @@ package org.jkiss.dbeaver.model.impl.data;
 import org.eclipse.core.runtime.Assert;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -30,23 +32,29 @@ import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSEntityAssociation;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 
 public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
 
+    private static final Log log = Log.getLog(ExecuteInsertBatchImpl.class);
+
     private DBCSession session;
     private final DBCExecutionSource source;
     private DBSTable table;
     private boolean useUpsert;
     private boolean allNulls;
-    private boolean allColumnsDefault;
+    private boolean defaultValuesInsert;
+    private Boolean orderIndependentTable;
 
     /**
      * Constructs new batch
@@ -88,9 +96,56 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         return dbStat;
     }
 
+    @Override
+    protected boolean canReorderRows(Map<String, Object> options) {
+        if (!CommonUtils.toBoolean(options.get(DBSDataManipulator.OPTION_REORDER_ROWS))) {
+            return false;
+        }
+        // Upserts and replaces of the same key must be executed in original order
+        Object method = options.get(DBSDataManipulator.OPTION_INSERT_REPLACE_METHOD);
+        if (useUpsert || (method != null && method.getClass() != BaseInsertMethod.class)) {
+            return false;
+        }
+        if (orderIndependentTable == null) {
+            orderIndependentTable = isOrderIndependentTable(session.getProgressMonitor());
+        }
+        return orderIndependentTable;
+    }
+
+    /**
+     * Rows order matters for tables with generated keys (identity values follow insertion order)
+     * and for self-referencing tables (parent row must be inserted before its children).
+     */
+    private boolean isOrderIndependentTable(@NotNull DBRProgressMonitor monitor) {
+        try {
+            List<? extends DBSEntityAttribute> tableAttributes = table.getAttributes(monitor);
+            if (tableAttributes != null) {
+                for (DBSEntityAttribute attribute : tableAttributes) {
+                    if (attribute.isAutoGenerated()) {
+                        return false;
+                    }
+                }
+            }
+            Collection<? extends DBSEntityAssociation> associations = table.getAssociations(monitor);
+            if (associations != null) {
+                for (DBSEntityAssociation association : associations) {
+                    if (association.getAssociatedEntity() == table) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (DBException e) {
+            log.debug("Error reading table '" + table.getName() + "' metadata. Keep rows order.", e);
+            return false;
+        }
+    }
+
     @Override
     protected void bindStatement(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues) throws DBCException {
-        if (allColumnsDefault) {
+        // Statements for different null patterns may be open at once, so check nulls of this row
+        allNulls = isAllNulls(attributeValues);
+        if (allNulls && defaultValuesInsert) {
             // There is nothing to bind in this statement
             return;
         }
@@ -119,8 +174,6 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         boolean useMultiRowInsert,
         Map<String, Object> options) throws DBCException {
 
-        allColumnsDefault = false;
-        
         Assert.isLegal(attributes.length == handlers.length);
         Assert.isLegal(useMultiRowInsert || attributes.length == attributeValues.length);
 
@@ -141,16 +194,10 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         query.append(" ").append(tableName).append(" ("); //$NON-NLS-1$ //$NON-NLS-2$
 
 
-        allNulls = true;
-        for (int i = 0; i < attributes.length; i++) {
-            if (!DBUtils.isNullValue(attributeValues[i])) {
-                allNulls = false;
-                break;
-            }
-        }
+        allNulls = isAllNulls(attributeValues);
         DBPDataSource dataSource = session.getDataSource();
-        if (allNulls && !useMultiRowInsert && method instanceof BaseInsertMethod && !useUpsert && dataSource.getSQLDialect().supportsInsertAllDefaultValuesStatement()) {
-            allColumnsDefault = true;
+        defaultValuesInsert = !useMultiRowInsert && method instanceof BaseInsertMethod && !useUpsert && dataSource.getSQLDialect().supportsInsertAllDefaultValuesStatement();
+        if (allNulls && defaultValuesInsert) {
             query.setLength(0);
             query.append("INSERT INTO ").append(tableName).append(" DEFAULT VALUES");
             return query;
@@ -208,6 +255,15 @@ public class ExecuteInsertBatchImpl extends ExecuteBatchImpl {
         return query;
     }
 
+    private boolean isAllNulls(Object[] attributeValues) {
+        for (int i = 0; i < attributes.length; i++) {
+            if (!DBUtils.isNullValue(attributeValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean attributeHasDefaultValue(@NotNull DBSAttributeBase attribute) {
         if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
             return false;
@@ -0,0 +1,610 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCArrayImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCResultSetImpl;
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.navigator.DBNEvent;
+import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.cache.DBSObjectCache;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.SecurityUtils;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent snapshot of a single metadata cache query.
+ *
+ * Snapshot keeps raw catalog query results (not model objects) in the workspace metadata folder.
+ * Cache reads objects from snapshot with the same fetch code it uses for the live result set,
+ * so all model objects are constructed in the usual way.
+ * Restored snapshots are revalidated in background by comparing the change marker.
+ * <p>
+ * Rows are stored as plain typed values (no Java serialization). Arrays keep their items,
+ * driver specific values of other types (e.g. PostgreSQL xid) are stored in their string form.
+ */
+public class JDBCCacheSnapshot {
+
+    private static final Log log = Log.getLog(JDBCCacheSnapshot.class);
+
+    private static final int FORMAT_VERSION = 3;
+    private static final int MAX_COLUMN_COUNT = 10000;
+    private static final int MAX_VALUE_LENGTH = 128 * 1024 * 1024;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_BOOLEAN = 2;
+    private static final byte VALUE_BYTE = 3;
+    private static final byte VALUE_SHORT = 4;
+    private static final byte VALUE_INT = 5;
+    private static final byte VALUE_LONG = 6;
+    private static final byte VALUE_FLOAT = 7;
+    private static final byte VALUE_DOUBLE = 8;
+    private static final byte VALUE_DECIMAL = 9;
+    private static final byte VALUE_BIGINT = 10;
+    private static final byte VALUE_DATE = 11;
+    private static final byte VALUE_TIME = 12;
+    private static final byte VALUE_TIMESTAMP = 13;
+    private static final byte VALUE_BYTES = 14;
+    private static final byte VALUE_ARRAY = 15;
+    private static final String SNAPSHOTS_FOLDER = "metadata-snapshots";
+    private static final String SNAPSHOT_FILE_EXT = ".snapshot";
+    private static final String ROWSET_FACTORY_CLASS = "com.sun.rowset.RowSetFactoryImpl";
+
+    // Snapshot is restored only once per data source connection. Explicit cache refresh must read actual metadata.
+    private static final Map<DBPDataSource, Set<String>> openedSnapshots = new WeakHashMap<>();
+    // Snapshots which can't be saved. Change marker isn't read for them anymore.
+    private static final Map<DBPDataSource, Set<String>> unsupportedSnapshots = new WeakHashMap<>();
+
+    private final DBPDataSourceContainer container;
+    private final DBPDataSource dataSource;
+    private final Path snapshotFile;
+    private final String snapshotKey;
+    private final String changeMarker;
+    @Nullable
+    private final CachedRowSet restoredRows;
+    @Nullable
+    private Path capturedFile;
+
+    private JDBCCacheSnapshot(
+        @NotNull DBPDataSource dataSource,
+        @NotNull Path snapshotFile,
+        @NotNull String snapshotKey,
+        @NotNull String changeMarker,
+        @Nullable CachedRowSet restoredRows)
+    {
+        this.container = dataSource.getContainer();
+        this.dataSource = dataSource;
+        this.snapshotFile = snapshotFile;
+        this.snapshotKey = snapshotKey;
+        this.changeMarker = changeMarker;
+        this.restoredRows = restoredRows;
+    }
+
+    /**
+     * Opens snapshot for the specified cache.
+     * Returns null if cache doesn't support snapshots or snapshots are disabled for the data source.
+     *
+     * @param part cache part name. Caches may keep several snapshots (e.g. objects and children).
+     */
+    @Nullable
+    public static <OWNER extends DBSObject> JDBCCacheSnapshot open(
+        @NotNull JDBCSession session,
+        @NotNull DBSObjectCache<OWNER, ?> cache,
+        @NotNull OWNER owner,
+        @NotNull String part)
+    {
+        if (!(cache instanceof JDBCCacheSnapshotProvider) || !owner.isPersisted()) {
+            return null;
+        }
+        DBPDataSource dataSource = owner.getDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!container.getPreferenceStore().getBoolean(ModelPreferences.META_CACHE_SNAPSHOTS)) {
+            return null;
+        }
+        String snapshotKey = cache.getClass().getName() + "/" + DBUtils.getObjectFullId(owner) + "/" + part;
+        Path snapshotFile = getSnapshotFolder(container).resolve(SecurityUtils.makeDigest(snapshotKey) + SNAPSHOT_FILE_EXT);
+        synchronized (unsupportedSnapshots) {
+            Set<String> unsupported = unsupportedSnapshots.get(dataSource);
+            if (unsupported != null && unsupported.contains(snapshotKey)) {
+                return null;
+            }
+        }
+        boolean firstOpen;
+        synchronized (openedSnapshots) {
+            firstOpen = openedSnapshots.computeIfAbsent(dataSource, ds -> new HashSet<>()).add(snapshotKey);
+        }
+        if (firstOpen && Files.exists(snapshotFile)) {
+            JDBCCacheSnapshot snapshot = readSnapshot(dataSource, snapshotFile, snapshotKey);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+        try {
+            String changeMarker = readChangeMarker(session, (JDBCCacheSnapshotProvider<OWNER>) cache, owner);
+            if (changeMarker == null) {
+                return null;
+            }
+            return new JDBCCacheSnapshot(dataSource, snapshotFile, snapshotKey, changeMarker, null);
+        } catch (SQLException e) {
+            log.debug("Error reading metadata change marker for '" + snapshotKey + "'", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if objects may be read from the restored snapshot without querying the database
+     */
+    public boolean isRestored() {
+        return restoredRows != null;
+    }
+
+    /**
+     * Makes result set over the restored snapshot rows
+     */
+    @NotNull
+    public JDBCResultSet openResultSet(@NotNull JDBCSession session) throws SQLException {
+        if (restoredRows == null) {
+            throw new IllegalStateException("Snapshot '" + snapshotKey + "' wasn't restored");
+        }
+        return JDBCResultSetImpl.makeResultSet(session, null, restoredRows, "Metadata snapshot", true);
+    }
+
+    /**
+     * Reads entire live result set into the snapshot and returns result set over the captured rows.
+     * If result set can't be captured then statement is re-executed and its new result set is returned as is.
+     */
+    @Nullable
+    public JDBCResultSet capture(@NotNull JDBCSession session, @NotNull JDBCStatement dbStat, @Nullable JDBCResultSet dbResult)
+        throws SQLException
+    {
+        if (dbResult == null || dbResult.getOriginal() == null) {
+            return dbResult;
+        }
+        CachedRowSet rows;
+        try {
+            rows = createRowSetFactory().createCachedRowSet();
+            rows.populate(dbResult.getOriginal());
+        } catch (SQLException e) {
+            // Some driver specific values can't be cached. Read metadata in ordinary way
+            log.debug("Can't capture metadata snapshot '" + snapshotKey + "': " + e.getMessage());
+            markUnsupported();
+            dbResult.close();
+            dbStat.executeStatement();
+            return dbStat.getResultSet();
+        }
+        dbResult.close();
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(tempFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))))
+            {
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, snapshotKey);
+                writeString(out, changeMarker);
+                writeRows(out, rows);
+            }
+            capturedFile = tempFile;
+        } catch (Exception e) {
+            log.debug("Can't save metadata snapshot '" + snapshotKey + "': " + e.getMessage());
+            markUnsupported();
+            deleteFile(tempFile);
+        }
+        rows.beforeFirst();
+        return JDBCResultSetImpl.makeResultSet(session, dbStat, rows, "Metadata snapshot", true);
+    }
+
+    /**
+     * Finishes cache loading.
+     * Saves captured snapshot or schedules revalidation of the restored one.
+     */
+    public <OWNER extends DBSObject> void commit(@NotNull DBSObjectCache<OWNER, ?> cache, @NotNull OWNER owner) {
+        if (restoredRows != null) {
+            new RevalidateJob<>(cache, owner).schedule();
+        } else if (capturedFile != null) {
+            try {
+                Files.move(capturedFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.debug("Can't save metadata snapshot '" + snapshotKey + "'", e);
+                deleteFile(capturedFile);
+            }
+            capturedFile = null;
+        }
+    }
+
+    /**
+     * Drops captured data. Must be called if cache read was canceled or failed.
+     */
+    public void discard() {
+        if (capturedFile != null) {
+            deleteFile(capturedFile);
+            capturedFile = null;
+        }
+    }
+
+    private void markUnsupported() {
+        synchronized (unsupportedSnapshots) {
+            unsupportedSnapshots.computeIfAbsent(dataSource, ds -> new HashSet<>()).add(snapshotKey);
+        }
+    }
+
+    @NotNull
+    private static Path getSnapshotFolder(@NotNull DBPDataSourceContainer container) {
+        // Workspace metadata is local. Project metadata may be shared in VCS.
+        return container.getProject().getWorkspace().getMetadataFolder()
+            .resolve(SNAPSHOTS_FOLDER)
+            .resolve(CommonUtils.escapeFileName(container.getProject().getName()))
+            .resolve(CommonUtils.escapeFileName(container.getId()));
+    }
+
+    @Nullable
+    private static JDBCCacheSnapshot readSnapshot(
+        @NotNull DBPDataSource dataSource,
+        @NotNull Path snapshotFile,
+        @NotNull String snapshotKey)
+    {
+        try (DataInputStream in = new DataInputStream(
+            new GZIPInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))))
+        {
+            if (in.readInt() != FORMAT_VERSION || !snapshotKey.equals(readString(in))) {
+                deleteFile(snapshotFile);
+                return null;
+            }
+            String changeMarker = readString(in);
+            CachedRowSet rows = readRows(in);
+            return new JDBCCacheSnapshot(dataSource, snapshotFile, snapshotKey, changeMarker, rows);
+        } catch (Exception e) {
+            log.debug("Can't read metadata snapshot '" + snapshotKey + "': " + e.getMessage());
+            deleteFile(snapshotFile);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static <OWNER extends DBSObject> String readChangeMarker(
+        @NotNull JDBCSession session,
+        @NotNull JDBCCacheSnapshotProvider<OWNER> provider,
+        @NotNull OWNER owner) throws SQLException
+    {
+        try (JDBCStatement dbStat = provider.prepareChangeMarkerStatement(session, owner)) {
+            if (dbStat == null) {
+                return null;
+            }
+            dbStat.executeStatement();
+            try (JDBCResultSet dbResult = dbStat.getResultSet()) {
+                if (dbResult != null && dbResult.next()) {
+                    return CommonUtils.notEmpty(dbResult.getString(1));
+                }
+            }
+        }
+        return null;
+    }
+
+    static void writeRows(@NotNull DataOutputStream out, @NotNull CachedRowSet rows) throws SQLException, IOException {
+        ResultSetMetaData meta = rows.getMetaData();
+        int columnCount = meta.getColumnCount();
+        out.writeInt(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            writeString(out, meta.getColumnName(i));
+            writeString(out, meta.getColumnLabel(i));
+            out.writeInt(meta.getColumnType(i));
+            writeString(out, meta.getColumnTypeName(i));
+            out.writeInt(meta.getPrecision(i));
+            out.writeInt(meta.getScale(i));
+            out.writeInt(meta.isNullable(i));
+        }
+        out.writeInt(rows.size());
+        rows.beforeFirst();
+        while (rows.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                writeValue(out, rows.getObject(i));
+            }
+        }
+    }
+
+    @NotNull
+    static CachedRowSet readRows(@NotNull DataInputStream in) throws SQLException, IOException {
+        int columnCount = in.readInt();
+        if (columnCount <= 0 || columnCount > MAX_COLUMN_COUNT) {
+            throw new IOException("Bad column count: " + columnCount);
+        }
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            meta.setColumnName(i, readString(in));
+            meta.setColumnLabel(i, readString(in));
+            meta.setColumnType(i, in.readInt());
+            meta.setColumnTypeName(i, readString(in));
+            meta.setPrecision(i, Math.max(0, in.readInt()));
+            meta.setScale(i, Math.max(0, in.readInt()));
+            meta.setNullable(i, in.readInt());
+        }
+        int rowCount = in.readInt();
+        if (rowCount < 0) {
+            throw new IOException("Bad row count: " + rowCount);
+        }
+        CachedRowSet rows = createRowSetFactory().createCachedRowSet();
+        rows.setMetaData(meta);
+        for (int row = 0; row < rowCount; row++) {
+            rows.moveToInsertRow();
+            for (int i = 1; i <= columnCount; i++) {
+                Object value = readValue(in);
+                if (value == null) {
+                    rows.updateNull(i);
+                } else {
+                    rows.updateObject(i, value);
+                }
+            }
+            rows.insertRow();
+        }
+        rows.moveToCurrentRow();
+        return rows;
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws SQLException, IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(VALUE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(VALUE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(VALUE_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(VALUE_BIGINT);
+            writeString(out, value.toString());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(VALUE_DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof Time) {
+            out.writeByte(VALUE_TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value instanceof Timestamp) {
+            out.writeByte(VALUE_TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof byte[]) {
+            out.writeByte(VALUE_BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof java.sql.Array) {
+            java.sql.Array array = (java.sql.Array) value;
+            Object items = array.getArray();
+            if (!(items instanceof Object[])) {
+                throw new IOException("Unsupported array type: " + (items == null ? null : items.getClass().getName()));
+            }
+            out.writeByte(VALUE_ARRAY);
+            writeString(out, array.getBaseTypeName());
+            out.writeInt(array.getBaseType());
+            out.writeInt(((Object[]) items).length);
+            for (Object item : (Object[]) items) {
+                writeValue(out, item);
+            }
+        } else {
+            // Driver specific value (e.g. PGobject). Fetch code reads such values as strings
+            out.writeByte(VALUE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    @Nullable
+    private static Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(in);
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_BYTE:
+                return in.readByte();
+            case VALUE_SHORT:
+                return in.readShort();
+            case VALUE_INT:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_FLOAT:
+                return in.readFloat();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_DECIMAL:
+                return new BigDecimal(readString(in));
+            case VALUE_BIGINT:
+                return new BigInteger(readString(in));
+            case VALUE_DATE:
+                return new java.sql.Date(in.readLong());
+            case VALUE_TIME:
+                return new Time(in.readLong());
+            case VALUE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            }
+            case VALUE_BYTES:
+                return readBytes(in);
+            case VALUE_ARRAY: {
+                String typeName = readString(in);
+                int baseType = in.readInt();
+                int length = in.readInt();
+                if (length < 0 || length > MAX_VALUE_LENGTH) {
+                    throw new IOException("Bad array length: " + length);
+                }
+                Object[] items = new Object[length];
+                for (int i = 0; i < length; i++) {
+                    items[i] = readValue(in);
+                }
+                return new JDBCArrayImpl(typeName, baseType, items);
+            }
+            default:
+                throw new IOException("Bad value type: " + type);
+        }
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    private static byte[] readBytes(@NotNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_VALUE_LENGTH) {
+            throw new IOException("Bad value length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @NotNull
+    private static RowSetFactory createRowSetFactory() throws SQLException {
+        // Use explicit factory class to avoid service lookup in the bundle context class loader
+        return RowSetProvider.newFactory(ROWSET_FACTORY_CLASS, RowSetFactory.class.getClassLoader());
+    }
+
+    private static void deleteFile(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Can't delete metadata snapshot file '" + file + "'", e);
+        }
+    }
+
+    private class RevalidateJob<OWNER extends DBSObject> extends AbstractJob {
+        private final DBSObjectCache<OWNER, ?> cache;
+        private final OWNER owner;
+
+        RevalidateJob(@NotNull DBSObjectCache<OWNER, ?> cache, @NotNull OWNER owner) {
+            super("Revalidate metadata snapshot of " + owner.getName());
+            this.cache = cache;
+            this.owner = owner;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            DBPDataSource dataSource = owner.getDataSource();
+            if (dataSource == null || !container.isConnected()) {
+                return Status.OK_STATUS;
+            }
+            String actualMarker;
+            try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Read metadata change marker")) {
+                actualMarker = readChangeMarker(session, (JDBCCacheSnapshotProvider<OWNER>) cache, owner);
+            } catch (Exception e) {
+                log.debug("Error revalidating metadata snapshot '" + snapshotKey + "'", e);
+                return Status.OK_STATUS;
+            }
+            if (!CommonUtils.equalObjects(actualMarker, changeMarker)) {
+                log.debug("Metadata snapshot '" + snapshotKey + "' is outdated. Reload cache.");
+                deleteFile(snapshotFile);
+                DBNDatabaseNode ownerNode = DBNUtils.getNodeByObject(owner);
+                if (ownerNode == null) {
+                    // Not shown in navigator yet
+                    cache.clearCache();
+                } else {
+                    // Reload cache and children of already expanded nodes
+                    try {
+                        ownerNode.refreshNode(monitor, DBNEvent.FORCE_REFRESH);
+                    } catch (Exception e) {
+                        log.debug("Error refreshing '" + owner.getName() + "' after metadata snapshot revalidation", e);
+                    }
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.sql.SQLException;
+
+/**
+ * JDBC cache which supports persistent metadata snapshots.
+ * Caches implementing this interface keep a copy of the catalog query results on the local disk.
+ * On the next connect objects are rehydrated from the snapshot and then revalidated in background
+ * using the change marker.
+ */
+public interface JDBCCacheSnapshotProvider<OWNER extends DBSObject> {
+
+    /**
+     * Prepares query which returns a single value which changes whenever the cached metadata changes
+     * (e.g. max DDL time or max system catalog transaction id).
+     * Returns null if change markers are not supported. In this case snapshots are not used.
+     */
+    @Nullable
+    JDBCStatement prepareChangeMarkerStatement(@NotNull JDBCSession session, @NotNull OWNER owner)
+        throws SQLException;
+
+}
@@ -283,13 +283,27 @@ public abstract class JDBCCompositeCache<
         DBPDataSource dataSource = owner.getDataSource();
         assert (dataSource != null);
         monitor.beginTask("Load composite cache", 1);
+        JDBCCacheSnapshot snapshot = null;
+        boolean readFinished = false;
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load composite objects")) {
 
-            JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
-            dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+            if (forParent == null) {
+                snapshot = JDBCCacheSnapshot.open(session, this, owner, "objects");
+            }
+            boolean restored = snapshot != null && snapshot.isRestored();
+            JDBCStatement dbStat = restored ? null : prepareObjectsStatement(session, owner, forParent);
             try {
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+                JDBCResultSet dbResult;
+                if (restored) {
+                    dbResult = snapshot.openResultSet(session);
+                } else {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                    if (snapshot != null) {
+                        dbResult = snapshot.capture(session, dbStat, dbResult);
+                    }
+                }
                 if (dbResult != null) try {
                     while (dbResult.next()) {
                         if (monitor.isCanceled()) {
@@ -367,9 +381,12 @@ public abstract class JDBCCompositeCache<
                 finally {
                     dbResult.close();
                 }
+                readFinished = true;
             }
             finally {
-                dbStat.close();
+                if (dbStat != null) {
+                    dbStat.close();
+                }
             }
         }
         catch (SQLException ex) {
@@ -380,10 +397,17 @@ public abstract class JDBCCompositeCache<
             }
         }
         finally {
+            if (snapshot != null && !readFinished) {
+                snapshot.discard();
+                snapshot = null;
+            }
             monitor.done();
         }
 
         if (monitor.isCanceled()) {
+            if (snapshot != null) {
+                snapshot.discard();
+            }
             return;
         }
 
@@ -458,6 +482,9 @@ public abstract class JDBCCompositeCache<
             }
         }
 
+        if (snapshot != null) {
+            snapshot.commit(this, owner);
+        }
     }
 
     protected String getDefaultObjectName(JDBCResultSet dbResult, String parentName) {
@@ -98,38 +98,31 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         if (dataSource == null) {
             throw new DBException(ModelMessages.error_not_connected_to_database);
         }
+        JDBCCacheSnapshot snapshot = null;
         if (owner.isPersisted()) {
             // Load cache from database only for persisted objects
             try {
                 try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
                     beforeCacheLoading(session, owner);
-                    try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
-                        monitor.subTask("Load " + getCacheName());
-                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                        dbStat.executeStatement();
-                        JDBCResultSet dbResult = dbStat.getResultSet();
-                        if (dbResult != null) {
-                            try {
-                                while (dbResult.next()) {
-                                    if (monitor.isCanceled()) {
-                                        return;
-                                    }
-
-                                    OBJECT object = fetchObject(session, owner, dbResult);
-                                    if (object == null || !isValidObject(monitor, owner, object)) {
-                                        continue;
-                                    }
-                                    tmpObjectList.add(object);
-
-                                    // Do not log every object load. This overheats UI in case of long lists
-                                    //monitor.subTask(object.getName());
-                                    if (tmpObjectList.size() == maximumCacheSize) {
-                                        log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
-                                        break;
-                                    }
+                    try {
+                        snapshot = JDBCCacheSnapshot.open(session, this, owner, "objects");
+                        if (snapshot != null && snapshot.isRestored()) {
+                            monitor.subTask("Load " + getCacheName() + " from snapshot");
+                            if (!fetchObjects(monitor, session, owner, snapshot.openResultSet(session), tmpObjectList)) {
+                                return;
+                            }
+                        } else {
+                            try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                                monitor.subTask("Load " + getCacheName());
+                                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                                dbStat.executeStatement();
+                                JDBCResultSet dbResult = dbStat.getResultSet();
+                                if (snapshot != null) {
+                                    dbResult = snapshot.capture(session, dbStat, dbResult);
+                                }
+                                if (dbResult != null && !fetchObjects(monitor, session, owner, dbResult, tmpObjectList)) {
+                                    return;
                                 }
-                            } finally {
-                                dbResult.close();
                             }
                         }
                     } finally {
@@ -143,9 +136,18 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
                     throw new DBException("Internal driver error", ex);
                 }
             } catch (Exception e) {
+                if (snapshot != null) {
+                    snapshot.discard();
+                    snapshot = null;
+                }
                 if (!handleCacheReadError(e)) {
                     throw e;
                 }
+            } finally {
+                if (snapshot != null && monitor.isCanceled()) {
+                    snapshot.discard();
+                    snapshot = null;
+                }
             }
         }
 
@@ -159,6 +161,38 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         detectCaseSensitivity(owner);
         mergeCache(tmpObjectList);
         this.invalidateObjects(monitor, owner, new CacheIterator());
+
+        if (snapshot != null) {
+            snapshot.commit(this, owner);
+        }
+    }
+
+    private boolean fetchObjects(DBRProgressMonitor monitor, JDBCSession session, OWNER owner, JDBCResultSet dbResult, List<OBJECT> objectList)
+        throws SQLException, DBException
+    {
+        try {
+            while (dbResult.next()) {
+                if (monitor.isCanceled()) {
+                    return false;
+                }
+
+                OBJECT object = fetchObject(session, owner, dbResult);
+                if (object == null || !isValidObject(monitor, owner, object)) {
+                    continue;
+                }
+                objectList.add(object);
+
+                // Do not log every object load. This overheats UI in case of long lists
+                //monitor.subTask(object.getName());
+                if (objectList.size() == maximumCacheSize) {
+                    log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
+                    break;
+                }
+            }
+        } finally {
+            dbResult.close();
+        }
+        return true;
     }
 
     public void beforeCacheLoading(JDBCSession session, OWNER owner) throws DBException {
@@ -93,10 +93,21 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
 
             // Load columns
-            try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
-                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
+            JDBCCacheSnapshot snapshot = forObject == null ? JDBCCacheSnapshot.open(session, this, owner, "children") : null;
+            boolean restored = snapshot != null && snapshot.isRestored();
+            boolean loaded = false;
+            try (JDBCStatement dbStat = restored ? null : prepareChildrenStatement(session, owner, forObject)) {
+                JDBCResultSet dbResult;
+                if (restored) {
+                    dbResult = snapshot.openResultSet(session);
+                } else {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    dbResult = dbStat.getResultSet();
+                    if (snapshot != null) {
+                        dbResult = snapshot.capture(session, dbStat, dbResult);
+                    }
+                }
                 if (dbResult != null) {
                     try {
                         while (dbResult.next()) {
@@ -168,10 +179,19 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
                         } else if (!objectMap.containsKey(forObject)) {
                             cacheChildren(forObject, new ArrayList<>());
                         }
+                        loaded = true;
                     } finally {
                         dbResult.close();
                     }
                 }
+            } finally {
+                if (snapshot != null) {
+                    if (loaded) {
+                        snapshot.commit(this, owner);
+                    } else {
+                        snapshot.discard();
+                    }
+                }
             }
         } catch (SQLException ex) {
             throw new DBException(ex, dataSource);
@@ -269,4 +289,4 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.model.impl.jdbc.data.handlers;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.data.DBDValueReader;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -56,6 +57,23 @@ public abstract class JDBCAbstractValueHandler extends BaseValueHandler {
         }
     }
 
+    @NotNull
+    @Override
+    public DBDValueReader createValueReader(@NotNull DBCResultSet resultSet, @NotNull DBSTypedObject type, int index) {
+        if (!(resultSet instanceof JDBCResultSet)) {
+            return super.createValueReader(resultSet, type, index);
+        }
+        // JDBC uses 1-based indexes
+        final int columnIndex = index + 1;
+        return (session, rs) -> {
+            try {
+                return fetchColumnValue(session, (JDBCResultSet) rs, type, columnIndex);
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getExecutionContext());
+            }
+        };
+    }
+
     @Override
     public final void bindValueObject(@NotNull DBCSession session, @NotNull DBCStatement statement, @NotNull DBSTypedObject columnMetaData,
                                       int index, Object value) throws DBCException {
@@ -90,4 +108,4 @@ public abstract class JDBCAbstractValueHandler extends BaseValueHandler {
         Object value)
         throws DBCException, SQLException;
 
-}
\ No newline at end of file
+}
\ No newline at end of file
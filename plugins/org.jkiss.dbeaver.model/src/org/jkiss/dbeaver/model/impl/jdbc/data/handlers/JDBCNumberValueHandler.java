@@ -105,6 +105,28 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         return formatter;
     }
 
+    /**
+     * Reads INTEGER, SMALLINT or TINYINT value. Caller must check wasNull.
+     */
+    @Nullable
+    private static Object getIntegerValue(@NotNull JDBCResultSet resultSet, int typeId, int index) throws SQLException {
+        try {
+            switch (typeId) {
+                case Types.INTEGER:
+                    // Read value with maximum precision. Some drivers reports INTEGER but means long [JDBC:SQLite]
+                    return resultSet.getLong(index);
+                case Types.SMALLINT:
+                    // Read int in case of unsigned shorts
+                    return resultSet.getInt(index);
+                default:
+                    // Read short in case of unsigned byte
+                    return resultSet.getShort(index);
+            }
+        } catch (SQLException | ClassCastException | NumberFormatException e) {
+            return resultSet.getObject(index);
+        }
+    }
+
     @Nullable
     @Override
     protected Object fetchColumnValue(
@@ -117,28 +139,9 @@ public class JDBCNumberValueHandler extends JDBCAbstractValueHandler implements
         Object value;
         switch (type.getTypeID()) {
             case Types.INTEGER:
-                try {
-                    // Read value with maximum precision. Some drivers reports INTEGER but means long [JDBC:SQLite]
-                    value = resultSet.getLong(index);
-                } catch (SQLException | ClassCastException | NumberFormatException e) {
-                    value = resultSet.getObject(index);
-                }
-                break;
             case Types.SMALLINT:
-                try {
-                    // Read int in case of unsigned shorts
-                    value = resultSet.getInt(index);
-                } catch (SQLException | ClassCastException | NumberFormatException e) {
-                    value = resultSet.getObject(index);
-                }
-                break;
             case Types.TINYINT:
-                try {
-                    // Read short in case of unsigned byte
-                    value = resultSet.getShort(index);
-                } catch (SQLException | ClassCastException | NumberFormatException e) {
-                    value = resultSet.getObject(index);
-                }
+                value = getIntegerValue(resultSet, type.getTypeID(), index);
                 break;
             case Types.BIT:
                 if (CommonUtils.toInt(type.getPrecision()) <= 1) {
@@ -47,6 +47,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -110,11 +111,24 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     @Override
     public String[] getSupportedFeatures()
     {
+        String[] features;
         if (isTruncateSupported()) {
-            return new String[] {FEATURE_DATA_COUNT, FEATURE_DATA_FILTER, FEATURE_DATA_SEARCH, FEATURE_DATA_INSERT, FEATURE_DATA_UPDATE, FEATURE_DATA_DELETE, FEATURE_DATA_TRUNCATE};
+            features = new String[] {FEATURE_DATA_COUNT, FEATURE_DATA_FILTER, FEATURE_DATA_SEARCH, FEATURE_DATA_INSERT, FEATURE_DATA_UPDATE, FEATURE_DATA_DELETE, FEATURE_DATA_TRUNCATE};
         } else {
-            return new String[] {FEATURE_DATA_COUNT, FEATURE_DATA_FILTER, FEATURE_DATA_SEARCH, FEATURE_DATA_INSERT, FEATURE_DATA_UPDATE, FEATURE_DATA_DELETE};
+            features = new String[] {FEATURE_DATA_COUNT, FEATURE_DATA_FILTER, FEATURE_DATA_SEARCH, FEATURE_DATA_INSERT, FEATURE_DATA_UPDATE, FEATURE_DATA_DELETE};
         }
+        if (isKeysetPaginationSupported()) {
+            features = ArrayUtils.add(String.class, features, FEATURE_DATA_KEYSET_PAGINATION);
+        }
+        return features;
+    }
+
+    /**
+     * Keyset pagination is implemented by {@link #readData}.
+     * Tables which override readData and read data in some other way must return false.
+     */
+    protected boolean isKeysetPaginationSupported() {
+        return true;
     }
 
     ////////////////////////////////////////////////////////////////////
@@ -152,6 +166,18 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             rowIdAttribute = null;
         }
 
+        // Keyset pagination: continue after the last fetched key instead of skipping rows with OFFSET.
+        // Custom ordering can't be combined with it, so in that case we fall back to offset.
+        DBDKeysetPosition keysetPosition = null;
+        List<? extends DBSEntityAttribute> keysetAttributes = null;
+        if ((flags & FLAG_KEYSET_PAGINATION) != 0 && dataFilter != null && dataFilter.getKeysetPosition() != null && !dataFilter.hasOrdering()) {
+            keysetAttributes = getKeysetAttributes(monitor);
+            if (!keysetAttributes.isEmpty()) {
+                keysetPosition = dataFilter.getKeysetPosition();
+                firstRow = 0;
+            }
+        }
+
         StringBuilder query = new StringBuilder(100);
         query.append("SELECT ");
         appendSelectSource(monitor, query, tableAlias, rowIdAttribute);
@@ -159,8 +185,14 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         if (tableAlias != null) {
             query.append(" ").append(tableAlias); //$NON-NLS-1$
         }
-        SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
-        SQLUtils.appendQueryOrder(dataSource, query, tableAlias, dataFilter);
+        // Positions of key attributes bound as keyset condition parameters
+        List<Integer> keysetParameters = null;
+        if (keysetPosition != null) {
+            keysetParameters = appendKeysetConditions(dataSource, query, tableAlias, dataFilter, keysetAttributes, keysetPosition);
+        } else {
+            SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
+            SQLUtils.appendQueryOrder(dataSource, query, tableAlias, dataFilter);
+        }
 
         String sqlQuery = query.toString();
         statistics.setQueryText(sqlQuery);
@@ -170,7 +202,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         try (DBCStatement dbStat = DBUtils.makeStatement(
             source,
             session,
-            DBCStatementType.SCRIPT,
+            CommonUtils.isEmpty(keysetParameters) ? DBCStatementType.SCRIPT : DBCStatementType.QUERY,
             sqlQuery,
             firstRow,
             maxRows))
@@ -178,6 +210,15 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (monitor.isCanceled()) {
                 return statistics;
             }
+            if (!CommonUtils.isEmpty(keysetParameters)) {
+                // Bind last key values as is. Literals may lose precision (e.g. fractional seconds)
+                Object[] lastKeyValues = keysetPosition.getLastKeyValues();
+                for (int i = 0; i < keysetParameters.size(); i++) {
+                    DBSEntityAttribute keyAttr = keysetAttributes.get(keysetParameters.get(i));
+                    DBUtils.findValueHandler(session, keyAttr).bindValueObject(
+                        session, dbStat, keyAttr, i, lastKeyValues[keysetParameters.get(i)]);
+                }
+            }
             if (dbStat instanceof JDBCStatement && (fetchSize > 0 || maxRows > 0)) {
                 DBExecUtils.setStatementFetchSize(dbStat, firstRow, maxRows, fetchSize);
             }
@@ -191,6 +232,17 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                     try {
                         dataReceiver.fetchStart(session, dbResult, firstRow, maxRows);
 
+                        int[] keyIndexes = null;
+                        DBDValueHandler[] keyHandlers = null;
+                        Object[] lastKeyValues = null;
+                        if (keysetPosition != null) {
+                            keyIndexes = getKeysetIndexes(monitor, dbResult, keysetAttributes);
+                            keyHandlers = new DBDValueHandler[keyIndexes.length];
+                            for (int i = 0; i < keyIndexes.length; i++) {
+                                keyHandlers[i] = DBUtils.findValueHandler(session, keysetAttributes.get(i));
+                            }
+                        }
+
                         DBFetchProgress fetchProgress = new DBFetchProgress(session.getProgressMonitor());
                         while (dbResult.nextRow()) {
                             if (fetchProgress.isCanceled() || (hasLimits && fetchProgress.isMaxRowsFetched(maxRows))) {
@@ -198,8 +250,19 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                                 break;
                             }
                             dataReceiver.fetchRow(session, dbResult);
+                            if (keyIndexes != null) {
+                                if (lastKeyValues == null) {
+                                    lastKeyValues = new Object[keyIndexes.length];
+                                }
+                                for (int i = 0; i < keyIndexes.length; i++) {
+                                    lastKeyValues[i] = keyHandlers[i].fetchValueObject(session, dbResult, keysetAttributes.get(i), keyIndexes[i]);
+                                }
+                            }
                             fetchProgress.monitorRowFetch();
                         }
+                        if (lastKeyValues != null) {
+                            keysetPosition.setLastKeyValues(lastKeyValues);
+                        }
                         fetchProgress.dumpStatistics(statistics);
                     } finally {
                         // First - close cursor
@@ -223,6 +286,129 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         }
     }
 
+    /**
+     * Returns unique key attributes which can be used for keyset pagination.
+     * Empty list means that keyset pagination isn't possible for this table.
+     */
+    @NotNull
+    protected List<? extends DBSEntityAttribute> getKeysetAttributes(@NotNull DBRProgressMonitor monitor) {
+        List<? extends DBSEntityAttribute> keyAttributes;
+        try {
+            keyAttributes = DBUtils.getBestTableIdentifier(monitor, this);
+        } catch (DBException e) {
+            log.debug("Error reading table unique key", e);
+            return Collections.emptyList();
+        }
+        for (DBSEntityAttribute attr : keyAttributes) {
+            if (!attr.isRequired()) {
+                return Collections.emptyList();
+            }
+            switch (attr.getDataKind()) {
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                case BOOLEAN:
+                    break;
+                default:
+                    // Can't compare LOBs and complex values
+                    return Collections.emptyList();
+            }
+        }
+        return keyAttributes;
+    }
+
+    /**
+     * Appends filter conditions plus keyset condition and ordering by key.
+     * Keyset condition is expanded to (k1 > v1) OR (k1 = v1 AND k2 > v2) ... because
+     * row value comparison isn't supported by all databases.
+     * Key values are added as parameters, returns key attribute positions in parameters order.
+     */
+    @NotNull
+    private List<Integer> appendKeysetConditions(
+        @NotNull DBPDataSource dataSource,
+        @NotNull StringBuilder query,
+        @Nullable String tableAlias,
+        @NotNull DBDDataFilter dataFilter,
+        @NotNull List<? extends DBSEntityAttribute> keyAttributes,
+        @NotNull DBDKeysetPosition keysetPosition)
+    {
+        String[] keyNames = new String[keyAttributes.size()];
+        for (int i = 0; i < keyNames.length; i++) {
+            keyNames[i] = DBUtils.getQuotedIdentifier(keyAttributes.get(i));
+            if (tableAlias != null) {
+                keyNames[i] = tableAlias + "." + keyNames[i];
+            }
+        }
+        Object[] lastKeyValues = keysetPosition.getLastKeyValues();
+        List<Integer> parameters = new ArrayList<>();
+        boolean hasConditions = dataFilter.hasConditions();
+        if (hasConditions || lastKeyValues != null) {
+            query.append("\nWHERE "); //$NON-NLS-1$
+        }
+        if (hasConditions) {
+            query.append('(');
+            SQLUtils.appendConditionString(dataFilter, dataSource, tableAlias, query, true);
+            query.append(')');
+        }
+        if (lastKeyValues != null) {
+            if (hasConditions) {
+                query.append(" AND ");
+            }
+            query.append('(');
+            for (int i = 0; i < keyNames.length; i++) {
+                if (i > 0) {
+                    query.append(" OR ");
+                }
+                query.append('(');
+                for (int k = 0; k < i; k++) {
+                    query.append(keyNames[k]).append("=? AND ");
+                    parameters.add(k);
+                }
+                query.append(keyNames[i]).append(">?");
+                parameters.add(i);
+                query.append(')');
+            }
+            query.append(')');
+        }
+        query.append("\nORDER BY ").append(String.join(",", keyNames)); //$NON-NLS-1$
+        return parameters;
+    }
+
+    /**
+     * Returns result set positions of key attributes.
+     * Select source starts with all visible table columns in the table order (see {@link #appendSelectSource}),
+     * so position of the key column is its position among visible table attributes.
+     */
+    private int[] getKeysetIndexes(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCResultSet dbResult,
+        @NotNull List<? extends DBSEntityAttribute> keyAttributes) throws DBCException
+    {
+        List<DBSEntityAttribute> selectedAttributes = new ArrayList<>();
+        try {
+            for (DBSEntityAttribute attr : CommonUtils.safeCollection(getAttributes(monitor))) {
+                if (!DBUtils.isHiddenObject(attr)) {
+                    selectedAttributes.add(attr);
+                }
+            }
+        } catch (DBException e) {
+            throw new DBCException("Error reading table columns", e);
+        }
+        List<DBCAttributeMetaData> metaAttributes = dbResult.getMeta().getAttributes();
+        int[] indexes = new int[keyAttributes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            DBSEntityAttribute keyAttr = keyAttributes.get(i);
+            indexes[i] = selectedAttributes.indexOf(keyAttr);
+            // Driver may report names in other case, so name is only a sanity check
+            if (indexes[i] < 0 || indexes[i] >= metaAttributes.size() ||
+                !metaAttributes.get(indexes[i]).getName().equalsIgnoreCase(keyAttr.getName()))
+            {
+                throw new DBCException("Key column '" + keyAttr.getName() + "' not found in result set");
+            }
+        }
+        return indexes;
+    }
+
     protected void appendSelectSource(DBRProgressMonitor monitor, StringBuilder query, String tableAlias, DBDPseudoAttribute rowIdAttribute) {
         if (rowIdAttribute != null) {
             // If we have pseudo attributes then query gonna be more complex
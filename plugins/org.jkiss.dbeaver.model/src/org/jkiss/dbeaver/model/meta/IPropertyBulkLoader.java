@@ -0,0 +1,36 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.meta;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Collection;
+
+/**
+ * Loads lazy property of many objects at once (e.g. with one query for all tables of a schema).
+ * Loaded values must be cached in objects, so that subsequent reads of the property don't access the database.
+ */
+public interface IPropertyBulkLoader<OBJECT_TYPE> {
+
+    /**
+     * Loads property values of the specified objects.
+     * Objects which can't be processed must be left as is, their property will be read one by one.
+     */
+    void loadProperty(DBRProgressMonitor monitor, Collection<OBJECT_TYPE> objects, Object propertyId) throws DBException;
+
+}
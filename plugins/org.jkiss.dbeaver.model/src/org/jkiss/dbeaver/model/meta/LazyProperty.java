@@ -30,4 +30,9 @@ public @interface LazyProperty {
 
     Class<? extends IPropertyCacheValidator> cacheValidator();
 
+    /**
+     * Loader of property values for multiple objects. Used by object lists to avoid per-object queries.
+     */
+    Class<? extends IPropertyBulkLoader> bulkLoader() default IPropertyBulkLoader.class;
+
 }
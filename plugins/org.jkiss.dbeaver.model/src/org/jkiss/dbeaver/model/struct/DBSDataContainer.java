@@ -41,12 +41,18 @@ public interface DBSDataContainer extends DBSObject {
     String FEATURE_DATA_SEARCH = "data.search";
     String FEATURE_KEY_VALUE = "data.key.value";
     String FEATURE_DATA_MODIFIED_ON_REFRESH = "data.modifying";
+    String FEATURE_DATA_KEYSET_PAGINATION = "data.keyset";
 
     long FLAG_NONE                  = 0;
     long FLAG_READ_PSEUDO           = 1 << 1;
     long FLAG_USE_SELECTED_ROWS     = 1 << 2;
     long FLAG_USE_SELECTED_COLUMNS  = 1 << 3;
     long FLAG_FETCH_SEGMENT         = 1 << 4;
+    /**
+     * Read next page after the keyset position of data filter instead of row offset.
+     * Supported only by containers with {@link #FEATURE_DATA_KEYSET_PAGINATION}.
+     */
+    long FLAG_KEYSET_PAGINATION     = 1 << 5;
     long FLAG_REFRESH               = 1 << 8;
 
     @Nullable
@@ -63,7 +69,9 @@ public interface DBSDataContainer extends DBSObject {
     }
 
     /**
-     * Reads data from container and pushes it into receiver
+     * Reads data from container and pushes it into receiver.
+     * If {@link #FLAG_KEYSET_PAGINATION} is set and data filter has keyset position then container may
+     * continue read after the last fetched key (and ignore firstRow). Position is updated after fetch.
      *
      * @param source       source
      * @param session source
@@ -49,6 +49,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     // Use this monitor to void entire cache object locking
     private final Object cacheSync = new Object();
 
+    // Copy-on-write mode. Readers use immutable snapshot and do not lock cache.
+    private volatile boolean copyOnWrite = false;
+    // Null if cache was modified after the last snapshot
+    private volatile CacheSnapshot<OBJECT> snapshot;
+
     protected AbstractObjectCache() {
     }
 
@@ -56,9 +61,30 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         return cacheSync;
     }
 
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
+    /**
+     * Enables copy-on-write mode. Disabled by default.
+     * In this mode cached objects are read from an immutable snapshot without locking.
+     * Modifications only drop the snapshot, the first reader after them builds a new one under the cache lock.
+     * So a series of modifications costs a single copy.
+     * Lists returned by {@link #getCachedObjects()} are unmodifiable in this mode.
+     */
+    public void setCopyOnWrite(boolean copyOnWrite) {
+        synchronized (cacheSync) {
+            this.snapshot = null;
+            this.copyOnWrite = copyOnWrite;
+        }
+    }
+
     public void setCaseSensitive(boolean caseSensitive)
     {
-        this.caseSensitive = caseSensitive;
+        synchronized (cacheSync) {
+            this.caseSensitive = caseSensitive;
+            invalidateSnapshot();
+        }
     }
 
     public Comparator<OBJECT> getListOrderComparator()
@@ -75,6 +101,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
+        if (copyOnWrite) {
+            return getSnapshot().objects;
+        }
         synchronized (cacheSync) {
             return objectList == null ? Collections.emptyList() : objectList;
         }
@@ -96,12 +125,22 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
+        if (copyOnWrite) {
+            if (name == null) {
+                return null;
+            }
+            CacheSnapshot<OBJECT> cacheSnapshot = getSnapshot();
+            return cacheSnapshot.objectMap.get(cacheSnapshot.caseSensitive ? name : name.toUpperCase());
+        }
         synchronized (cacheSync) {
             return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
         }
     }
 
     public int getCacheSize() {
+        if (copyOnWrite) {
+            return getSnapshot().objects.size();
+        }
         synchronized (cacheSync) {
             return objectList == null ? 0 : objectList.size();
         }
@@ -121,6 +160,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                 checkDuplicateName(name, object);
                 this.objectMap.put(name, object);
             }
+            invalidateSnapshot();
         }
     }
 
@@ -134,6 +174,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                 if (this.objectMap != null) {
                     this.objectMap.remove(getObjectName(object));
                 }
+                invalidateSnapshot();
             }
             if (resetFullCache) {
                 fullCache = false;
@@ -153,6 +194,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                     this.objectMap.put(newName, object);
                 }
             }
+            invalidateSnapshot();
         }
     }
 
@@ -165,6 +207,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     }
 
     public boolean isEmpty() {
+        if (copyOnWrite) {
+            return getSnapshot().objects.isEmpty();
+        }
         return CommonUtils.isEmpty(objectList);
     }
 
@@ -182,6 +227,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         synchronized (cacheSync) {
             this.objectList = null;
             this.objectMap = null;
+            invalidateSnapshot();
             this.fullCache = false;
         }
     }
@@ -191,6 +237,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         synchronized (cacheSync) {
             this.objectList = objects;
             this.objectMap = null;
+            invalidateSnapshot();
             this.fullCache = true;
         }
     }
@@ -251,6 +298,42 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    @NotNull
+    private CacheSnapshot<OBJECT> getSnapshot() {
+        CacheSnapshot<OBJECT> cacheSnapshot = this.snapshot;
+        if (cacheSnapshot != null) {
+            return cacheSnapshot;
+        }
+        synchronized (cacheSync) {
+            cacheSnapshot = this.snapshot;
+            if (cacheSnapshot == null) {
+                cacheSnapshot = createSnapshot();
+                if (copyOnWrite) {
+                    this.snapshot = cacheSnapshot;
+                }
+            }
+            return cacheSnapshot;
+        }
+    }
+
+    /**
+     * Drops snapshot after cache modification. Must be called under cache lock.
+     */
+    private void invalidateSnapshot() {
+        this.snapshot = null;
+    }
+
+    @NotNull
+    private CacheSnapshot<OBJECT> createSnapshot() {
+        if (objectList == null) {
+            return new CacheSnapshot<>(Collections.emptyList(), Collections.emptyMap(), caseSensitive);
+        }
+        return new CacheSnapshot<>(
+            Collections.unmodifiableList(new ArrayList<>(objectList)),
+            new HashMap<>(getObjectMap()),
+            caseSensitive);
+    }
+
     private void checkDuplicateName(String name, OBJECT object) {
         if (this.objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
@@ -281,6 +364,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             if (objectList == null) {
                 return;
             }
+            boolean removed = false;
             for (int i = 0; i < objectList.size(); ) {
                 OBJECT object = objectList.get(i);
                 if (object.getParentObject() == parent) {
@@ -288,11 +372,15 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
                     if (this.objectMap != null) {
                         this.objectMap.remove(getObjectName(object));
                     }
+                    removed = true;
                     fullCache = false;
                 } else {
                     i++;
                 }
             }
+            if (removed) {
+                invalidateSnapshot();
+            }
         }
     }
 
@@ -389,6 +477,19 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             if (objectMap != null) {
                 objectMap.remove(getObjectName(curObject));
             }
+            invalidateSnapshot();
+        }
+    }
+
+    private static class CacheSnapshot<OBJECT> {
+        final List<OBJECT> objects;
+        final Map<String, OBJECT> objectMap;
+        final boolean caseSensitive;
+
+        CacheSnapshot(List<OBJECT> objects, Map<String, OBJECT> objectMap, boolean caseSensitive) {
+            this.objects = objects;
+            this.objectMap = objectMap;
+            this.caseSensitive = caseSensitive;
         }
     }
 
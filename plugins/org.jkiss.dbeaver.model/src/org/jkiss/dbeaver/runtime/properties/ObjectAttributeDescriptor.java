@@ -19,7 +19,9 @@ package org.jkiss.dbeaver.runtime.properties;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
 import org.jkiss.dbeaver.model.meta.IPropertyCacheValidator;
 import org.jkiss.dbeaver.model.meta.LazyProperty;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -54,6 +56,7 @@ public abstract class ObjectAttributeDescriptor {
     private Method getter;
     private boolean isLazy;
     private IPropertyCacheValidator cacheValidator;
+    private IPropertyBulkLoader bulkLoader;
     private Class<?> declaringClass;
 
     public ObjectAttributeDescriptor(
@@ -85,6 +88,13 @@ public abstract class ObjectAttributeDescriptor {
                 } catch (Exception e) {
                     log.warn("Can't instantiate lazy cache validator '" + lazyInfo.cacheValidator().getName() + "'", e);
                 }
+                if (lazyInfo.bulkLoader() != IPropertyBulkLoader.class) {
+                    try {
+                        bulkLoader = lazyInfo.bulkLoader().getConstructor().newInstance();
+                    } catch (Exception e) {
+                        log.warn("Can't instantiate lazy property loader '" + lazyInfo.bulkLoader().getName() + "'", e);
+                    }
+                }
             }
         }
     }
@@ -162,6 +172,30 @@ public abstract class ObjectAttributeDescriptor {
         return cacheValidator;
     }
 
+    public boolean supportsBulkLoad() {
+        // Group objects are obtained separately for each object, so they can't be loaded in bulk
+        return bulkLoader != null && parent == null;
+    }
+
+    /**
+     * Loads lazy property of all objects which don't have it cached yet.
+     * Does nothing if property doesn't support bulk loading.
+     */
+    public void loadLazyValues(@NotNull DBRProgressMonitor monitor, @NotNull Collection<?> objects) throws DBException {
+        if (!supportsBulkLoad()) {
+            return;
+        }
+        List<Object> notCached = new ArrayList<>();
+        for (Object object : objects) {
+            if (getter.getDeclaringClass().isInstance(object) && isLazy(object, false)) {
+                notCached.add(object);
+            }
+        }
+        if (!notCached.isEmpty()) {
+            bulkLoader.loadProperty(monitor, notCached, id);
+        }
+    }
+
     public ObjectPropertyGroupDescriptor getParent()
     {
         return parent;
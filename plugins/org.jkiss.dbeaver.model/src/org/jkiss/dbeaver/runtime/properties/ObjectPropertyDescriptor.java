@@ -425,6 +425,40 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
         return value;
     }
 
+    /**
+     * Reads values of the specified properties from all objects.
+     * Returns a row of values for each object. Value is null if the property is null or can't be read from the object.
+     */
+    @NotNull
+    public static Object[][] readValues(
+        @NotNull List<?> objects,
+        @NotNull List<ObjectPropertyDescriptor> properties,
+        @Nullable DBRProgressMonitor progressMonitor,
+        boolean formatValue)
+    {
+        Object[][] result = new Object[objects.size()][];
+        for (int i = 0; i < result.length; i++) {
+            Object object = objects.get(i);
+            Object[] row = new Object[properties.size()];
+            result[i] = row;
+            if (object == null || (progressMonitor != null && progressMonitor.isCanceled())) {
+                continue;
+            }
+            for (int k = 0; k < row.length; k++) {
+                ObjectPropertyDescriptor property = properties.get(k);
+                if (property == null) {
+                    continue;
+                }
+                try {
+                    row[k] = property.readValue(object, progressMonitor, formatValue);
+                } catch (Throwable e) {
+                    log.debug("Error reading property '" + property.getId() + "' from " + object, e);
+                }
+            }
+        }
+        return result;
+    }
+
     public Object formatValue(Object object, Object value) {
         if (valueRenderer != null) {
             value = valueRenderer.transform(object, value);
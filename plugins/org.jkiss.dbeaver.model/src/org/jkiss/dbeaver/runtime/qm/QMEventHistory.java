@@ -0,0 +1,502 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Bounded query manager events history.
+ *
+ * Events are stored in a ring buffer and addressed by sequence number.
+ * Secondary indexes (object type, query purpose and statement text trigrams) keep sequence
+ * numbers of events, so browsing and search don't copy or scan the whole history.
+ * Index entries of evicted events are purged lazily.
+ * Text index is built on search (for events added since the previous search), so adding events
+ * doesn't process statement text. Long texts are not split into trigrams, they are always search candidates.
+ */
+public class QMEventHistory {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    static final int MAX_INDEXED_TEXT_LENGTH = 10000;
+
+    private final QMMetaEvent[] events;
+    // Sequence number of the next event
+    private long nextSequence;
+
+    private final Map<QMObjectType, SequenceList> typeIndex = new EnumMap<>(QMObjectType.class);
+    private final Map<DBCExecutionPurpose, SequenceList> purposeIndex = new EnumMap<>(DBCExecutionPurpose.class);
+    // Queries without statement info. They are not filtered by purpose
+    private final SequenceList noPurposeIndex = new SequenceList();
+    private final Map<Long, SequenceList> textIndex = new HashMap<>();
+    // Events with texts longer than MAX_INDEXED_TEXT_LENGTH
+    private final SequenceList longTextIndex = new SequenceList();
+    // Events before this sequence are in text index
+    private long textIndexSequence;
+
+    public QMEventHistory(int capacity) {
+        this.events = new QMMetaEvent[capacity];
+    }
+
+    public int getCapacity() {
+        return events.length;
+    }
+
+    public synchronized int getSize() {
+        return (int) (nextSequence - getFirstSequence());
+    }
+
+    private long getFirstSequence() {
+        return Math.max(0, nextSequence - events.length);
+    }
+
+    public synchronized void addEvents(@NotNull Collection<QMMetaEvent> newEvents) {
+        for (QMMetaEvent event : newEvents) {
+            addEvent(event);
+        }
+    }
+
+    public synchronized void addEvent(@NotNull QMMetaEvent event) {
+        long sequence = nextSequence++;
+        events[(int) (sequence % events.length)] = event;
+
+        QMMObject object = event.getObject();
+        typeIndex.computeIfAbsent(getObjectType(object), t -> new SequenceList()).add(sequence);
+        QMMStatementInfo statementInfo = getStatementInfo(object);
+        if (statementInfo != null) {
+            if (statementInfo.getPurpose() != null) {
+                purposeIndex.computeIfAbsent(statementInfo.getPurpose(), p -> new SequenceList()).add(sequence);
+            }
+        } else if (getObjectType(object) == QMObjectType.query) {
+            noPurposeIndex.add(sequence);
+        }
+
+        if (sequence > 0 && sequence % events.length == 0) {
+            purgeIndexes();
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(events, null);
+        nextSequence = 0;
+        typeIndex.clear();
+        purposeIndex.clear();
+        noPurposeIndex.trim(Long.MAX_VALUE);
+        textIndex.clear();
+        longTextIndex.trim(Long.MAX_VALUE);
+        textIndexSequence = 0;
+    }
+
+    /**
+     * Returns all events in the order they were added.
+     */
+    @NotNull
+    public synchronized List<QMMetaEvent> getEvents() {
+        List<QMMetaEvent> result = new ArrayList<>(getSize());
+        for (long i = getFirstSequence(); i < nextSequence; i++) {
+            result.add(events[(int) (i % events.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * Opens cursor over events which match criteria. Fresh events come first.
+     * Cursor reads events lazily and doesn't see events added after its creation.
+     *
+     * @param objectTypes object types or null for any type
+     * @param queryTypes  statement purposes or null for any purpose
+     * @param searchString text to search (case insensitive) or null
+     * @param filter      additional filter
+     */
+    @NotNull
+    public synchronized QMEventCursor openCursor(
+        @Nullable QMObjectType[] objectTypes,
+        @Nullable DBCExecutionPurpose[] queryTypes,
+        @Nullable String searchString,
+        @Nullable QMEventFilter filter)
+    {
+        String lcSearchString = CommonUtils.isEmpty(searchString) ? null : searchString.toLowerCase(Locale.ENGLISH);
+        SequenceIterator source = createSource(objectTypes, queryTypes, lcSearchString);
+        if (source == null) {
+            return new QMUtils.EmptyCursorImpl();
+        }
+        return new HistoryCursor(source, nextSequence, objectTypes, queryTypes, lcSearchString, filter);
+    }
+
+    /**
+     * Chooses the shortest index list which contains all matching events.
+     * Returns null if nothing can match.
+     */
+    @Nullable
+    private SequenceIterator createSource(
+        @Nullable QMObjectType[] objectTypes,
+        @Nullable DBCExecutionPurpose[] queryTypes,
+        @Nullable String lcSearchString)
+    {
+        SequenceIterator source = null;
+        if (lcSearchString != null && lcSearchString.length() >= TRIGRAM_LENGTH) {
+            updateTextIndex();
+            // The rarest trigram gives the shortest candidates list
+            SequenceList rarest = null;
+            for (Long trigram : getTrigrams(lcSearchString)) {
+                SequenceList list = textIndex.get(trigram);
+                if (list == null) {
+                    rarest = null;
+                    break;
+                }
+                if (rarest == null || list.size() < rarest.size()) {
+                    rarest = list;
+                }
+            }
+            if (rarest == null) {
+                if (longTextIndex.size() == 0) {
+                    return null;
+                }
+                source = new SequenceIterator(Collections.singletonList(longTextIndex));
+            } else {
+                source = new SequenceIterator(Arrays.asList(rarest, longTextIndex));
+            }
+        }
+        if (objectTypes != null && objectTypes.length < QMObjectType.values().length) {
+            List<SequenceList> lists = new ArrayList<>();
+            boolean queriesOnly = objectTypes.length == 1 && objectTypes[0] == QMObjectType.query;
+            if (queriesOnly && queryTypes != null && queryTypes.length < DBCExecutionPurpose.values().length) {
+                // Only statements are requested, so purpose index contains all candidates
+                for (DBCExecutionPurpose purpose : queryTypes) {
+                    SequenceList list = purposeIndex.get(purpose);
+                    if (list != null) {
+                        lists.add(list);
+                    }
+                }
+                lists.add(noPurposeIndex);
+            } else {
+                for (QMObjectType type : objectTypes) {
+                    SequenceList list = typeIndex.get(type);
+                    if (list != null) {
+                        lists.add(list);
+                    }
+                }
+            }
+            SequenceIterator typeSource = new SequenceIterator(lists);
+            if (source == null || typeSource.remaining() < source.remaining()) {
+                source = typeSource;
+            }
+        }
+        if (source == null) {
+            source = new SequenceIterator(null);
+        }
+        return source;
+    }
+
+    @Nullable
+    private synchronized QMMetaEvent getEvent(long sequence) {
+        if (sequence < getFirstSequence() || sequence >= nextSequence) {
+            // Evicted
+            return null;
+        }
+        return events[(int) (sequence % events.length)];
+    }
+
+    /**
+     * Adds texts of events which were added after the previous search to text index.
+     */
+    private void updateTextIndex() {
+        for (long sequence = Math.max(textIndexSequence, getFirstSequence()); sequence < nextSequence; sequence++) {
+            String text = events[(int) (sequence % events.length)].getObject().getText();
+            if (CommonUtils.isEmpty(text)) {
+                continue;
+            }
+            if (text.length() > MAX_INDEXED_TEXT_LENGTH) {
+                longTextIndex.add(sequence);
+                continue;
+            }
+            for (Long trigram : getTrigrams(text.toLowerCase(Locale.ENGLISH))) {
+                textIndex.computeIfAbsent(trigram, t -> new SequenceList()).add(sequence);
+            }
+        }
+        textIndexSequence = nextSequence;
+    }
+
+    private void purgeIndexes() {
+        long firstSequence = getFirstSequence();
+        purgeIndex(typeIndex, firstSequence);
+        purgeIndex(purposeIndex, firstSequence);
+        purgeIndex(textIndex, firstSequence);
+        longTextIndex.trim(firstSequence);
+        noPurposeIndex.trim(firstSequence);
+    }
+
+    private static void purgeIndex(Map<?, SequenceList> index, long firstSequence) {
+        for (Iterator<SequenceList> iter = index.values().iterator(); iter.hasNext(); ) {
+            SequenceList list = iter.next();
+            list.trim(firstSequence);
+            if (list.size() == 0) {
+                iter.remove();
+            }
+        }
+    }
+
+    @NotNull
+    public static QMObjectType getObjectType(@NotNull QMMObject object) {
+        if (object instanceof QMMConnectionInfo) {
+            return QMObjectType.session;
+        } else if (object instanceof QMMTransactionInfo || object instanceof QMMTransactionSavepointInfo) {
+            return QMObjectType.txn;
+        } else {
+            return QMObjectType.query;
+        }
+    }
+
+    @Nullable
+    private static QMMStatementInfo getStatementInfo(@NotNull QMMObject object) {
+        if (object instanceof QMMStatementInfo) {
+            return (QMMStatementInfo) object;
+        } else if (object instanceof QMMStatementExecuteInfo) {
+            return ((QMMStatementExecuteInfo) object).getStatement();
+        }
+        return null;
+    }
+
+    private static Set<Long> getTrigrams(@NotNull String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Ascending list of sequence numbers.
+     * Values are only appended to the end and removed from the start. Arrays are never modified
+     * below the current size, so readers may keep reference to the array and iterate its captured range.
+     */
+    private static class SequenceList {
+        private long[] values = new long[16];
+        private int start;
+        private int end;
+
+        void add(long value) {
+            if (end == values.length) {
+                long[] newValues = new long[Math.max(16, (end - start) * 2)];
+                System.arraycopy(values, start, newValues, 0, end - start);
+                values = newValues;
+                end -= start;
+                start = 0;
+            }
+            values[end++] = value;
+        }
+
+        void trim(long minValue) {
+            while (start < end && values[start] < minValue) {
+                start++;
+            }
+        }
+
+        int size() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Iterates over union of sequence lists (or over all history if lists are null) in descending order.
+     * Captures lists state at creation time.
+     */
+    private class SequenceIterator {
+        private final long[][] values;
+        private final int[] starts;
+        private final int[] positions;
+        private long allPosition;
+        private final long allStart;
+
+        SequenceIterator(@Nullable List<SequenceList> lists) {
+            allStart = getFirstSequence();
+            if (lists == null) {
+                values = null;
+                starts = null;
+                positions = null;
+                allPosition = nextSequence - 1;
+            } else {
+                values = new long[lists.size()][];
+                starts = new int[lists.size()];
+                positions = new int[lists.size()];
+                for (int i = 0; i < lists.size(); i++) {
+                    SequenceList list = lists.get(i);
+                    values[i] = list.values;
+                    starts[i] = list.start;
+                    positions[i] = list.end - 1;
+                }
+            }
+        }
+
+        long remaining() {
+            if (values == null) {
+                return allPosition - allStart + 1;
+            }
+            long count = 0;
+            for (int i = 0; i < values.length; i++) {
+                count += positions[i] - starts[i] + 1;
+            }
+            return count;
+        }
+
+        /**
+         * Returns next sequence or -1 if there are no more sequences.
+         */
+        long next() {
+            if (values == null) {
+                return allPosition >= allStart ? allPosition-- : -1;
+            }
+            long maxValue = -1;
+            for (int i = 0; i < values.length; i++) {
+                if (positions[i] >= starts[i] && values[i][positions[i]] > maxValue) {
+                    maxValue = values[i][positions[i]];
+                }
+            }
+            // Skip the same value in all lists
+            for (int i = 0; i < values.length; i++) {
+                if (positions[i] >= starts[i] && values[i][positions[i]] == maxValue) {
+                    positions[i]--;
+                }
+            }
+            return maxValue;
+        }
+    }
+
+    private class HistoryCursor implements QMEventCursor {
+        private final SequenceIterator source;
+        // Events added after cursor creation are not visible
+        private final long endSequence;
+        private final QMObjectType[] objectTypes;
+        private final DBCExecutionPurpose[] queryTypes;
+        private final String searchString;
+        private final QMEventFilter filter;
+        private QMMetaEvent nextEvent;
+        private long nextEventSequence;
+        private long totalSize = -1;
+
+        HistoryCursor(
+            @NotNull SequenceIterator source,
+            long endSequence,
+            @Nullable QMObjectType[] objectTypes,
+            @Nullable DBCExecutionPurpose[] queryTypes,
+            @Nullable String searchString,
+            @Nullable QMEventFilter filter)
+        {
+            this.source = source;
+            this.endSequence = endSequence;
+            this.objectTypes = objectTypes;
+            this.queryTypes = queryTypes;
+            this.searchString = searchString;
+            this.filter = filter;
+        }
+
+        @Override
+        public long getTotalSize() {
+            if (totalSize < 0) {
+                // Count matching events with the separate iterator
+                SequenceIterator counter;
+                synchronized (QMEventHistory.this) {
+                    counter = createSource(objectTypes, queryTypes, searchString);
+                }
+                long count = 0;
+                if (counter != null) {
+                    HistoryCursor counterCursor = new HistoryCursor(counter, endSequence, objectTypes, queryTypes, searchString, filter);
+                    while (counterCursor.fetchNext()) {
+                        count++;
+                    }
+                }
+                totalSize = count;
+            }
+            return totalSize;
+        }
+
+        @Override
+        public void scroll(int position, DBRProgressMonitor monitor) {
+            for (int i = 0; i < position && hasNextEvent(monitor); i++) {
+                nextEvent = null;
+            }
+        }
+
+        @Override
+        public boolean hasNextEvent(DBRProgressMonitor monitor) {
+            return nextEvent != null || fetchNext();
+        }
+
+        @Override
+        public QMMetaEventEntity nextEvent(DBRProgressMonitor monitor) {
+            if (!hasNextEvent(monitor)) {
+                throw new NoSuchElementException();
+            }
+            QMMetaEvent event = nextEvent;
+            nextEvent = null;
+            return new QMMetaEventEntity(event.getObject(), event.getAction(), nextEventSequence + 1, "", null);
+        }
+
+        private boolean fetchNext() {
+            for (;;) {
+                long sequence;
+                QMMetaEvent event;
+                synchronized (QMEventHistory.this) {
+                    sequence = source.next();
+                    if (sequence < 0) {
+                        return false;
+                    }
+                    event = getEvent(sequence);
+                }
+                if (event != null && sequence < endSequence && matches(event)) {
+                    nextEvent = event;
+                    nextEventSequence = sequence;
+                    return true;
+                }
+            }
+        }
+
+        private boolean matches(@NotNull QMMetaEvent event) {
+            QMMObject object = event.getObject();
+            if (objectTypes != null && !ArrayUtils.contains(objectTypes, getObjectType(object))) {
+                return false;
+            }
+            if (queryTypes != null) {
+                QMMStatementInfo statementInfo = getStatementInfo(object);
+                if (statementInfo != null && !ArrayUtils.contains(queryTypes, statementInfo.getPurpose())) {
+                    return false;
+                }
+            }
+            if (searchString != null) {
+                String text = object.getText();
+                if (text == null || !text.toLowerCase(Locale.ENGLISH).contains(searchString)) {
+                    return false;
+                }
+            }
+            return filter == null || filter.accept(event);
+        }
+
+        @Override
+        public void close() {
+            nextEvent = null;
+        }
+    }
+
+}
@@ -22,20 +22,15 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
-import org.jkiss.dbeaver.model.qm.meta.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.GeneralUtils;
-import org.jkiss.utils.ArrayUtils;
-import org.jkiss.utils.CommonUtils;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * QMController default implementation
@@ -46,7 +41,8 @@ public class QMRegistryImpl implements QMRegistry {
 
     private QMExecutionHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
-    private final List<QMExecutionHandler> handlers = new ArrayList<>();
+    // Handlers are read on each execution event, so use copy-on-write list to avoid locking
+    private final List<QMExecutionHandler> handlers = new CopyOnWriteArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
 
@@ -146,11 +142,7 @@ public class QMRegistryImpl implements QMRegistry {
         {
             try {
                 if (method.getReturnType() == Void.TYPE && method.getName().startsWith("handle")) {
-                    QMExecutionHandler[] handlersCopy;
-                    synchronized (handlers) {
-                        handlersCopy = handlers.toArray(new QMExecutionHandler[handlers.size()]);
-                    }
-                    for (QMExecutionHandler handler : handlersCopy) {
+                    for (QMExecutionHandler handler : handlers) {
                         try {
                             method.invoke(handler, args);
                         } catch (InvocationTargetException e) {
@@ -182,60 +174,12 @@ public class QMRegistryImpl implements QMRegistry {
             @Nullable QMEventFilter filter)
             throws DBException
         {
-            List<QMMetaEvent> pastEvents = metaHandler.getPastEvents();
-            Collections.reverse(pastEvents);
-            if (criteria.getObjectTypes() != null || criteria.getQueryTypes() != null) {
-                // Filter by query type and object type
-                for (Iterator<QMMetaEvent> iter = pastEvents.iterator(); iter.hasNext(); ) {
-                    QMMetaEvent event = iter.next();
-                    if (criteria.getObjectTypes() != null) {
-                        if (!matchesObjectType(event.getObject(), criteria.getObjectTypes())) {
-                            iter.remove();
-                            continue;
-                        }
-                    }
-                    if (filter != null && !filter.accept(event)) {
-                        iter.remove();
-                        continue;
-                    }
-                    if (criteria.getQueryTypes() != null) {
-                        QMMStatementInfo statementInfo = null;
-                        if (event.getObject() instanceof QMMStatementInfo) {
-                            statementInfo = (QMMStatementInfo) event.getObject();
-                        } else if (event.getObject() instanceof QMMStatementExecuteInfo) {
-                            statementInfo = ((QMMStatementExecuteInfo) event.getObject()).getStatement();
-                        }
-                        if (statementInfo != null &&
-                            !ArrayUtils.contains(criteria.getQueryTypes(), statementInfo.getPurpose()))
-                        {
-                            iter.remove();
-                        }
-                    }
-                }
-            }
-            if (CommonUtils.isEmpty(criteria.getSearchString())) {
-                return new QMUtils.ListCursorImpl(pastEvents);
-            } else {
-                String searchString = criteria.getSearchString().toLowerCase();
-                List<QMMetaEvent> filtered = new ArrayList<>();
-                for (QMMetaEvent event : pastEvents) {
-                    if (event.getObject().getText().toLowerCase().contains(searchString) &&
-                        (filter == null || filter.accept(event)))
-                    {
-                        filtered.add(event);
-                    }
-                }
-                return new QMUtils.ListCursorImpl(filtered);
-            }
-        }
-
-        private boolean matchesObjectType(QMMObject object, QMObjectType[] objectTypes) {
-            if (object instanceof QMMConnectionInfo)
-                return ArrayUtils.contains(objectTypes, QMObjectType.session);
-            else if (object instanceof QMMTransactionInfo || object instanceof QMMTransactionSavepointInfo)
-                return ArrayUtils.contains(objectTypes, QMObjectType.txn);
-            else
-                return ArrayUtils.contains(objectTypes, QMObjectType.query);
+            // Cursor reads history lazily, fresh events first
+            return metaHandler.getEventHistory().openCursor(
+                criteria.getObjectTypes(),
+                criteria.getQueryTypes(),
+                criteria.getSearchString(),
+                filter);
         }
     }
 }
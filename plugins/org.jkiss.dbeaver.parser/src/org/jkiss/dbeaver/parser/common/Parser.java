@@ -365,6 +365,8 @@ public class Parser {
         private final int exprPosition;
         private final GrammarRule rule;
         private final ImmList<StackFrame> prev;
+        // Cached structural hash, 0 means not computed yet
+        private int hash;
 
         private StackFrame(int exprId, int exprPosition, GrammarRule rule, ImmList<StackFrame> prev) {
             this.exprId = exprId;
@@ -378,7 +380,30 @@ public class Parser {
         }
 
         public static StackFrame push(int exprId, int exprPosition, GrammarRule rule, ImmList<StackFrame> prev) {
-            return new StackFrame(exprId, exprPosition, rule, prev);
+            return new StackFrame(exprId, exprPosition, rule, distinctFrames(prev));
+        }
+
+        /**
+         * Different derivations often bring equal frames, keep each of them once
+         */
+        private static ImmList<StackFrame> distinctFrames(ImmList<StackFrame> frames) {
+            if (frames.isEmpty() || frames.pop().isEmpty()) {
+                return frames;
+            }
+            Set<StackFrame> distinct = new LinkedHashSet<>();
+            int count = 0;
+            for (StackFrame frame : frames) {
+                count++;
+                distinct.add(frame);
+            }
+            if (distinct.size() == count) {
+                return frames;
+            }
+            ImmList<StackFrame> result = ImmList.empty();
+            for (StackFrame frame : distinct) {
+                result = result.push(frame);
+            }
+            return result;
         }
 
         public int getExprId() {
@@ -401,6 +426,54 @@ public class Parser {
             return prev;
         }
 
+        /**
+         * Frames are equal if they have the same expression state and the same set of previous frames
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StackFrame)) {
+                return false;
+            }
+            StackFrame other = (StackFrame) obj;
+            if (exprId != other.exprId || exprPosition != other.exprPosition || rule != other.rule || hashCode() != other.hashCode()) {
+                return false;
+            }
+            if (prev == other.prev) {
+                return true;
+            }
+            if (prev.count() != other.prev.count()) {
+                return false;
+            }
+            for (StackFrame frame : prev) {
+                if (!other.prev.any(frame::equals)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hash;
+            if (result == 0) {
+                result = 31 * (31 * exprId + exprPosition) + System.identityHashCode(rule);
+                int prevHash = 0;
+                for (StackFrame frame : prev) {
+                    // Order-independent, previous frames are a set
+                    prevHash += frame.hashCode();
+                }
+                result = 31 * result + prevHash;
+                if (result == 0) {
+                    result = 1;
+                }
+                hash = result;
+            }
+            return result;
+        }
+
         private void formatTo(StringBuilder sb) {
             sb.append("[").append(rule == null ? "<NULL>" : rule.getName()).append(":").append(exprId).append("@").append(exprPosition);
             if (!prev.isEmpty()) {
@@ -482,7 +555,7 @@ public class Parser {
             this.prev = prev;
             this.position = position;
             this.nfaState = nfaState;
-            this.paths = paths;
+            this.paths = shareEqualSteps(paths);
 
             ImmList<ParsingStep> q = this.paths.flatMap(p -> p.prev);
             while (!q.isEmpty()) {
@@ -499,6 +572,35 @@ public class Parser {
             }
         }
 
+        /**
+         * Joins steps of different derivations which reached this state by the same transition with equal stacks.
+         * Such steps have the same continuations, so a single step with all their predecessors is enough
+         * (graph-structured stack). Otherwise the number of steps grows exponentially on ambiguous input.
+         */
+        private static ImmList<ParsingStep> shareEqualSteps(ImmList<ParsingStep> paths) {
+            if (paths.isEmpty() || paths.pop().isEmpty()) {
+                return paths;
+            }
+            Map<StepKey, ParsingStep> steps = new LinkedHashMap<>();
+            int count = 0;
+            for (ParsingStep step : paths) {
+                count++;
+                steps.merge(
+                    new StepKey(step),
+                    step,
+                    (step1, step2) -> new ParsingStep(step1.prev.merge(step2.prev), step1.transition, step1.stack)
+                );
+            }
+            if (steps.size() == count) {
+                return paths;
+            }
+            ImmList<ParsingStep> result = ImmList.empty();
+            for (ParsingStep step : steps.values()) {
+                result = result.push(step);
+            }
+            return result;
+        }
+
         public static ParserState initial(GrammarNfaState initialState) {
             return new ParserState(
                 ImmList.empty(),
@@ -528,6 +630,30 @@ public class Parser {
         }
     }
 
+    private static class StepKey {
+        private final GrammarNfaTransition transition;
+        private final StackFrame stack;
+
+        StepKey(ParsingStep step) {
+            this.transition = step.transition;
+            this.stack = step.stack;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StepKey)) {
+                return false;
+            }
+            StepKey other = (StepKey) obj;
+            return transition == other.transition && Objects.equals(stack, other.stack);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(transition) + Objects.hashCode(stack);
+        }
+    }
+
     private static class PositionsQueue {
         private final PriorityQueue<Integer> queueOfPositions = new PriorityQueue<Integer>();
         private final List<HashMap<GrammarNfaState, ParserState>> localStatesByPos;
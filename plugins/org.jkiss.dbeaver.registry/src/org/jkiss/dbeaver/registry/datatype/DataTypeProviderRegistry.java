@@ -21,15 +21,16 @@ import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.data.DBDAttributeTransformerDescriptor;
 import org.jkiss.dbeaver.model.data.DBDRegistry;
 import org.jkiss.dbeaver.model.data.DBDValueHandlerProvider;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * DataTypeProviderRegistry
@@ -52,6 +53,12 @@ public class DataTypeProviderRegistry implements DBDRegistry
     private final List<ValueHandlerDescriptor> dataTypeProviders = new ArrayList<>();
     private final List<AttributeTransformerDescriptor> dataTypeTransformers = new ArrayList<>();
 
+    // Resolution cache. Lookups depend only on the data source and on type id, name and data kind.
+    // Data source instance is recreated on driver change so cache is dropped with it.
+    private final Map<DBPDataSource, DataSourceTypeCache> typeCaches = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     private DataTypeProviderRegistry()
     {
     }
@@ -75,6 +82,22 @@ public class DataTypeProviderRegistry implements DBDRegistry
     public void dispose()
     {
         this.dataTypeProviders.clear();
+        resetResolutionCache();
+    }
+
+    /**
+     * Drops cached value handler providers and transformers of all data sources
+     */
+    public void resetResolutionCache() {
+        typeCaches.clear();
+    }
+
+    public long getResolutionCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getResolutionCacheMisses() {
+        return cacheMisses.get();
     }
 
     ////////////////////////////////////////////////////
@@ -82,6 +105,22 @@ public class DataTypeProviderRegistry implements DBDRegistry
 
     @Nullable
     public DBDValueHandlerProvider getValueHandlerProvider(@NotNull DBPDataSource dataSource, @NotNull DBSTypedObject typedObject)
+    {
+        DataSourceTypeCache typeCache = getTypeCache(dataSource);
+        TypeKey key = new TypeKey(typedObject, null);
+        Object provider = typeCache.providers.get(key);
+        if (provider != null) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            provider = findValueHandlerProvider(dataSource, typedObject);
+            typeCache.providers.put(key, provider == null ? NOT_FOUND : provider);
+        }
+        return provider == NOT_FOUND ? null : (DBDValueHandlerProvider) provider;
+    }
+
+    @Nullable
+    private DBDValueHandlerProvider findValueHandlerProvider(@NotNull DBPDataSource dataSource, @NotNull DBSTypedObject typedObject)
     {
         // First try to find type provider for specific datasource type
         for (ValueHandlerDescriptor dtProvider : dataTypeProviders) {
@@ -100,7 +139,30 @@ public class DataTypeProviderRegistry implements DBDRegistry
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public List<AttributeTransformerDescriptor> findTransformers(DBPDataSource dataSource, DBSTypedObject typedObject, Boolean custom) {
+        if (dataSource == null) {
+            return searchTransformers(null, typedObject, custom);
+        }
+        DataSourceTypeCache typeCache = getTypeCache(dataSource);
+        TypeKey key = new TypeKey(typedObject, custom);
+        Object transformers = typeCache.transformers.get(key);
+        if (transformers != null) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            transformers = searchTransformers(dataSource, typedObject, custom);
+            typeCache.transformers.put(key, transformers == null ? NOT_FOUND : transformers);
+        }
+        if (transformers == NOT_FOUND) {
+            return null;
+        }
+        // Callers may filter the list
+        return new ArrayList<>((List<AttributeTransformerDescriptor>) transformers);
+    }
+
+    @Nullable
+    private List<AttributeTransformerDescriptor> searchTransformers(DBPDataSource dataSource, DBSTypedObject typedObject, Boolean custom) {
         // Find in default providers
         List<AttributeTransformerDescriptor> result = null;
         for (AttributeTransformerDescriptor descriptor : dataTypeTransformers) {
@@ -121,6 +183,11 @@ public class DataTypeProviderRegistry implements DBDRegistry
         return result;
     }
 
+    @NotNull
+    private DataSourceTypeCache getTypeCache(@NotNull DBPDataSource dataSource) {
+        return typeCaches.computeIfAbsent(dataSource, ds -> new DataSourceTypeCache());
+    }
+
     @Override
     public DBDAttributeTransformerDescriptor getTransformer(String id) {
         for (AttributeTransformerDescriptor descriptor : dataTypeTransformers) {
@@ -131,4 +198,46 @@ public class DataTypeProviderRegistry implements DBDRegistry
         return null;
     }
 
+    private static final Object NOT_FOUND = new Object();
+
+    private static class DataSourceTypeCache {
+        final Map<TypeKey, Object> providers = new ConcurrentHashMap<>();
+        final Map<TypeKey, Object> transformers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Type attributes checked by {@link DataTypeAbstractDescriptor#supportsType(DBSTypedObject)}
+     */
+    private static class TypeKey {
+        private final int typeId;
+        private final String typeName;
+        private final DBPDataKind dataKind;
+        private final Boolean custom;
+
+        TypeKey(@NotNull DBSTypedObject typedObject, @Nullable Boolean custom) {
+            this.typeId = typedObject.getTypeID();
+            String name = typedObject.getTypeName();
+            this.typeName = name == null ? null : name.toLowerCase(Locale.ENGLISH);
+            this.dataKind = typedObject.getDataKind();
+            this.custom = custom;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypeKey)) {
+                return false;
+            }
+            TypeKey key = (TypeKey) obj;
+            return typeId == key.typeId &&
+                Objects.equals(typeName, key.typeName) &&
+                dataKind == key.dataKind &&
+                Objects.equals(custom, key.custom);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(typeId, typeName, dataKind, custom);
+        }
+    }
+
 }
@@ -0,0 +1,552 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented storage for a block of fetched rows.
+ * <p>
+ * Each column is kept in a vector specialized by the runtime class of its values:
+ * integral and floating point numbers go to primitive arrays, timestamps are split into
+ * millis and nanos, strings are dictionary-encoded. Nulls are tracked in a bitmap.
+ * Columns with mixed or unknown value classes are kept as plain object arrays.
+ * <p>
+ * Values are boxed back on read only. Stores are immutable; rows detach from the store
+ * on first modification (see {@link ResultSetRow#setValue(int, Object)}).
+ * <p>
+ * Stores without object columns may be spilled to disk by {@link ResultSetSpillStorage}.
+ */
+class ResultSetColumnStore {
+
+    /**
+     * Stores smaller than this are not worth encoding
+     */
+    static final int MIN_ROW_COUNT = 16;
+
+    private static final byte VECTOR_LONG = 1;
+    private static final byte VECTOR_DOUBLE = 2;
+    private static final byte VECTOR_TIMESTAMP = 3;
+    private static final byte VECTOR_STRING = 4;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final boolean spillable;
+    // Null while store is spilled
+    @Nullable
+    private volatile ColumnVector[] columns;
+    @Nullable
+    private ResultSetSpillStorage spillStorage;
+    // Store was accessed since the last eviction check
+    private volatile boolean accessed;
+    // Spill file region. Store is written only once as its content never changes.
+    long spillOffset = -1;
+    int spillLength;
+
+    private ResultSetColumnStore(int rowCount, @NotNull ColumnVector[] columns) {
+        this.rowCount = rowCount;
+        this.columnCount = columns.length;
+        this.columns = columns;
+        boolean spillable = true;
+        for (ColumnVector column : columns) {
+            if (column instanceof ObjectVector) {
+                spillable = false;
+                break;
+            }
+        }
+        this.spillable = spillable;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Store can be spilled to disk (contains only encoded columns).
+     * Values of such stores never hold any resources.
+     */
+    boolean isSpillable() {
+        return spillable;
+    }
+
+    void setSpillStorage(@NotNull ResultSetSpillStorage spillStorage) {
+        this.spillStorage = spillStorage;
+    }
+
+    @Nullable
+    Object getValue(int row, int column) {
+        return getColumns()[column].get(row);
+    }
+
+    void copyRow(int row, @NotNull Object[] target) {
+        ColumnVector[] columns = getColumns();
+        for (int i = 0; i < columns.length; i++) {
+            target[i] = columns[i].get(row);
+        }
+    }
+
+    @NotNull
+    private ColumnVector[] getColumns() {
+        ColumnVector[] columns = this.columns;
+        if (columns == null) {
+            assert spillStorage != null;
+            columns = spillStorage.load(this);
+        } else if (spillStorage != null && !accessed) {
+            accessed = true;
+        }
+        return columns;
+    }
+
+    ////////////////////////////////////////////////////
+    // Spill support
+
+    @Nullable
+    ColumnVector[] getResidentColumns() {
+        return columns;
+    }
+
+    void unload() {
+        this.columns = null;
+        this.accessed = false;
+    }
+
+    /**
+     * Returns true if store was accessed since the previous call
+     */
+    boolean resetAccessed() {
+        boolean wasAccessed = accessed;
+        accessed = false;
+        return wasAccessed;
+    }
+
+    @NotNull
+    ColumnVector[] restore(@NotNull DataInput in) throws IOException {
+        ColumnVector[] columns = new ColumnVector[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = readColumn(in, rowCount);
+        }
+        this.columns = columns;
+        return columns;
+    }
+
+    void write(@NotNull DataOutput out) throws IOException {
+        ColumnVector[] columns = this.columns;
+        assert columns != null && spillable;
+        for (ColumnVector column : columns) {
+            ((NullableVector) column).write(out);
+        }
+    }
+
+    ////////////////////////////////////////////////////
+    // Build
+
+    /**
+     * Builds store from row arrays. Returns null if rows can't be stored in columnar form
+     * (too few rows or rows of different length).
+     */
+    @Nullable
+    static ResultSetColumnStore build(@NotNull List<Object[]> rows) {
+        final int rowCount = rows.size();
+        if (rowCount < MIN_ROW_COUNT) {
+            return null;
+        }
+        final int columnCount = rows.get(0).length;
+        for (Object[] row : rows) {
+            if (row.length != columnCount) {
+                return null;
+            }
+        }
+        ColumnVector[] columns = new ColumnVector[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = buildColumn(rows, i);
+        }
+        return new ResultSetColumnStore(rowCount, columns);
+    }
+
+    @NotNull
+    private static ColumnVector buildColumn(@NotNull List<Object[]> rows, int column) {
+        Class<?> valueClass = null;
+        for (Object[] row : rows) {
+            Object value = row[column];
+            if (value == null) {
+                continue;
+            }
+            if (valueClass == null) {
+                valueClass = value.getClass();
+            } else if (valueClass != value.getClass()) {
+                return new ObjectVector(rows, column);
+            }
+        }
+        if (valueClass == null) {
+            // All nulls
+            return new LongVector(rows, column, Long.class);
+        } else if (valueClass == Long.class || valueClass == Integer.class || valueClass == Short.class || valueClass == Byte.class) {
+            return new LongVector(rows, column, valueClass);
+        } else if (valueClass == Double.class || valueClass == Float.class) {
+            return new DoubleVector(rows, column, valueClass == Float.class);
+        } else if (valueClass == Timestamp.class) {
+            return new TimestampVector(rows, column);
+        } else if (valueClass == String.class) {
+            return new StringVector(rows, column);
+        } else {
+            return new ObjectVector(rows, column);
+        }
+    }
+
+    @NotNull
+    private static ColumnVector readColumn(@NotNull DataInput in, int rowCount) throws IOException {
+        byte type = in.readByte();
+        long[] nullWords = new long[in.readInt()];
+        for (int i = 0; i < nullWords.length; i++) {
+            nullWords[i] = in.readLong();
+        }
+        BitSet nulls = BitSet.valueOf(nullWords);
+        switch (type) {
+            case VECTOR_LONG: {
+                int classId = in.readByte();
+                long[] values = new long[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = in.readLong();
+                }
+                return new LongVector(nulls, values, LongVector.VALUE_CLASSES[classId]);
+            }
+            case VECTOR_DOUBLE: {
+                boolean isFloat = in.readBoolean();
+                double[] values = new double[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = in.readDouble();
+                }
+                return new DoubleVector(nulls, values, isFloat);
+            }
+            case VECTOR_TIMESTAMP: {
+                long[] millis = new long[rowCount];
+                int[] nanos = new int[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    millis[i] = in.readLong();
+                    nanos[i] = in.readInt();
+                }
+                return new TimestampVector(nulls, millis, nanos);
+            }
+            case VECTOR_STRING: {
+                String[] dictionary = new String[in.readInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    // Strings may exceed writeUTF limit
+                    char[] chars = new char[in.readInt()];
+                    for (int k = 0; k < chars.length; k++) {
+                        chars[k] = in.readChar();
+                    }
+                    dictionary[i] = new String(chars);
+                }
+                int[] codes = new int[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    codes[i] = in.readInt();
+                }
+                return new StringVector(nulls, codes, dictionary);
+            }
+            default:
+                throw new IOException("Bad column vector type: " + type);
+        }
+    }
+
+    ////////////////////////////////////////////////////
+    // Vectors
+
+    abstract static class ColumnVector {
+        @Nullable
+        abstract Object get(int row);
+    }
+
+    private abstract static class NullableVector extends ColumnVector {
+        @NotNull
+        final BitSet nulls;
+
+        NullableVector(@NotNull List<Object[]> rows, int column) {
+            nulls = new BitSet();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i)[column] == null) {
+                    nulls.set(i);
+                }
+            }
+        }
+
+        NullableVector(@NotNull BitSet nulls) {
+            this.nulls = nulls;
+        }
+
+        @Nullable
+        @Override
+        final Object get(int row) {
+            return nulls.get(row) ? null : getNotNull(row);
+        }
+
+        @NotNull
+        abstract Object getNotNull(int row);
+
+        void write(@NotNull DataOutput out) throws IOException {
+            out.writeByte(getVectorType());
+            long[] nullWords = nulls.toLongArray();
+            out.writeInt(nullWords.length);
+            for (long word : nullWords) {
+                out.writeLong(word);
+            }
+            writeValues(out);
+        }
+
+        abstract byte getVectorType();
+
+        abstract void writeValues(@NotNull DataOutput out) throws IOException;
+    }
+
+    private static class ObjectVector extends ColumnVector {
+        @NotNull
+        private final Object[] values;
+
+        ObjectVector(@NotNull List<Object[]> rows, int column) {
+            values = new Object[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rows.get(i)[column];
+            }
+        }
+
+        @Nullable
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static class LongVector extends NullableVector {
+        static final Class<?>[] VALUE_CLASSES = { Long.class, Integer.class, Short.class, Byte.class };
+
+        @NotNull
+        private final long[] values;
+        @NotNull
+        private final Class<?> valueClass;
+
+        LongVector(@NotNull List<Object[]> rows, int column, @NotNull Class<?> valueClass) {
+            super(rows, column);
+            this.valueClass = valueClass;
+            this.values = new long[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = rows.get(i)[column];
+                if (value != null) {
+                    values[i] = ((Number) value).longValue();
+                }
+            }
+        }
+
+        LongVector(@NotNull BitSet nulls, @NotNull long[] values, @NotNull Class<?> valueClass) {
+            super(nulls);
+            this.values = values;
+            this.valueClass = valueClass;
+        }
+
+        @NotNull
+        @Override
+        Object getNotNull(int row) {
+            long value = values[row];
+            if (valueClass == Long.class) {
+                return value;
+            } else if (valueClass == Integer.class) {
+                return (int) value;
+            } else if (valueClass == Short.class) {
+                return (short) value;
+            } else {
+                return (byte) value;
+            }
+        }
+
+        @Override
+        byte getVectorType() {
+            return VECTOR_LONG;
+        }
+
+        @Override
+        void writeValues(@NotNull DataOutput out) throws IOException {
+            for (int i = 0; i < VALUE_CLASSES.length; i++) {
+                if (VALUE_CLASSES[i] == valueClass) {
+                    out.writeByte(i);
+                    break;
+                }
+            }
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static class DoubleVector extends NullableVector {
+        @NotNull
+        private final double[] values;
+        private final boolean isFloat;
+
+        DoubleVector(@NotNull List<Object[]> rows, int column, boolean isFloat) {
+            super(rows, column);
+            this.isFloat = isFloat;
+            this.values = new double[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = rows.get(i)[column];
+                if (value != null) {
+                    values[i] = ((Number) value).doubleValue();
+                }
+            }
+        }
+
+        DoubleVector(@NotNull BitSet nulls, @NotNull double[] values, boolean isFloat) {
+            super(nulls);
+            this.values = values;
+            this.isFloat = isFloat;
+        }
+
+        @NotNull
+        @Override
+        Object getNotNull(int row) {
+            return isFloat ? (Object) (float) values[row] : (Object) values[row];
+        }
+
+        @Override
+        byte getVectorType() {
+            return VECTOR_DOUBLE;
+        }
+
+        @Override
+        void writeValues(@NotNull DataOutput out) throws IOException {
+            out.writeBoolean(isFloat);
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    private static class TimestampVector extends NullableVector {
+        @NotNull
+        private final long[] millis;
+        @NotNull
+        private final int[] nanos;
+
+        TimestampVector(@NotNull List<Object[]> rows, int column) {
+            super(rows, column);
+            this.millis = new long[rows.size()];
+            this.nanos = new int[rows.size()];
+            for (int i = 0; i < millis.length; i++) {
+                Timestamp value = (Timestamp) rows.get(i)[column];
+                if (value != null) {
+                    millis[i] = value.getTime();
+                    nanos[i] = value.getNanos();
+                }
+            }
+        }
+
+        TimestampVector(@NotNull BitSet nulls, @NotNull long[] millis, @NotNull int[] nanos) {
+            super(nulls);
+            this.millis = millis;
+            this.nanos = nanos;
+        }
+
+        @NotNull
+        @Override
+        Object getNotNull(int row) {
+            Timestamp value = new Timestamp(millis[row]);
+            value.setNanos(nanos[row]);
+            return value;
+        }
+
+        @Override
+        byte getVectorType() {
+            return VECTOR_TIMESTAMP;
+        }
+
+        @Override
+        void writeValues(@NotNull DataOutput out) throws IOException {
+            for (int i = 0; i < millis.length; i++) {
+                out.writeLong(millis[i]);
+                out.writeInt(nanos[i]);
+            }
+        }
+    }
+
+    private static class StringVector extends NullableVector {
+        @NotNull
+        private final int[] codes;
+        @NotNull
+        private final String[] dictionary;
+
+        StringVector(@NotNull List<Object[]> rows, int column) {
+            super(rows, column);
+            this.codes = new int[rows.size()];
+            Map<String, Integer> dictMap = new HashMap<>();
+            for (int i = 0; i < codes.length; i++) {
+                String value = (String) rows.get(i)[column];
+                if (value != null) {
+                    Integer code = dictMap.get(value);
+                    if (code == null) {
+                        code = dictMap.size();
+                        dictMap.put(value, code);
+                    }
+                    codes[i] = code;
+                }
+            }
+            this.dictionary = new String[dictMap.size()];
+            for (Map.Entry<String, Integer> entry : dictMap.entrySet()) {
+                dictionary[entry.getValue()] = entry.getKey();
+            }
+        }
+
+        StringVector(@NotNull BitSet nulls, @NotNull int[] codes, @NotNull String[] dictionary) {
+            super(nulls);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        @NotNull
+        @Override
+        Object getNotNull(int row) {
+            return dictionary[codes[row]];
+        }
+
+        @Override
+        byte getVectorType() {
+            return VECTOR_STRING;
+        }
+
+        @Override
+        void writeValues(@NotNull DataOutput out) throws IOException {
+            out.writeInt(dictionary.length);
+            for (String value : dictionary) {
+                out.writeInt(value.length());
+                out.writeChars(value);
+            }
+            for (int code : codes) {
+                out.writeInt(code);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.data.DBDDataReceiverInteractive;
+import org.jkiss.dbeaver.model.data.DBDValueReader;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.data.DBDValueError;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -46,6 +47,8 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBinding[] metaColumns;
+    // Column readers of the current result set
+    private DBDValueReader[] valueReaders;
     private List<Object[]> rows = new ArrayList<>();
     private boolean hasMoreData;
     private boolean nextSegmentRead;
@@ -94,6 +97,7 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         throws DBCException {
         this.errorList.clear();
         this.rows.clear();
+        this.valueReaders = null;
         this.offset = offset;
         this.maxRows = maxRows;
 
@@ -116,18 +120,17 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
 
     @Override
     public void fetchRow(DBCSession session, DBCResultSet resultSet) {
+        if (valueReaders == null) {
+            valueReaders = createValueReaders(resultSet);
+        }
         Object[] row = new Object[columnsCount];
         for (int i = 0; i < columnsCount; i++) {
+            DBDValueReader valueReader = valueReaders[i];
+            if (valueReader == null) {
+                continue;
+            }
             try {
-                DBSAttributeBase metaAttribute = metaColumns[i].getAttribute();
-                if (metaAttribute == null) {
-                    continue;
-                }
-                row[i] = metaColumns[i].getValueHandler().fetchValueObject(
-                    session,
-                    resultSet,
-                    metaAttribute,
-                    metaColumns[i].getOrdinalPosition());
+                row[i] = valueReader.readValue(session, resultSet);
             } catch (Throwable e) {
                 // Do not reports the same error multiple times
                 // There are a lot of error could occur during result set fetch
@@ -152,6 +155,21 @@ class ResultSetDataReceiver implements DBDDataReceiver, DBDDataReceiverInteracti
         rows.add(row);
     }
 
+    @NotNull
+    private DBDValueReader[] createValueReaders(@NotNull DBCResultSet resultSet) {
+        DBDValueReader[] readers = new DBDValueReader[columnsCount];
+        for (int i = 0; i < columnsCount; i++) {
+            DBSAttributeBase metaAttribute = metaColumns[i].getAttribute();
+            if (metaAttribute != null) {
+                readers[i] = metaColumns[i].getValueHandler().createValueReader(
+                    resultSet,
+                    metaAttribute,
+                    metaColumns[i].getOrdinalPosition());
+            }
+        }
+        return readers;
+    }
+
     @Override
     public void fetchEnd(DBCSession session, final DBCResultSet resultSet) {
         if (!nextSegmentRead) {
@@ -25,6 +25,7 @@ import org.eclipse.ui.progress.UIJob;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDKeysetPosition;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.ILoadService;
@@ -45,6 +46,7 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
     private Throwable error;
     private DBCStatistics statistics;
     private boolean refresh;
+    private DBDKeysetPosition keysetPosition;
 
     ResultSetJobDataRead(
         @NotNull DBSDataContainer dataContainer,
@@ -70,6 +72,10 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
         this.refresh = refresh;
     }
 
+    public void setKeysetPosition(DBDKeysetPosition keysetPosition) {
+        this.keysetPosition = keysetPosition;
+    }
+
     public Throwable getError() {
         return error;
     }
@@ -106,10 +112,19 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
         if (refresh) {
             fetchFlags |= DBSDataContainer.FLAG_REFRESH;
         }
-        long finalFlags = fetchFlags;
 
         final DBSDataContainer dataContainer = executionSource.getDataContainer();
-        final DBDDataFilter dataFilter = executionSource.getUseDataFilter();
+        DBDDataFilter useDataFilter = executionSource.getUseDataFilter();
+        if (keysetPosition != null) {
+            if (offset == 0) {
+                keysetPosition.reset();
+            }
+            useDataFilter = useDataFilter == null ? new DBDDataFilter() : new DBDDataFilter(useDataFilter);
+            useDataFilter.setKeysetPosition(keysetPosition);
+            fetchFlags |= DBSDataContainer.FLAG_KEYSET_PAGINATION;
+        }
+        final DBDDataFilter dataFilter = useDataFilter;
+        long finalFlags = fetchFlags;
 
         progressMonitor.beginTask("Read data", 1);
         try (DBCSession session = getExecutionContext().openSession(
@@ -124,7 +139,7 @@ abstract class ResultSetJobDataRead extends ResultSetJobAbstract implements ILoa
                         executionSource,
                         session,
                         executionSource.getExecutionController().getDataReceiver(),
-                        executionSource.getUseDataFilter(),
+                        dataFilter,
                         offset,
                         maxRows,
                         finalFlags,
@@ -71,6 +71,10 @@ public class ResultSetModel {
     private DBCTrace trace;
     private transient boolean metadataChanged;
     private transient boolean metadataDynamic;
+    // Max number of rows kept in heap. Zero means no limit.
+    private int spillThreshold;
+    @Nullable
+    private ResultSetSpillStorage spillStorage;
 
     public static class AttributeColorSettings {
         private DBCLogicalOperator operator;
@@ -360,9 +364,13 @@ public class ResultSetModel {
         return curRows;
     }
 
+    /**
+     * Returns row values for reading (see {@link ResultSetRow#readValues()}).
+     * Returned array must not be modified.
+     */
     @NotNull
     public Object[] getRowData(int index) {
-        return curRows.get(index).values;
+        return curRows.get(index).readValues();
     }
 
     @NotNull
@@ -380,28 +388,28 @@ public class ResultSetModel {
 
     @Nullable
     public Object getCellValue(@NotNull ResultSetCellLocation cellLocation) {
-        return DBUtils.getAttributeValue(
+        return getCellValue(
             cellLocation.getAttribute(),
-            attributes,
-            cellLocation.getRow().values,
+            cellLocation.getRow(),
             cellLocation.getRowIndexes());
     }
 
     @Nullable
     public Object getCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row) {
-        return DBUtils.getAttributeValue(
-            attribute,
-            attributes,
-            row.values,
-            null);
+        return getCellValue(attribute, row, null);
     }
 
     @Nullable
     public Object getCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row, @Nullable int[] rowIndexes) {
+        if (attribute.getLevel() == 0 && !attribute.isCustom() && attribute.getTopParent() == attribute) {
+            // Plain top-level attribute - read value directly, without row materialization
+            int index = attribute.getOrdinalPosition();
+            return index < row.getValueCount() ? row.getValue(index) : null;
+        }
         return DBUtils.getAttributeValue(
             attribute,
             attributes,
-            row.values,
+            row.readValues(),
             rowIndexes);
     }
 
@@ -446,7 +454,7 @@ public class ResultSetModel {
             rootIndex = attr.getTopParent().getOrdinalPosition();
         }
         int rowIndex = 0;
-        Object rootValue = row.values[rootIndex];
+        Object rootValue = row.getValue(rootIndex);
         Object ownerValue = depth > 0 ? rootValue : null;
         {
             // Obtain owner value and create all intermediate values
@@ -556,7 +564,7 @@ public class ResultSetModel {
                     e.printStackTrace();
                 }
             } else {
-                row.values[rootIndex] = value;
+                row.setValue(rootIndex, value);
             }
             return true;
         }
@@ -869,8 +877,16 @@ public class ResultSetModel {
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
+        ResultSetColumnStore columnStore = ResultSetColumnStore.build(rows);
+        if (columnStore != null && spillThreshold > 0) {
+            if (spillStorage == null) {
+                spillStorage = new ResultSetSpillStorage(spillThreshold);
+            }
+            spillStorage.addStore(columnStore);
+        }
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
+            newRows.add(columnStore != null ?
+                new ResultSetRow(firstRowNum + i, columnStore, i) :
                 new ResultSetRow(firstRowNum + i, rows.get(i)));
         }
         curRows.addAll(newRows);
@@ -973,8 +989,18 @@ public class ResultSetModel {
         }
     }
 
+    /**
+     * Sets max number of fetched rows kept in heap. Older rows are spilled to disk.
+     * Applies to rows fetched after this call.
+     */
+    void setSpillThreshold(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
     void releaseAllData() {
         final List<ResultSetRow> oldRows = curRows;
+        final ResultSetSpillStorage oldSpillStorage = spillStorage;
+        this.spillStorage = null;
         // Cleanup in separate job.
         // Sometimes model cleanup takes much time (e.g. freeing LOB values)
         // So let's do it in separate job to avoid UI locking
@@ -982,6 +1008,9 @@ public class ResultSetModel {
             for (ResultSetRow row : oldRows) {
                 row.release();
             }
+            if (oldSpillStorage != null) {
+                oldSpillStorage.close();
+            }
         }, "Release values", 5000);
     }
 
@@ -1112,27 +1141,18 @@ public class ResultSetModel {
         curRows.sort(Comparator.comparingInt(ResultSetRow::getRowNumber));
 
         if (hasOrdering) {
-            // Sort locally
-            final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-            curRows.sort((row1, row2) -> {
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(new ResultSetCellLocation(binding, row1));
-                    Object cell2 = getCellValue(new ResultSetCellLocation(binding, row2));
-                    result = DBUtils.compareDataValues(cell1, cell2);
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
+            // Sort locally. Extract keys once and then sort row positions.
+            final ResultSetRowSorter sorter = new ResultSetRowSorter();
+            for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+                final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    sorter.addKey(this, curRows, binding, co.isOrderDescending());
                 }
-                return result;
-            });
+            }
+            final List<ResultSetRow> sortedRows = sorter.sort(curRows);
+            for (int i = 0; i < sortedRows.size(); i++) {
+                curRows.set(i, sortedRows.get(i));
+            }
         }
         for (int i = 0; i < curRows.size(); i++) {
             curRows.get(i).setVisualNumber(i);
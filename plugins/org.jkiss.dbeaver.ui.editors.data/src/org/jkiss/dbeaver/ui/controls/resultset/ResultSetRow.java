@@ -49,9 +49,12 @@ public class ResultSetRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Column values. Null while row is backed by column store.
+    @Nullable
+    private Object[] values;
+    @Nullable
+    private ResultSetColumnStore store;
+    private int storeRow;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -66,11 +69,68 @@ public class ResultSetRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetColumnStore store, int storeRow) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.store = store;
+        this.storeRow = storeRow;
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns mutable row values array.
+     * Detaches row from column store (if any), so prefer {@link #getValue(int)} for reading.
+     */
     @NotNull
     public Object[] getValues() {
+        if (values == null) {
+            values = readValues();
+            store = null;
+        }
         return values;
     }
 
+    /**
+     * Returns row values for reading. Doesn't detach row from column store.
+     * Returned array must not be modified.
+     */
+    @NotNull
+    public Object[] readValues() {
+        if (values != null) {
+            return values;
+        }
+        assert store != null;
+        Object[] copy = new Object[store.getColumnCount()];
+        store.copyRow(storeRow, copy);
+        return copy;
+    }
+
+    void setValues(@NotNull Object[] values) {
+        this.values = values;
+        this.store = null;
+    }
+
+    public int getValueCount() {
+        if (values != null) {
+            return values.length;
+        }
+        assert store != null;
+        return store.getColumnCount();
+    }
+
+    @Nullable
+    public Object getValue(int index) {
+        if (values != null) {
+            return values[index];
+        }
+        assert store != null;
+        return store.getValue(storeRow, index);
+    }
+
+    public void setValue(int index, @Nullable Object value) {
+        getValues()[index] = value;
+    }
+
     public boolean isChanged() {
         return changes != null && !changes.isEmpty();
     }
@@ -127,8 +187,12 @@ public class ResultSetRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        // Encoded values never hold resources
+        if (values != null || (store != null && !store.isSpillable())) {
+            int count = getValueCount();
+            for (int i = 0; i < count; i++) {
+                DBUtils.releaseValue(getValue(i));
+            }
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
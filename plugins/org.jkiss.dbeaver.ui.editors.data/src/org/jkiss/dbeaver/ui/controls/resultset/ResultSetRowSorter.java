@@ -0,0 +1,189 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Client-side row sorter.
+ * <p>
+ * Sort keys are extracted once per row (as primitives if all column values are integral or floating point numbers)
+ * and then row positions are sorted with stable parallel merge sort.
+ */
+class ResultSetRowSorter {
+
+    private final List<SortKey> keys = new ArrayList<>();
+
+    /**
+     * Adds sort key. Keys are compared in order of addition.
+     */
+    void addKey(@NotNull ResultSetModel model, @NotNull List<ResultSetRow> rows, @NotNull DBDAttributeBinding binding, boolean descending) {
+        final int rowCount = rows.size();
+        final Object[] values = new Object[rowCount];
+        boolean allIntegral = true, allFloating = true;
+        for (int i = 0; i < rowCount; i++) {
+            Object value = model.getCellValue(binding, rows.get(i));
+            if (DBUtils.isNullValue(value)) {
+                continue;
+            }
+            values[i] = value;
+            if (allIntegral && !isIntegral(value)) {
+                allIntegral = false;
+            }
+            if (allFloating && !(value instanceof Double || value instanceof Float)) {
+                allFloating = false;
+            }
+        }
+        if (allIntegral) {
+            keys.add(new LongKey(values, descending));
+        } else if (allFloating) {
+            keys.add(new DoubleKey(values, descending));
+        } else {
+            keys.add(new ObjectKey(values, descending));
+        }
+    }
+
+    /**
+     * Returns rows in sorted order. Rows with equal keys keep their relative order.
+     */
+    @NotNull
+    List<ResultSetRow> sort(@NotNull List<ResultSetRow> rows) {
+        final int rowCount = rows.size();
+        Integer[] order = new Integer[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            order[i] = i;
+        }
+        Arrays.parallelSort(order, (pos1, pos2) -> {
+            for (SortKey key : keys) {
+                int result = key.compare(pos1, pos2);
+                if (result != 0) {
+                    return key.descending ? -result : result;
+                }
+            }
+            return 0;
+        });
+        List<ResultSetRow> result = new ArrayList<>(rowCount);
+        for (Integer pos : order) {
+            result.add(rows.get(pos));
+        }
+        return result;
+    }
+
+    private static boolean isIntegral(@NotNull Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private abstract static class SortKey {
+        final boolean descending;
+
+        SortKey(boolean descending) {
+            this.descending = descending;
+        }
+
+        abstract int compare(int pos1, int pos2);
+    }
+
+    /**
+     * Nulls go last (the same way as in {@link DBUtils#compareDataValues(Object, Object)})
+     */
+    private abstract static class PrimitiveKey extends SortKey {
+        final BitSet nulls = new BitSet();
+
+        PrimitiveKey(@NotNull Object[] values, boolean descending) {
+            super(descending);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    nulls.set(i);
+                }
+            }
+        }
+
+        @Override
+        final int compare(int pos1, int pos2) {
+            boolean null1 = nulls.get(pos1), null2 = nulls.get(pos2);
+            if (null1 || null2) {
+                return null1 == null2 ? 0 : (null1 ? 1 : -1);
+            }
+            return compareValues(pos1, pos2);
+        }
+
+        abstract int compareValues(int pos1, int pos2);
+    }
+
+    private static class LongKey extends PrimitiveKey {
+        private final long[] values;
+
+        LongKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            this.values = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    this.values[i] = ((Number) values[i]).longValue();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int pos1, int pos2) {
+            return Long.compare(values[pos1], values[pos2]);
+        }
+    }
+
+    private static class DoubleKey extends PrimitiveKey {
+        private final double[] values;
+
+        DoubleKey(@NotNull Object[] values, boolean descending) {
+            super(values, descending);
+            this.values = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    this.values[i] = ((Number) values[i]).doubleValue();
+                }
+            }
+        }
+
+        @Override
+        int compareValues(int pos1, int pos2) {
+            return Double.compare(values[pos1], values[pos2]);
+        }
+    }
+
+    private static class ObjectKey extends SortKey {
+        private final Object[] values;
+
+        ObjectKey(@NotNull Object[] values, boolean descending) {
+            super(descending);
+            this.values = values;
+        }
+
+        @Override
+        int compare(int pos1, int pos2) {
+            Object value1 = values[pos1], value2 = values[pos2];
+            if (value1 == null || value2 == null) {
+                return value1 == value2 ? 0 : (value1 == null ? 1 : -1);
+            }
+            return DBUtils.compareDataValues(value1, value2);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Spill storage for result set column stores.
+ * <p>
+ * Keeps the recently accessed stores in heap. Once the number of resident rows exceeds
+ * the limit, stores which weren't accessed since the previous eviction are written to a temp file
+ * and unloaded (second chance algorithm, so reading resident values doesn't need any locks).
+ * Spilled stores are read back on access. If spilled data can't be read the read fails,
+ * values are never replaced with nulls.
+ */
+class ResultSetSpillStorage {
+
+    private static final Log log = Log.getLog(ResultSetSpillStorage.class);
+
+    private static final String SPILL_FOLDER = "resultset-spill";
+
+    private final int maxResidentRows;
+    // Eviction queue, eldest store comes first
+    private final LinkedHashSet<ResultSetColumnStore> residentStores = new LinkedHashSet<>();
+    private int residentRows;
+
+    @Nullable
+    private FileChannel channel;
+    private long writePosition;
+    private boolean spillFailed;
+    private boolean closed;
+
+    ResultSetSpillStorage(int maxResidentRows) {
+        this.maxResidentRows = maxResidentRows;
+    }
+
+    /**
+     * Registers new (resident) store
+     */
+    synchronized void addStore(@NotNull ResultSetColumnStore store) {
+        if (closed || !store.isSpillable()) {
+            return;
+        }
+        store.setSpillStorage(this);
+        residentStores.add(store);
+        residentRows += store.getRowCount();
+        evictStores(store);
+    }
+
+    /**
+     * Loads store columns from spill file (if store wasn't loaded by another thread already).
+     *
+     * @throws IllegalStateException if spilled rows can't be read
+     */
+    @NotNull
+    synchronized ResultSetColumnStore.ColumnVector[] load(@NotNull ResultSetColumnStore store) {
+        ResultSetColumnStore.ColumnVector[] columns = store.getResidentColumns();
+        if (columns != null) {
+            return columns;
+        }
+        try {
+            columns = loadStore(store);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading result set rows spilled to disk", e);
+        }
+        residentStores.add(store);
+        residentRows += store.getRowCount();
+        evictStores(store);
+        return columns;
+    }
+
+    synchronized void close() {
+        closed = true;
+        residentStores.clear();
+        residentRows = 0;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error closing result set spill file", e);
+            }
+            channel = null;
+        }
+    }
+
+    private void evictStores(@NotNull ResultSetColumnStore keepStore) {
+        if (spillFailed || residentRows <= maxResidentRows) {
+            return;
+        }
+        // Stores accessed since the previous eviction get second chance
+        List<ResultSetColumnStore> accessedStores = new ArrayList<>();
+        for (Iterator<ResultSetColumnStore> iter = residentStores.iterator(); iter.hasNext() && residentRows > maxResidentRows; ) {
+            ResultSetColumnStore store = iter.next();
+            if (store == keepStore) {
+                continue;
+            }
+            if (store.resetAccessed()) {
+                iter.remove();
+                accessedStores.add(store);
+                continue;
+            }
+            if (!evictStore(store)) {
+                break;
+            }
+            iter.remove();
+        }
+        residentStores.addAll(accessedStores);
+        for (Iterator<ResultSetColumnStore> iter = residentStores.iterator(); iter.hasNext() && residentRows > maxResidentRows; ) {
+            ResultSetColumnStore store = iter.next();
+            if (store == keepStore) {
+                continue;
+            }
+            if (!evictStore(store)) {
+                break;
+            }
+            iter.remove();
+        }
+    }
+
+    private boolean evictStore(@NotNull ResultSetColumnStore store) {
+        if (spillFailed) {
+            return false;
+        }
+        if (store.spillOffset < 0) {
+            try {
+                writeStore(store);
+            } catch (IOException e) {
+                log.error("Error spilling result set rows to disk. Keep all rows in memory.", e);
+                spillFailed = true;
+                return false;
+            }
+        }
+        store.unload();
+        residentRows -= store.getRowCount();
+        return true;
+    }
+
+    private void writeStore(@NotNull ResultSetColumnStore store) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            store.write(out);
+        }
+        FileChannel channel = getChannel();
+        ByteBuffer data = ByteBuffer.wrap(buffer.toByteArray());
+        long position = writePosition;
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+        store.spillOffset = writePosition;
+        store.spillLength = buffer.size();
+        writePosition = position;
+    }
+
+    @NotNull
+    private ResultSetColumnStore.ColumnVector[] loadStore(@NotNull ResultSetColumnStore store) throws IOException {
+        if (channel == null || store.spillOffset < 0) {
+            throw new IOException("Result set rows weren't spilled or spill file was closed");
+        }
+        // Read into heap buffer. Mapped regions can't be released explicitly and block file deletion on Windows.
+        ByteBuffer data = ByteBuffer.allocate(store.spillLength);
+        long position = store.spillOffset;
+        while (data.hasRemaining()) {
+            int count = channel.read(data, position);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of result set spill file");
+            }
+            position += count;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data.array()))) {
+            return store.restore(in);
+        }
+    }
+
+    @NotNull
+    private FileChannel getChannel() throws IOException {
+        if (channel == null) {
+            Path folder = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), SPILL_FOLDER);
+            Path spillFile = Files.createTempFile(folder, "rows", ".spill");
+            spillFile.toFile().deleteOnExit();
+            channel = FileChannel.open(
+                spillFile,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        return channel;
+    }
+}
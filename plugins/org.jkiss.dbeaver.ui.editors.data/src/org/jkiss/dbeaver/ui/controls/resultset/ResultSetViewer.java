@@ -205,6 +205,8 @@ public class ResultSetViewer extends Viewer
     private int[] selectedRecords = new int[0];
 
     private Integer segmentFetchSize;
+    // Last fetched key for keyset pagination. Created on first page read
+    private DBDKeysetPosition keysetPosition;
 
     private final List<IResultSetListener> listeners = new ArrayList<>();
 
@@ -2357,6 +2359,7 @@ public class ResultSetViewer extends Viewer
             return;
         }
         this.curRow = null;
+        this.model.setSpillThreshold(getPreferenceStore().getInt(ResultSetPreferences.RESULT_SET_SPILL_THRESHOLD));
         this.model.setData(rows);
         this.curRow = (this.model.getRowCount() > 0 ? this.model.getRow(0) : null);
         if (focusRow > 0 && focusRow < model.getRowCount()) {
@@ -4115,6 +4118,12 @@ public class ResultSetViewer extends Viewer
         dataPumpJob.setOffset(offset);
         dataPumpJob.setMaxRows(maxRows);
         dataPumpJob.setRefresh(refresh);
+        if (offset == 0) {
+            // Next pages may continue after the last key only if the first page was read the same way
+            keysetPosition = dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_KEYSET_PAGINATION) &&
+                getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_KEYSET_PAGINATION) ? new DBDKeysetPosition() : null;
+        }
+        dataPumpJob.setKeysetPosition(keysetPosition);
 
         queueDataPump(dataPumpJob);
 
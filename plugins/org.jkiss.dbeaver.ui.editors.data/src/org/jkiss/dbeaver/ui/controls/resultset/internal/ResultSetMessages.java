@@ -42,6 +42,7 @@ public class ResultSetMessages extends NLS {
     public static String controls_resultset_grouping_clear;
     public static String controls_resultset_grouping_default_sorting;
     public static String controls_resultset_grouping_show_duplicates_only;
+    public static String controls_resultset_grouping_local;
 
     public static String controls_resultset_viewer_action_edit;
     public static String controls_resultset_viewer_action_order_filter;
@@ -295,6 +296,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_auto_fetch_segment_tip;
     public static String pref_page_database_resultsets_label_reread_on_scrolling;
     public static String pref_page_database_resultsets_label_reread_on_scrolling_tip;
+    public static String pref_page_database_resultsets_label_keyset_pagination;
+    public static String pref_page_database_resultsets_label_keyset_pagination_tip;
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_use_sql_tip;
     public static String pref_page_database_resultsets_label_order_mode;
@@ -325,6 +328,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_general_label_result_set_max_size;
     public static String pref_page_database_general_label_result_set_cancel_timeout;
     public static String pref_page_database_general_label_result_set_cancel_timeout_tip;
+    public static String pref_page_database_general_label_result_set_spill_threshold;
+    public static String pref_page_database_general_label_result_set_spill_threshold_tip;
 
     public static String pref_page_results_group_advanced;
     public static String pref_page_sql_editor_group_misc;
@@ -384,6 +389,7 @@ public class ResultSetMessages extends NLS {
     public static String grouping_panel_error_title;
     public static String grouping_panel_error_change_sort_message;
     public static String grouping_panel_error_change_duplicate_presentation_message;
+    public static String grouping_panel_error_change_local_grouping_message;
 
     public static String refs_label;
     public static String refs_no_refs_text;
@@ -407,6 +413,9 @@ public class ResultSetMessages extends NLS {
     public static String aggregate_columns_reset_text;
     public static String aggregate_columns_copy_value_text;
     public static String aggregate_columns_copy_all_text;
+    public static String aggregate_columns_approximate_text;
+    public static String aggregate_columns_approximate_tip;
+    public static String aggregate_columns_job_name;
     public static String result_set_view_menu_text;
     public static String result_set_stat_columns;
     public static String result_set_stat_rows;
@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.*;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
@@ -33,6 +35,8 @@ import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
 import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -58,6 +62,10 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     public static final String SETTINGS_SECTION_AGGREGATE = "panel-" + PANEL_ID;
     public static final String PARAM_GROUP_BY_COLUMNS = "groupByColumns";
     public static final String PARAM_GROUP_AS_STRINGS = "groupAsStrings";
+    public static final String PARAM_APPROXIMATE = "approximate";
+
+    // Bigger selections are aggregated in background job
+    private static final int MAX_FOREGROUND_VALUES = 10000;
 
     private static final DecimalFormat DOUBLE_FORMAT = new DecimalFormat("###,###,###,###,###,##0.###");
     private static final DecimalFormat INTEGER_FORMAT = new DecimalFormat("###,###,###,###,###,##0");
@@ -67,11 +75,13 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     private boolean groupByColumns;
     private boolean aggregateAsStrings;
+    private boolean approximate;
     //private boolean runServerQueries;
 
     private IDialogSettings panelSettings;
 
     private final List<AggregateFunctionDescriptor> enabledFunctions = new ArrayList<>();
+    private AbstractJob aggregateJob;
 
     public AggregateColumnsPanel() {
     }
@@ -127,6 +137,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void loadSettings() {
         aggregateAsStrings = panelSettings.getBoolean(PARAM_GROUP_AS_STRINGS);
         groupByColumns = panelSettings.getBoolean(PARAM_GROUP_BY_COLUMNS);
+        approximate = panelSettings.getBoolean(PARAM_APPROXIMATE);
         IDialogSettings functionsSection = panelSettings.getSection("functions");
         if (functionsSection != null) {
             final Map<AggregateFunctionDescriptor, Integer> funcIndexes = new HashMap<>();
@@ -164,6 +175,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void saveSettings() {
         panelSettings.put(PARAM_GROUP_BY_COLUMNS, groupByColumns);
         panelSettings.put(PARAM_GROUP_AS_STRINGS, aggregateAsStrings);
+        panelSettings.put(PARAM_APPROXIMATE, approximate);
         IDialogSettings functionsSection = UIUtils.getSettingsSection(panelSettings, "functions");
 
         for (AggregateFunctionDescriptor func : FunctionsRegistry.getInstance().getAggregateFunctions()) {
@@ -195,14 +207,31 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     @Override
     public void refresh(boolean force) {
+        if (aggregateJob != null) {
+            aggregateJob.cancel();
+            aggregateJob = null;
+        }
+        List<AggregateTask> tasks = new ArrayList<>();
         aggregateTable.setRedraw(false);
         try {
             aggregateTable.removeAll();
             if (this.presentation instanceof ISelectionProvider) {
                 ISelection selection = ((ISelectionProvider) presentation).getSelection();
                 if (selection instanceof IResultSetSelection) {
-                    aggregateSelection((IResultSetSelection)selection);
+                    aggregateSelection((IResultSetSelection)selection, tasks);
+                }
+            }
+            int valueCount = 0;
+            for (AggregateTask task : tasks) {
+                valueCount += task.values.size();
+            }
+            if (valueCount <= MAX_FOREGROUND_VALUES) {
+                for (AggregateTask task : tasks) {
+                    task.aggregate(null);
+                    task.showResults();
                 }
+            } else {
+                scheduleAggregation(tasks);
             }
             UIUtils.packColumns(aggregateTable, false, null);
         } finally {
@@ -216,7 +245,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         fillToolBar(manager);
     }
 
-    private void aggregateSelection(IResultSetSelection selection) {
+    private void aggregateSelection(IResultSetSelection selection, List<AggregateTask> tasks) {
         ResultSetModel model = presentation.getController().getModel();
         if (groupByColumns) {
             Map<DBDAttributeBinding, List<Object>> attrValues = new LinkedHashMap<>();
@@ -232,7 +261,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
                 TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
                 attrItem.setText(entry.getKey().getName());
                 attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(entry.getKey())));
-                aggregateValues(attrItem, entry.getValue());
+                tasks.add(aggregateValues(attrItem, entry.getValue()));
                 attrItem.setExpanded(true);
             }
         } else {
@@ -243,11 +272,11 @@ public class AggregateColumnsPanel implements IResultSetPanel {
                 Object cellValue = model.getCellValue(attr, row);
                 allValues.add(cellValue);
             }
-            aggregateValues(null, allValues);
+            tasks.add(aggregateValues(null, allValues));
         }
     }
 
-    private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
+    private AggregateTask aggregateValues(TreeItem parentItem, Collection<Object> values) {
         List<AggregateFunctionDescriptor> functions = enabledFunctions;
         Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
         for (AggregateFunctionDescriptor funcDesc : functions) {
@@ -262,42 +291,41 @@ public class AggregateColumnsPanel implements IResultSetPanel {
             }
             try {
                 IAggregateFunction func = funcDesc.createFunction();
+                func.setApproximate(approximate);
                 funcMap.put(func, funcItem);
             } catch (DBException e) {
                 log.error(e);
             }
         }
+        return new AggregateTask(values, funcMap, aggregateAsStrings);
+    }
 
-        IAggregateFunction[] funcs = funcMap.keySet().toArray(new IAggregateFunction[funcMap.size()]);
-        int[] funcCount = new int[funcs.length];
-        for (Object element : values) {
-            for (int i = 0; i < funcs.length; i++) {
-                if (funcs[i].accumulate(element, aggregateAsStrings)) {
-                    funcCount[i]++;
-                }
-            }
-        }
-        for (int i = 0; i < funcs.length; i++) {
-            if (funcCount[i] <= 0) {
-                continue;
+    private void scheduleAggregation(List<AggregateTask> tasks) {
+        aggregateJob = new AbstractJob(ResultSetMessages.aggregate_columns_job_name) {
+            {
+                setSystem(true);
             }
-            IAggregateFunction func = funcs[i];
-            Object result = func.getResult(funcCount[i]);
-            if (result != null) {
-                TreeItem treeItem = funcMap.get(func);
-                String strValue;
-                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
-                    strValue = DOUBLE_FORMAT.format(result);
-                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
-                    strValue = INTEGER_FORMAT.format(result);
-                } else {
-                    strValue = result.toString();
-                }
-                if (strValue != null) {
-                    treeItem.setText(1, strValue);
+
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                for (AggregateTask task : tasks) {
+                    if (!task.aggregate(monitor)) {
+                        return Status.CANCEL_STATUS;
+                    }
                 }
+                UIUtils.asyncExec(() -> {
+                    if (aggregateTable.isDisposed()) {
+                        return;
+                    }
+                    for (AggregateTask task : tasks) {
+                        task.showResults();
+                    }
+                    UIUtils.packColumns(aggregateTable, false, null);
+                });
+                return Status.OK_STATUS;
             }
-        }
+        };
+        aggregateJob.schedule();
     }
 
     public void clearValue()
@@ -313,6 +341,74 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         contributionManager.add(new Separator());
         contributionManager.add(new GroupByColumnsAction());
         contributionManager.add(new ValueTypeToggleAction());
+        contributionManager.add(new ApproximateToggleAction());
+    }
+
+    /**
+     * Values of one aggregated group and functions applied to them.
+     * Values are accumulated outside of UI thread, results are shown in UI thread.
+     */
+    private static class AggregateTask {
+        private final Collection<Object> values;
+        private final IAggregateFunction[] funcs;
+        private final TreeItem[] funcItems;
+        private final boolean aggregateAsStrings;
+        private final Object[] results;
+
+        AggregateTask(Collection<Object> values, Map<IAggregateFunction, TreeItem> funcMap, boolean aggregateAsStrings) {
+            this.values = values;
+            this.funcs = funcMap.keySet().toArray(new IAggregateFunction[0]);
+            this.funcItems = new TreeItem[funcs.length];
+            for (int i = 0; i < funcs.length; i++) {
+                funcItems[i] = funcMap.get(funcs[i]);
+            }
+            this.aggregateAsStrings = aggregateAsStrings;
+            this.results = new Object[funcs.length];
+        }
+
+        /**
+         * Returns false if aggregation was canceled
+         */
+        boolean aggregate(DBRProgressMonitor monitor) {
+            int[] funcCount = new int[funcs.length];
+            int valueIndex = 0;
+            for (Object element : values) {
+                if (monitor != null && (++valueIndex % 1000) == 0 && monitor.isCanceled()) {
+                    return false;
+                }
+                for (int i = 0; i < funcs.length; i++) {
+                    if (funcs[i].accumulate(element, aggregateAsStrings)) {
+                        funcCount[i]++;
+                    }
+                }
+            }
+            for (int i = 0; i < funcs.length; i++) {
+                if (funcCount[i] > 0) {
+                    results[i] = funcs[i].getResult(funcCount[i]);
+                }
+            }
+            return true;
+        }
+
+        void showResults() {
+            for (int i = 0; i < funcs.length; i++) {
+                Object result = results[i];
+                if (result == null || funcItems[i].isDisposed()) {
+                    continue;
+                }
+                String strValue;
+                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
+                    strValue = DOUBLE_FORMAT.format(result);
+                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
+                    strValue = INTEGER_FORMAT.format(result);
+                } else {
+                    strValue = result.toString();
+                }
+                if (strValue != null) {
+                    funcItems[i].setText(1, strValue);
+                }
+            }
+        }
     }
 
     private class GroupByColumnsAction extends Action {
@@ -347,6 +443,22 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    private class ApproximateToggleAction extends Action {
+        public ApproximateToggleAction() {
+            super(ResultSetMessages.aggregate_columns_approximate_text, IAction.AS_CHECK_BOX);
+            setToolTipText(ResultSetMessages.aggregate_columns_approximate_tip);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.CHART_CURVE));
+            setChecked(approximate);
+        }
+
+        @Override
+        public void run() {
+            approximate = !approximate;
+            setChecked(approximate);
+            refresh(false);
+        }
+    }
+
     private class AddFunctionAction extends Action {
         public AddFunctionAction() {
             super(ResultSetMessages.aggregate_columns_add_function_text, DBeaverIcons.getImageDescriptor(UIIcon.OBJ_ADD));
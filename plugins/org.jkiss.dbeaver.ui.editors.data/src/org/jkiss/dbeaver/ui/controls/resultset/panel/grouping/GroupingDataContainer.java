@@ -39,6 +39,8 @@ public class GroupingDataContainer implements DBSDataContainer {
     private IResultSetController parentController;
     private String query;
     private String[] attributes;
+    @Nullable
+    private GroupingLocalAggregator localAggregator;
 
     public GroupingDataContainer(IResultSetController parentController) {
         this.parentController = parentController;
@@ -77,6 +79,9 @@ public class GroupingDataContainer implements DBSDataContainer {
     @NotNull
     @Override
     public DBCStatistics readData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull DBDDataReceiver dataReceiver, DBDDataFilter dataFilter, long firstRow, long maxRows, long flags, int fetchSize) throws DBCException {
+        if (localAggregator != null) {
+            return localAggregator.readData(session, dataReceiver, dataFilter, firstRow, maxRows);
+        }
         DBCStatistics statistics = new DBCStatistics();
         if (query == null) {
             statistics.addMessage("Empty query");
@@ -159,6 +164,13 @@ public class GroupingDataContainer implements DBSDataContainer {
         this.attributes = attributes;
     }
 
+    /**
+     * Sets aggregator of fetched rows. If set then grouping query is ignored.
+     */
+    void setLocalAggregator(@Nullable GroupingLocalAggregator localAggregator) {
+        this.localAggregator = localAggregator;
+    }
+
     @Override
     public String toString() {
         return getName();
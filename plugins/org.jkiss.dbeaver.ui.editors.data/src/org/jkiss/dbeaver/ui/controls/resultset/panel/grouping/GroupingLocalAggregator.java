@@ -0,0 +1,500 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset.panel.grouping;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDContentCached;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.impl.local.LocalResultSet;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
+import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Groups rows fetched in the owner result set on the client side.
+ * Supports COUNT, SUM, AVG, MIN and MAX functions of plain result set attributes.
+ */
+class GroupingLocalAggregator {
+
+    private static final Log log = Log.getLog(GroupingLocalAggregator.class);
+
+    private static final Pattern FUNCTION_PATTERN = Pattern.compile("(\\w+)\\s*\\(\\s*(.+?)\\s*\\)");
+
+    private enum FunctionKind {
+        COUNT,
+        SUM,
+        AVG,
+        MIN,
+        MAX
+    }
+
+    private static class AggregateFunction {
+        final FunctionKind kind;
+        // Null for COUNT(*)
+        @Nullable
+        final DBDAttributeBinding argument;
+        final String label;
+
+        AggregateFunction(FunctionKind kind, @Nullable DBDAttributeBinding argument, String label) {
+            this.kind = kind;
+            this.argument = argument;
+            this.label = label;
+        }
+    }
+
+    private static class GroupKey {
+        // Values of the first row of the group, shown in results
+        final Object[] values;
+        // Values compared the way GROUP BY compares them
+        final Object[] keyValues;
+        final int hashCode;
+
+        GroupKey(Object[] values) {
+            this.values = values;
+            this.keyValues = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                keyValues[i] = normalizeKeyValue(values[i]);
+            }
+            this.hashCode = Arrays.hashCode(keyValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GroupKey && Arrays.equals(keyValues, ((GroupKey) obj).keyValues);
+        }
+
+        private static Object normalizeKeyValue(Object value) {
+            if (value instanceof DBDContentCached) {
+                value = ((DBDContentCached) value).getCachedValue();
+            }
+            if (value instanceof BigDecimal) {
+                // 1.0 and 1.00 are the same group
+                return ((BigDecimal) value).stripTrailingZeros();
+            } else if (value instanceof byte[]) {
+                return ByteBuffer.wrap((byte[]) value);
+            }
+            return value;
+        }
+    }
+
+    private static class GroupState {
+        long rowCount;
+        final long[] counts;
+        final Object[] results;
+
+        GroupState(int functionCount) {
+            this.counts = new long[functionCount];
+            this.results = new Object[functionCount];
+        }
+    }
+
+    private final ResultSetModel sourceModel;
+    // Snapshot of source rows, taken in UI thread
+    private final List<ResultSetRow> sourceRows;
+    private final DBDAttributeBinding[] groupBindings;
+    private final String[] groupLabels;
+    private final AggregateFunction[] functions;
+    private final boolean duplicatesOnly;
+
+    private GroupingLocalAggregator(
+        @NotNull ResultSetModel sourceModel,
+        @NotNull DBDAttributeBinding[] groupBindings,
+        @NotNull String[] groupLabels,
+        @NotNull AggregateFunction[] functions,
+        boolean duplicatesOnly
+    ) {
+        this.sourceModel = sourceModel;
+        this.sourceRows = new ArrayList<>(sourceModel.getAllRows());
+        this.groupBindings = groupBindings;
+        this.groupLabels = groupLabels;
+        this.functions = functions;
+        this.duplicatesOnly = duplicatesOnly;
+    }
+
+    /**
+     * Creates aggregator. Returns null if some group attribute or function can't be evaluated locally.
+     *
+     * @param funcLabels result column labels of grouping functions
+     * @param duplicatesOnly include only groups with more than one row (for default COUNT(*) grouping)
+     */
+    @Nullable
+    static GroupingLocalAggregator create(
+        @NotNull ResultSetModel sourceModel,
+        @NotNull DBPDataSource dataSource,
+        @NotNull List<String> groupAttributes,
+        @NotNull List<String> groupFunctions,
+        @NotNull String[] funcLabels,
+        boolean duplicatesOnly
+    ) {
+        DBDAttributeBinding[] groupBindings = new DBDAttributeBinding[groupAttributes.size()];
+        for (int i = 0; i < groupBindings.length; i++) {
+            groupBindings[i] = findAttribute(sourceModel, dataSource, groupAttributes.get(i));
+            if (groupBindings[i] == null) {
+                log.debug("Grouping attribute '" + groupAttributes.get(i) + "' not found in fetched data");
+                return null;
+            }
+            if (!isGroupingSupported(sourceModel, groupBindings[i])) {
+                log.debug("Grouping attribute '" + groupAttributes.get(i) + "' values can't be compared locally");
+                return null;
+            }
+        }
+        AggregateFunction[] functions = new AggregateFunction[groupFunctions.size()];
+        for (int i = 0; i < functions.length; i++) {
+            String funcText = groupFunctions.get(i);
+            Matcher matcher = FUNCTION_PATTERN.matcher(funcText.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            FunctionKind kind = null;
+            for (FunctionKind fk : FunctionKind.values()) {
+                if (fk.name().equalsIgnoreCase(matcher.group(1))) {
+                    kind = fk;
+                    break;
+                }
+            }
+            if (kind == null) {
+                return null;
+            }
+            String argText = matcher.group(2);
+            DBDAttributeBinding argument = null;
+            if (argText.equals("*")) {
+                if (kind != FunctionKind.COUNT) {
+                    return null;
+                }
+            } else {
+                argument = findAttribute(sourceModel, dataSource, argText);
+                if (argument == null) {
+                    log.debug("Function '" + funcText + "' can't be evaluated on fetched data");
+                    return null;
+                }
+            }
+            functions[i] = new AggregateFunction(kind, argument, funcLabels[i]);
+        }
+        return new GroupingLocalAggregator(
+            sourceModel,
+            groupBindings,
+            groupAttributes.toArray(new String[0]),
+            functions,
+            duplicatesOnly);
+    }
+
+    /**
+     * Values of other kinds (LOBs, structures, arrays) have no value equality, so they are grouped by database.
+     * Binary values are compared by content, so they must be fetched as bytes.
+     */
+    private static boolean isGroupingSupported(@NotNull ResultSetModel model, @NotNull DBDAttributeBinding binding) {
+        switch (binding.getDataKind()) {
+            case BOOLEAN:
+            case NUMERIC:
+            case STRING:
+            case DATETIME:
+                return true;
+            case BINARY:
+                for (ResultSetRow row : model.getAllRows()) {
+                    Object value = model.getCellValue(binding, row);
+                    if (value instanceof DBDContentCached) {
+                        value = ((DBDContentCached) value).getCachedValue();
+                    }
+                    if (!DBUtils.isNullValue(value) && !(value instanceof byte[])) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Nullable
+    private static DBDAttributeBinding findAttribute(@NotNull ResultSetModel model, @NotNull DBPDataSource dataSource, @NotNull String name) {
+        String unquotedName = DBUtils.getUnQuotedIdentifier(dataSource, name);
+        for (DBDAttributeBinding binding : model.getAttributes()) {
+            if (binding.getName().equalsIgnoreCase(unquotedName) || binding.getLabel().equalsIgnoreCase(unquotedName)) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    DBCStatistics readData(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        @Nullable DBDDataFilter dataFilter,
+        long firstRow,
+        long maxRows
+    ) throws DBCException {
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setQueryText(toString());
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+
+        long startTime = System.currentTimeMillis();
+        List<Object[]> groups = aggregate(monitor);
+        if (dataFilter != null) {
+            sortGroups(groups, dataFilter);
+        }
+        statistics.setExecuteTime(System.currentTimeMillis() - startTime);
+
+        LocalStatement statement = new LocalStatement(session, toString());
+        try (LocalResultSet<LocalStatement> resultSet = new LocalResultSet<>(session, statement)) {
+            for (int i = 0; i < groupBindings.length; i++) {
+                resultSet.addColumn(groupLabels[i], groupBindings[i].getAttribute());
+            }
+            for (AggregateFunction function : functions) {
+                if (function.argument != null && (function.kind == FunctionKind.MIN || function.kind == FunctionKind.MAX)) {
+                    resultSet.addColumn(function.label, function.argument.getAttribute());
+                } else {
+                    resultSet.addColumn(function.label, DBPDataKind.NUMERIC);
+                }
+            }
+            long offset = Math.max(firstRow, 0);
+            long lastRow = maxRows > 0 ? offset + maxRows : groups.size();
+            for (long i = offset; i < groups.size() && i < lastRow; i++) {
+                resultSet.addRow(groups.get((int) i));
+            }
+
+            startTime = System.currentTimeMillis();
+            long rowCount = 0;
+            dataReceiver.fetchStart(session, resultSet, firstRow, maxRows);
+            try {
+                while (resultSet.nextRow()) {
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    dataReceiver.fetchRow(session, resultSet);
+                    rowCount++;
+                }
+            } finally {
+                try {
+                    dataReceiver.fetchEnd(session, resultSet);
+                } catch (Throwable e) {
+                    log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+                }
+            }
+            statistics.setFetchTime(System.currentTimeMillis() - startTime);
+            statistics.setRowsFetched(rowCount);
+        } finally {
+            dataReceiver.close();
+        }
+        return statistics;
+    }
+
+    @NotNull
+    private List<Object[]> aggregate(@NotNull DBRProgressMonitor monitor) throws DBCException {
+        // Use linked map to keep groups in order of first appearance
+        Map<GroupKey, GroupState> groupMap = new LinkedHashMap<>();
+        for (ResultSetRow row : sourceRows) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            Object[] keyValues = new Object[groupBindings.length];
+            for (int i = 0; i < groupBindings.length; i++) {
+                keyValues[i] = getValue(groupBindings[i], row);
+            }
+            GroupKey key = new GroupKey(keyValues);
+            GroupState state = groupMap.computeIfAbsent(key, k -> new GroupState(functions.length));
+            state.rowCount++;
+            for (int i = 0; i < functions.length; i++) {
+                accumulate(functions[i], state, i, row);
+            }
+        }
+
+        List<Object[]> result = new ArrayList<>(groupMap.size());
+        for (Map.Entry<GroupKey, GroupState> entry : groupMap.entrySet()) {
+            GroupKey key = entry.getKey();
+            GroupState state = entry.getValue();
+            if (duplicatesOnly && state.rowCount <= 1) {
+                continue;
+            }
+            Object[] groupRow = new Object[groupBindings.length + functions.length];
+            System.arraycopy(key.values, 0, groupRow, 0, key.values.length);
+            for (int i = 0; i < functions.length; i++) {
+                groupRow[key.values.length + i] = getResult(functions[i], state, i);
+            }
+            result.add(groupRow);
+        }
+        return result;
+    }
+
+    private void accumulate(@NotNull AggregateFunction function, @NotNull GroupState state, int index, @NotNull ResultSetRow row) throws DBCException {
+        if (function.argument == null) {
+            // COUNT(*)
+            state.counts[index]++;
+            return;
+        }
+        Object value = getValue(function.argument, row);
+        if (value == null) {
+            return;
+        }
+        state.counts[index]++;
+        switch (function.kind) {
+            case SUM:
+            case AVG: {
+                BigDecimal sum = (BigDecimal) state.results[index];
+                BigDecimal number = toDecimal(function, value);
+                state.results[index] = sum == null ? number : sum.add(number);
+                break;
+            }
+            case MIN:
+            case MAX: {
+                Object curValue = state.results[index];
+                if (curValue == null) {
+                    state.results[index] = value;
+                } else {
+                    int cmp = DBUtils.compareDataValues(value, curValue);
+                    if (function.kind == FunctionKind.MIN ? cmp < 0 : cmp > 0) {
+                        state.results[index] = value;
+                    }
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    @Nullable
+    private static Object getResult(@NotNull AggregateFunction function, @NotNull GroupState state, int index) {
+        switch (function.kind) {
+            case COUNT:
+                return state.counts[index];
+            case AVG: {
+                BigDecimal sum = (BigDecimal) state.results[index];
+                return sum == null ? null : sum.divide(BigDecimal.valueOf(state.counts[index]), MathContext.DECIMAL64);
+            }
+            default:
+                return state.results[index];
+        }
+    }
+
+    @NotNull
+    private static BigDecimal toDecimal(@NotNull AggregateFunction function, @NotNull Object value) throws DBCException {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new DBCException("Value '" + value + "' can't be used in " + function.kind + " function");
+            }
+            return BigDecimal.valueOf(number);
+        }
+        throw new DBCException("Non-numeric value '" + value + "' can't be used in " + function.kind + " function");
+    }
+
+    @Nullable
+    private Object getValue(@NotNull DBDAttributeBinding binding, @NotNull ResultSetRow row) {
+        Object value = sourceModel.getCellValue(binding, row);
+        return DBUtils.isNullValue(value) ? null : value;
+    }
+
+    private void sortGroups(@NotNull List<Object[]> groups, @NotNull DBDDataFilter dataFilter) {
+        List<int[]> orderColumns = new ArrayList<>();
+        for (DBDAttributeConstraint co : dataFilter.getOrderConstraints()) {
+            int index = getColumnIndex(co.getAttributeLabel());
+            if (index < 0) {
+                index = getColumnIndex(co.getAttributeName());
+            }
+            if (index >= 0) {
+                orderColumns.add(new int[]{index, co.isOrderDescending() ? 1 : 0});
+            }
+        }
+        String order = dataFilter.getOrder();
+        if (!CommonUtils.isEmpty(order)) {
+            // Simple "column [ASC|DESC], ..." order expression
+            for (String orderItem : order.split(",")) {
+                String columnName = orderItem.trim();
+                boolean descending = false;
+                int divPos = columnName.lastIndexOf(' ');
+                if (divPos > 0) {
+                    String direction = columnName.substring(divPos + 1);
+                    if (direction.equalsIgnoreCase("DESC") || direction.equalsIgnoreCase("ASC")) {
+                        descending = direction.equalsIgnoreCase("DESC");
+                        columnName = columnName.substring(0, divPos).trim();
+                    }
+                }
+                int index = getColumnIndex(columnName);
+                if (index >= 0) {
+                    orderColumns.add(new int[]{index, descending ? 1 : 0});
+                }
+            }
+        }
+        if (orderColumns.isEmpty()) {
+            return;
+        }
+        groups.sort((row1, row2) -> {
+            for (int[] orderColumn : orderColumns) {
+                int result = DBUtils.compareDataValues(row1[orderColumn[0]], row2[orderColumn[0]]);
+                if (result != 0) {
+                    return orderColumn[1] == 1 ? -result : result;
+                }
+            }
+            return 0;
+        });
+    }
+
+    private int getColumnIndex(@Nullable String label) {
+        if (label == null) {
+            return -1;
+        }
+        for (int i = 0; i < groupLabels.length; i++) {
+            if (groupLabels[i].equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < functions.length; i++) {
+            if (functions[i].label.equalsIgnoreCase(label)) {
+                return groupLabels.length + i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "GROUP BY " + String.join(",", groupLabels) + " (fetched rows)";
+    }
+}
@@ -197,6 +197,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
         groupingViewer.resetHistory();
         dataContainer.setGroupingQuery(null);
         dataContainer.setGroupingAttributes(null);
+        dataContainer.setLocalAggregator(null);
         if (!(groupingViewer.getActivePresentation() instanceof EmptyPresentation)) {
             groupingViewer.showEmptyPresentation();
         }
@@ -208,11 +209,18 @@ public class GroupingResultsContainer implements IResultSetContainer {
             return;
         }
         DBCStatistics statistics = presentation.getController().getModel().getStatistics();
+        DBPDataSource dataSource = dataContainer.getDataSource();
+        if (statistics == null || isLocalGroupingPreferred(dataSource)) {
+            // Group fetched rows if there is no query or all rows were already fetched
+            if (dataSource != null && rebuildLocalGrouping(dataSource)) {
+                return;
+            }
+        }
+        dataContainer.setLocalAggregator(null);
         if (statistics == null) {
             throw new DBException("No main query - can't perform grouping");
         }
         boolean isCustomQuery = !(presentation.getController().getDataContainer() instanceof DBSEntity);
-        DBPDataSource dataSource = dataContainer.getDataSource();
         if (dataSource == null) {
             throw new DBException("No active datasource");
         }
@@ -307,6 +315,41 @@ public class GroupingResultsContainer implements IResultSetContainer {
 
         dataContainer.setGroupingQuery(sql.toString());
         dataContainer.setGroupingAttributes(groupAttributes.toArray(String[]::new));
+        applyGroupingFilter(dataSource, isDefaultGrouping, funcAliases[funcAliases.length - 1]);
+    }
+
+    private boolean isLocalGroupingPreferred(@Nullable DBPDataSource dataSource) {
+        IResultSetController controller = presentation.getController();
+        return dataSource != null &&
+            dataSource.getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_LOCAL) &&
+            controller instanceof ResultSetViewer && !((ResultSetViewer) controller).isHasMoreData();
+    }
+
+    private boolean rebuildLocalGrouping(@NotNull DBPDataSource dataSource) {
+        boolean isDefaultGrouping = groupFunctions.size() == 1 && groupFunctions.get(0).equals(DEFAULT_FUNCTION);
+        boolean isShowDuplicatesOnly = dataSource.getContainer().getPreferenceStore().getBoolean(ResultSetPreferences.RS_GROUPING_SHOW_DUPLICATES_ONLY);
+        String[] funcAliases = new String[groupFunctions.size()];
+        for (int i = 0; i < groupFunctions.size(); i++) {
+            funcAliases[i] = makeGroupFunctionAlias(i);
+        }
+        GroupingLocalAggregator aggregator = GroupingLocalAggregator.create(
+            presentation.getController().getModel(),
+            dataSource,
+            groupAttributes,
+            groupFunctions,
+            funcAliases,
+            isDefaultGrouping && isShowDuplicatesOnly);
+        if (aggregator == null) {
+            return false;
+        }
+        dataContainer.setGroupingQuery(null);
+        dataContainer.setLocalAggregator(aggregator);
+        dataContainer.setGroupingAttributes(groupAttributes.toArray(String[]::new));
+        applyGroupingFilter(dataSource, isDefaultGrouping, funcAliases[funcAliases.length - 1]);
+        return true;
+    }
+
+    private void applyGroupingFilter(@NotNull DBPDataSource dataSource, boolean isDefaultGrouping, @NotNull String lastFuncAlias) {
         DBDDataFilter dataFilter;
         if (presentation.getController().getModel().isMetadataChanged()) {
             dataFilter = new DBDDataFilter();
@@ -326,7 +369,7 @@ public class GroupingResultsContainer implements IResultSetContainer {
                 }
                 dataFilter.setOrder(orderBy.toString());
             } else {
-                dataFilter.setOrder(funcAliases[funcAliases.length - 1] + " " + defaultSorting);
+                dataFilter.setOrder(lastFuncAlias + " " + defaultSorting);
             }
         }
         groupingViewer.setDataFilter(dataFilter, true);
@@ -417,6 +417,7 @@ public class SQLEditorSourceViewerConfiguration extends TextSourceViewerConfigur
         if (reconcilingStrategy == null) {
             return null;
         }
-        return new MonoReconciler(reconcilingStrategy, false);
+        // Incremental: strategy gets dirty regions and re-parses only statements around them
+        return new MonoReconciler(reconcilingStrategy, true);
     }
 }
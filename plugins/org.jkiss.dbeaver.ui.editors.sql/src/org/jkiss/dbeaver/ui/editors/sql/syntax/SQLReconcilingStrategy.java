@@ -167,6 +167,9 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
         if (model == null) {
             return;
         }
+        // Cached elements are registered in annotation model, so document updates their offsets.
+        // Elements removed together with their text are marked as deleted (and their annotations are gone).
+        cache.removeIf(Position::isDeleted);
 
         SQLScriptElementImpl leftBound = cache.lower(new SQLScriptElementImpl(damagedRegionOffset, damagedRegionLength));
         if (leftBound != null) {
@@ -184,19 +187,25 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
             damagedRegionLength = rightBound.getOffset() + rightBound.getLength() - damagedRegionOffset;
         }
 
-        List<SQLScriptElement> parsedQueries = extractQueries(damagedRegionOffset, damagedRegionLength);
-        if (parsedQueries == null) {
-            return;
-        }
-
-        if (rightBound != null && !parsedQueries.isEmpty()) {
-            SQLScriptElement rightmostParsedQuery = parsedQueries.get(parsedQueries.size() - 1);
-            if (!rightBound.equals(getExpandedScriptElement(rightmostParsedQuery))) {
-                parsedQueries = extractQueries(damagedRegionOffset, document.getLength());
-                if (parsedQueries == null) {
-                    return;
-                }
-                rightBound = null;
+        List<SQLScriptElement> parsedQueries;
+        for (int syncDistance = 1; ; syncDistance *= 2) {
+            parsedQueries = extractQueries(damagedRegionOffset, damagedRegionLength);
+            if (parsedQueries == null) {
+                return;
+            }
+            if (rightBound == null || parsedQueries.isEmpty() ||
+                rightBound.equals(getExpandedScriptElement(parsedQueries.get(parsedQueries.size() - 1)))) {
+                break;
+            }
+            // Parsed statements didn't re-synchronize with cached ones (e.g. unclosed quote or comment was typed).
+            // Move right bound further, doubling the distance each time, instead of re-parsing the whole tail.
+            for (int i = 0; i < syncDistance && rightBound != null; i++) {
+                rightBound = cache.higher(rightBound);
+            }
+            if (rightBound == null) {
+                damagedRegionLength = document.getLength() - damagedRegionOffset;
+            } else {
+                damagedRegionLength = rightBound.getOffset() + rightBound.getLength() - damagedRegionOffset;
             }
         }
 
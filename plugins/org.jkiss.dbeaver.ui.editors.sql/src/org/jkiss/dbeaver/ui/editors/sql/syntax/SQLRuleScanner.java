@@ -43,7 +43,10 @@ import java.util.*;
  * Contains information about some concrete datasource underlying database syntax.
  * Support runtime change of datasource (reloads syntax information)
  */
-public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScanner {
+public class SQLRuleScanner extends BufferedRuleBasedScanner implements TPCharacterScanner {
+
+    // Rules read characters from the buffered part of document instead of calling IDocument.getChar for each one
+    private static final int BUFFER_SIZE = 4096;
 
     @NotNull
     private final IThemeManager themeManager;
@@ -58,6 +61,7 @@ public class SQLRuleScanner extends RuleBasedScanner implements TPCharacterScann
     private int keywordStyle = SWT.NORMAL;
 
     public SQLRuleScanner() {
+        super(BUFFER_SIZE);
         this.themeManager = PlatformUI.getWorkbench().getThemeManager();
     }
 
@@ -75,6 +75,7 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
 
     private final static LazyValue DEF_LAZY_VALUE = new LazyValue("..."); //$NON-NLS-1$
     private final static int LAZY_LOAD_DELAY = 100;
+    private final static int LAZY_LOAD_BATCH_SIZE = 200;
     private final static Object NULL_VALUE = new Object();
     private static final String EMPTY_STRING = "";
     private static final String EMPTY_GROUPING_LABEL = "<None>";
@@ -1287,10 +1288,20 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
                 return Status.OK_STATUS;
             }
             monitor.beginTask(UINavigatorMessages.controls_object_list_monitor_load_lazy_props, objectMap.size());
+            // Objects are added in the order they are painted, so visible objects go first
+            List<OBJECT_TYPE> elements = new ArrayList<>(objectMap.keySet());
+            int elementIndex = 0;
             for (Map.Entry<OBJECT_TYPE, List<ObjectColumn>> entry : objectMap.entrySet()) {
                 if (monitor.isCanceled() || isDisposed()) {
                     break;
                 }
+                if (elementIndex % LAZY_LOAD_BATCH_SIZE == 0) {
+                    loadLazyBatch(
+                        monitor,
+                        elements.subList(elementIndex, Math.min(elementIndex + LAZY_LOAD_BATCH_SIZE, elements.size())),
+                        objectMap);
+                }
+                elementIndex++;
                 final OBJECT_TYPE element = entry.getKey();
                 Object object = getObjectValue(element);
                 if (object == null) {
@@ -1354,6 +1365,37 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
             }
             return Status.OK_STATUS;
         }
+
+        /**
+         * Loads lazy properties of a batch of objects with one call per property (if property supports it).
+         * Properties which were loaded this way are then read from the object cache.
+         */
+        private void loadLazyBatch(DBRProgressMonitor monitor, List<OBJECT_TYPE> elements, Map<OBJECT_TYPE, List<ObjectColumn>> objectMap) {
+            Map<ObjectPropertyDescriptor, List<Object>> propObjects = new LinkedHashMap<>();
+            for (OBJECT_TYPE element : elements) {
+                Object object = getObjectValue(element);
+                if (object == null) {
+                    continue;
+                }
+                for (ObjectColumn column : objectMap.get(element)) {
+                    ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
+                    if (prop != null && prop.supportsBulkLoad()) {
+                        propObjects.computeIfAbsent(prop, p -> new ArrayList<>()).add(object);
+                    }
+                }
+            }
+            for (Map.Entry<ObjectPropertyDescriptor, List<Object>> entry : propObjects.entrySet()) {
+                if (monitor.isCanceled() || isDisposed()) {
+                    break;
+                }
+                try {
+                    entry.getKey().loadLazyValues(monitor, entry.getValue());
+                } catch (Throwable e) {
+                    // Values will be read one by one
+                    log.debug("Error loading property '" + entry.getKey().getId() + "' of " + entry.getValue().size() + " objects", e);
+                }
+            }
+        }
     }
 
     protected void addColumnConfigAction(IContributionManager contributionManager) {
@@ -1444,21 +1486,15 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
             buf.append("\n");
         }
         List<OBJECT_TYPE> elementList = itemsViewer.getStructuredSelection().toList();
-        for (OBJECT_TYPE element : elementList) {
-            Object object = getObjectValue(element);
+        Object[][] cellValues = readCellValues(elementList, columnsCount);
+        for (Object[] rowValues : cellValues) {
             for (int i = 0; i < columnsCount; i++) {
-                ObjectPropertyDescriptor property = getColumnByIndex(i).getProperty(object);
-                try {
-                    Object cellValue = property == null ? null : property.readValue(object, new VoidProgressMonitor(), true);
-                    if (i > 0) buf.append("\t");
-                    String strValue = DBValueFormatting.getDefaultValueDisplayString(cellValue, DBDDisplayFormat.UI);
-                    if (strValue.contains("\n") || strValue.contains("\t")) {
-                        strValue = '"' + strValue + '"';
-                    }
-                    buf.append(strValue);
-                } catch (Throwable e) {
-                    // ignore
+                if (i > 0) buf.append("\t");
+                String strValue = DBValueFormatting.getDefaultValueDisplayString(rowValues[i], DBDDisplayFormat.UI);
+                if (strValue.contains("\n") || strValue.contains("\t")) {
+                    strValue = '"' + strValue + '"';
                 }
+                buf.append(strValue);
             }
             buf.append("\n");
         }
@@ -1466,6 +1502,40 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         return buf.toString();
     }
 
+    /**
+     * Reads values of all columns for the specified elements.
+     * Column properties are resolved once per object class and then read for all objects of this class.
+     * Rendering doesn't use it: label providers request cells one by one and values must not be cached there.
+     */
+    private Object[][] readCellValues(List<OBJECT_TYPE> elements, int columnsCount) {
+        Object[][] result = new Object[elements.size()][];
+        Map<Class<?>, List<Integer>> classElements = new LinkedHashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            Object object = getObjectValue(elements.get(i));
+            if (object == null) {
+                result[i] = new Object[columnsCount];
+            } else {
+                classElements.computeIfAbsent(object.getClass(), c -> new ArrayList<>()).add(i);
+            }
+        }
+        VoidProgressMonitor monitor = new VoidProgressMonitor();
+        for (List<Integer> indexes : classElements.values()) {
+            List<Object> objects = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                objects.add(getObjectValue(elements.get(index)));
+            }
+            List<ObjectPropertyDescriptor> properties = new ArrayList<>(columnsCount);
+            for (int i = 0; i < columnsCount; i++) {
+                properties.add(getColumnByIndex(i).getProperty(objects.get(0)));
+            }
+            Object[][] values = ObjectPropertyDescriptor.readValues(objects, properties, monitor, true);
+            for (int i = 0; i < values.length; i++) {
+                result[indexes.get(i)] = values[i];
+            }
+        }
+        return result;
+    }
+
     private class GroupingViewerColumnController<COLUMN, ELEMENT> extends ViewerColumnController<COLUMN, ELEMENT> {
 
         private int[] originalColumnOrder;
@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.impl.jdbc.data.JDBCContentBytes;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class PostgreCopyBinaryEncoderTest {
+
+    @Test
+    public void testSupportedTypes() {
+        Assert.assertTrue(PostgreCopyBinaryEncoder.isSupportedType("int4"));
+        Assert.assertTrue(PostgreCopyBinaryEncoder.isSupportedType("numeric"));
+        Assert.assertTrue(PostgreCopyBinaryEncoder.isSupportedType("timestamptz"));
+        Assert.assertFalse(PostgreCopyBinaryEncoder.isSupportedType("jsonb"));
+        Assert.assertFalse(PostgreCopyBinaryEncoder.isSupportedType("_int4"));
+    }
+
+    @Test
+    public void testFixedLengthValues() throws Exception {
+        ByteBuffer buffer = encode("int4", 42);
+        Assert.assertEquals(4, buffer.getInt());
+        Assert.assertEquals(42, buffer.getInt());
+
+        buffer = encode("int8", "-7");
+        Assert.assertEquals(8, buffer.getInt());
+        Assert.assertEquals(-7L, buffer.getLong());
+
+        buffer = encode("float8", 1.5d);
+        Assert.assertEquals(8, buffer.getInt());
+        Assert.assertEquals(1.5d, buffer.getDouble(), 0);
+
+        buffer = encode("int4", null);
+        Assert.assertEquals(-1, buffer.getInt());
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testDateTimeValues() throws Exception {
+        ByteBuffer buffer = encode("date", LocalDate.of(2000, 1, 11));
+        Assert.assertEquals(4, buffer.getInt());
+        Assert.assertEquals(10, buffer.getInt());
+
+        buffer = encode("timestamp", LocalDateTime.of(1999, 12, 31, 23, 59, 59));
+        Assert.assertEquals(8, buffer.getInt());
+        Assert.assertEquals(-1_000_000L, buffer.getLong());
+    }
+
+    @Test
+    public void testNumericValues() throws Exception {
+        // 12345.678 = 1 2345 6780, weight 1, dscale 3
+        assertNumeric("12345.678", 1, 0x0000, 3, 1, 2345, 6780);
+        // -0.0012 = 0012, weight -1
+        assertNumeric("-0.0012", -1, 0x4000, 4, 12);
+        // 10000 = 1 (0000 is stripped), weight 1
+        assertNumeric("10000", 1, 0x0000, 0, 1);
+        // Zero has no digits
+        assertNumeric("0.00", 0, 0x0000, 2);
+    }
+
+    @Test
+    public void testIntegerRange() throws Exception {
+        Assert.assertEquals(-32768, encode("int2", -32768).getShort(4));
+        Assert.assertEquals(7, encode("int4", new BigDecimal("7.00")).getInt(4));
+        Assert.assertEquals(Long.MAX_VALUE, encode("int8", BigDecimal.valueOf(Long.MAX_VALUE)).getLong(4));
+
+        Assert.assertThrows(DBCException.class, () -> encode("int2", 32768));
+        Assert.assertThrows(DBCException.class, () -> encode("int4", 3_000_000_000L));
+        Assert.assertThrows(DBCException.class, () -> encode("int4", "1.5"));
+        Assert.assertThrows(DBCException.class, () -> encode("int4", Double.NaN));
+        Assert.assertThrows(DBCException.class, () -> encode("int8", "abc"));
+        Assert.assertThrows(DBCException.class, () -> encode("int8", new BigDecimal("1e20")));
+    }
+
+    @Test
+    public void testSpecialNumericValues() throws Exception {
+        assertSpecialNumeric(Double.NaN, 0xC000);
+        assertSpecialNumeric("NaN", 0xC000);
+        assertSpecialNumeric(Double.POSITIVE_INFINITY, 0xD000);
+        assertSpecialNumeric(Float.NEGATIVE_INFINITY, 0xF000);
+        assertSpecialNumeric("-Infinity", 0xF000);
+    }
+
+    @Test
+    public void testDateTimeStrings() throws Exception {
+        Assert.assertEquals(10, encode("date", "2000-01-11").getInt(4));
+        Assert.assertEquals(-1_000_000L, encode("timestamp", "1999-12-31 23:59:59").getLong(4));
+        Assert.assertEquals(1_500_000L, encode("timestamp", "2000-01-01T00:00:01.5").getLong(4));
+        Assert.assertEquals(0L, encode("timestamptz", "2000-01-01 03:00:00+03").getLong(4));
+        Assert.assertEquals(0L, encode("timestamptz", "2000-01-01T00:00:00Z").getLong(4));
+        long localMicros = LocalDateTime.of(2000, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toEpochSecond() * 1_000_000L
+            - 946_684_800L * 1_000_000L;
+        Assert.assertEquals(localMicros, encode("timestamptz", "2000-01-01").getLong(4));
+
+        Assert.assertEquals(Long.MAX_VALUE, encode("timestamp", "infinity").getLong(4));
+        Assert.assertEquals(Integer.MIN_VALUE, encode("date", "-infinity").getInt(4));
+
+        Assert.assertThrows(DBCException.class, () -> encode("timestamp", "yesterday"));
+        Assert.assertThrows(DBCException.class, () -> encode("date", new Object()));
+    }
+
+    @Test
+    public void testByteaValues() throws Exception {
+        byte[] data = {0, 1, (byte) 0xFE, '\\', 'x', (byte) 0xFF};
+        Assert.assertArrayEquals(data, decodeBytes(encode("bytea", data)));
+        Assert.assertArrayEquals(data, decodeBytes(encode("bytea", new JDBCContentBytes(null, data))));
+        Assert.assertArrayEquals(data, decodeBytes(encode("bytea", "\\x0001fe5c78FF")));
+        Assert.assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), decodeBytes(encode("bytea", "abc")));
+
+        // Null content is written as SQL NULL
+        ByteBuffer buffer = encode("bytea", new JDBCContentBytes(null, (byte[]) null));
+        Assert.assertEquals(-1, buffer.getInt());
+        Assert.assertFalse(buffer.hasRemaining());
+
+        Assert.assertThrows(DBCException.class, () -> encode("bytea", "\\x0g"));
+        Assert.assertThrows(DBCException.class, () -> encode("bytea", "\\001"));
+        Assert.assertThrows(DBCException.class, () -> encode("bytea", 42));
+    }
+
+    private static byte[] decodeBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        Assert.assertFalse(buffer.hasRemaining());
+        return bytes;
+    }
+
+    private static void assertSpecialNumeric(Object value, int sign) throws DBCException {
+        ByteBuffer buffer = encode("numeric", value);
+        Assert.assertEquals(8, buffer.getInt());
+        Assert.assertEquals(0, buffer.getShort());
+        Assert.assertEquals(0, buffer.getShort());
+        Assert.assertEquals(sign, buffer.getShort() & 0xFFFF);
+        Assert.assertEquals(0, buffer.getShort());
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    private static void assertNumeric(String value, int weight, int sign, int dscale, int... digits) throws DBCException {
+        ByteBuffer buffer = encode("numeric", new BigDecimal(value));
+        Assert.assertEquals(8 + digits.length * 2, buffer.getInt());
+        Assert.assertEquals(digits.length, buffer.getShort());
+        Assert.assertEquals(weight, buffer.getShort());
+        Assert.assertEquals(sign, buffer.getShort());
+        Assert.assertEquals(dscale, buffer.getShort());
+        for (int digit : digits) {
+            Assert.assertEquals(digit, buffer.getShort());
+        }
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    private static ByteBuffer encode(String typeName, Object value) throws DBCException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PostgreCopyBinaryEncoder.writeField(new VoidProgressMonitor(), out, typeName, value);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+}
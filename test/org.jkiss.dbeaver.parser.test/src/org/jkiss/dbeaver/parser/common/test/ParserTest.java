@@ -319,4 +319,26 @@ public class ParserTest {
         Assert.assertTrue(p.parse("Enum8('hello' = 1, 'world' = 2)").isSuccess());
         
     }
+
+    @Test(timeout = 60000)
+    public void parseAmbiguousSequence() {
+        final var gb = new GrammarInfoBuilder("Ambiguous");
+        gb.setRule("sp", regex("[\\s]*"));
+        gb.setSkipRuleName("sp");
+        gb.setUseSkipRule(true);
+
+        // Each "x x" pair may be parsed three different ways, so the number of derivations grows exponentially
+        gb.setRule("one", alt("x"));
+        gb.setRule("two", seq("x", "x"));
+        gb.setRule("pair", seq(call("one"), call("one")));
+        gb.setRule("list", zeroOrMore(alt(call("one"), call("two"), call("pair"))));
+        gb.setStartRuleName("list");
+
+        Parser p = ParserFactory.getFactory(gb.buildGrammarInfo()).createParser();
+
+        ParseResult result = p.parse("x ".repeat(200));
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(1, result.getTrees(false).size());
+        Assert.assertFalse(p.parse("x ".repeat(200) + "y").isSuccess());
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class AggregateSketchTest {
+
+    private static final int VALUE_COUNT = 200_000;
+
+    @Test
+    public void testQuantileSketchRankError() {
+        QuantileSketch sketch = new QuantileSketch();
+        Random random = new Random(1);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            sketch.update(random.nextInt(VALUE_COUNT));
+        }
+        Assert.assertEquals(VALUE_COUNT, sketch.getCount());
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            int value = (Integer) sketch.getQuantile(quantile);
+            Assert.assertEquals("Quantile " + quantile, quantile, (double) value / VALUE_COUNT, 0.02);
+        }
+    }
+
+    @Test
+    public void testDistinctCountSketchError() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            sketch.update((long) (i % 50_000) - 25_000);
+        }
+        Assert.assertEquals(50_000, sketch.getEstimate(), 50_000 * 0.03);
+
+        DistinctCountSketch smallSketch = new DistinctCountSketch();
+        for (int i = 0; i < 1000; i++) {
+            smallSketch.update("value" + (i % 100));
+        }
+        Assert.assertEquals(100, smallSketch.getEstimate(), 2);
+    }
+
+    @Test
+    public void testFrequentItemsSketch() {
+        FrequentItemsSketch sketch = new FrequentItemsSketch(16);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            sketch.update(i % 5 == 0 ? "frequent" : "value" + i);
+        }
+        Assert.assertEquals("frequent", sketch.getMostFrequent());
+    }
+
+    @Test
+    public void testApproximateFunctions() {
+        IAggregateFunction median = new FunctionMedian();
+        IAggregateFunction mode = new FunctionMode();
+        IAggregateFunction countDistinct = new FunctionCountDistinct();
+        for (IAggregateFunction func : new IAggregateFunction[]{median, mode, countDistinct}) {
+            func.setApproximate(true);
+            for (int i = 1; i <= 9; i++) {
+                func.accumulate(i, false);
+            }
+            func.accumulate(5, false);
+        }
+        Assert.assertEquals(5.0, ((Number) median.getResult(10)).doubleValue(), 0);
+        Assert.assertEquals(5.0, ((Number) mode.getResult(10)).doubleValue(), 0);
+        Assert.assertEquals(9L, countDistinct.getResult(10));
+    }
+
+    @Test
+    public void testExactPercentile() {
+        IAggregateFunction median = new FunctionMedian();
+        IAggregateFunction percentile90 = new FunctionPercentile90();
+        for (int i = 10; i >= 1; i--) {
+            median.accumulate(i, false);
+            percentile90.accumulate(i, false);
+        }
+        Assert.assertEquals(5.5, ((Number) median.getResult(10)).doubleValue(), 0.000001);
+        Assert.assertEquals(9.1, ((Number) percentile90.getResult(10)).doubleValue(), 0.000001);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCArrayImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.sql.Array;
+import java.sql.Types;
+
+public class JDBCCacheSnapshotTest {
+
+    @Test
+    public void captureAndRestoreRows() throws Exception {
+        RowSetMetaDataImpl meta = new RowSetMetaDataImpl();
+        meta.setColumnCount(5);
+        setColumn(meta, 1, "oid", Types.BIGINT, "oid");
+        setColumn(meta, 2, "relname", Types.VARCHAR, "name");
+        setColumn(meta, 3, "xmin", Types.OTHER, "xid");
+        setColumn(meta, 4, "conkey", Types.ARRAY, "_int2");
+        setColumn(meta, 5, "relacl", Types.ARRAY, "_aclitem");
+
+        CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+        rows.setMetaData(meta);
+        rows.moveToInsertRow();
+        rows.updateObject(1, 16384L);
+        rows.updateObject(2, "table1");
+        rows.updateObject(3, new DriverValue("735"));
+        rows.updateObject(4, new JDBCArrayImpl("int2", Types.SMALLINT, new Object[] {(short) 1, (short) 3}));
+        rows.updateNull(5);
+        rows.insertRow();
+        rows.moveToInsertRow();
+        rows.updateObject(1, 16390L);
+        rows.updateObject(2, "table2");
+        rows.updateNull(3);
+        rows.updateObject(4, new JDBCArrayImpl("int2", Types.SMALLINT, new Object[0]));
+        rows.updateObject(5, new JDBCArrayImpl("aclitem", Types.OTHER, new Object[] {new DriverValue("postgres=arwdDxt/postgres")}));
+        rows.insertRow();
+        rows.moveToCurrentRow();
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            JDBCCacheSnapshot.writeRows(out, rows);
+        }
+        CachedRowSet restored;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            restored = JDBCCacheSnapshot.readRows(in);
+        }
+
+        Assert.assertEquals(2, restored.size());
+        Assert.assertEquals("conkey", restored.getMetaData().getColumnName(4));
+        Assert.assertEquals(Types.ARRAY, restored.getMetaData().getColumnType(4));
+
+        restored.beforeFirst();
+        Assert.assertTrue(restored.next());
+        Assert.assertEquals(16384L, restored.getLong("oid"));
+        Assert.assertEquals("table1", restored.getString("relname"));
+        Assert.assertEquals(735L, restored.getLong("xmin"));
+        Array keys = restored.getArray("conkey");
+        Assert.assertEquals("int2", keys.getBaseTypeName());
+        Assert.assertArrayEquals(new Object[] {(short) 1, (short) 3}, (Object[]) keys.getArray());
+        Assert.assertNull(restored.getObject("relacl"));
+
+        Assert.assertTrue(restored.next());
+        Assert.assertEquals("table2", restored.getString("relname"));
+        Assert.assertNull(restored.getObject("xmin"));
+        Assert.assertEquals(0, ((Object[]) restored.getArray("conkey").getArray()).length);
+        Assert.assertArrayEquals(new Object[] {"postgres=arwdDxt/postgres"}, (Object[]) restored.getArray("relacl").getArray());
+        Assert.assertFalse(restored.next());
+    }
+
+    private static void setColumn(RowSetMetaDataImpl meta, int index, String name, int type, String typeName) throws Exception {
+        meta.setColumnName(index, name);
+        meta.setColumnLabel(index, name);
+        meta.setColumnType(index, type);
+        meta.setColumnTypeName(index, typeName);
+        meta.setNullable(index, RowSetMetaDataImpl.columnNullable);
+    }
+
+    // Value of driver specific type (like PGobject)
+    private static class DriverValue {
+        private final String value;
+
+        DriverValue(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+}
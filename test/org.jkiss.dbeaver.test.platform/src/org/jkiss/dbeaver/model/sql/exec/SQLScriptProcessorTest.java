@@ -0,0 +1,177 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPDataSourceInfo;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.dbeaver.model.sql.SQLScriptContext;
+import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.StringWriter;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLScriptProcessorTest {
+    private static final Log log = Log.getLog(SQLScriptProcessorTest.class);
+
+    @Mock
+    private DBPDataSource dataSource;
+    @Mock
+    private DBPDataSourceContainer dataSourceContainer;
+    @Mock
+    private DBPDataSourceInfo dataSourceInfo;
+    @Mock
+    private DBPPreferenceStore preferenceStore;
+    @Mock
+    private DBCExecutionContext executionContext;
+    @Mock
+    private DBCSession session;
+    @Mock
+    private JDBCStatement statement;
+    @Mock
+    private DBDDataReceiver dataReceiver;
+
+    @Before
+    public void init() throws Exception {
+        Mockito.when(executionContext.getDataSource()).thenReturn(dataSource);
+        Mockito.when(executionContext.openSession(Mockito.any(), Mockito.any(), Mockito.anyString())).thenReturn(session);
+        Mockito.when(dataSource.getInfo()).thenReturn(dataSourceInfo);
+        Mockito.when(dataSourceInfo.supportsBatchUpdates()).thenReturn(true);
+        Mockito.lenient().when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.lenient().when(dataSourceContainer.getPreferenceStore()).thenReturn(preferenceStore);
+        Mockito.lenient().when(session.getDataSource()).thenReturn(dataSource);
+        Mockito.lenient().when(session.prepareStatement(
+            Mockito.eq(DBCStatementType.SCRIPT), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean())
+        ).thenReturn(statement);
+    }
+
+    @Test
+    public void batchConsecutiveInserts() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenReturn(new int[] {1, 1, 1});
+        runScript(10,
+            "insert into t1 (id, name) values (1, 'a')",
+            "INSERT INTO t1 (id,name) VALUES (2, 'b')",
+            "insert into t1 (id, name) values (3, 'c')");
+
+        Mockito.verify(session, Mockito.times(1)).prepareStatement(
+            Mockito.eq(DBCStatementType.SCRIPT), Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyBoolean());
+        Mockito.verify(statement, Mockito.times(3)).addBatch(Mockito.anyString());
+        Mockito.verify(statement, Mockito.times(1)).executeStatementBatch();
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    public void flushBatchOnKeyChange() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenReturn(new int[] {1, 1});
+        runScript(10,
+            "insert into t1 values (1)",
+            "insert into t1 values (2)",
+            "insert into t2 values (1)",
+            "insert into t2 values (2)");
+
+        InOrder order = Mockito.inOrder(statement);
+        order.verify(statement).addBatch("insert into t1 values (1)");
+        order.verify(statement).addBatch("insert into t1 values (2)");
+        order.verify(statement).executeStatementBatch();
+        order.verify(statement).addBatch("insert into t2 values (1)");
+        order.verify(statement).addBatch("insert into t2 values (2)");
+        order.verify(statement).executeStatementBatch();
+    }
+
+    @Test
+    public void flushBatchOnBatchSize() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenReturn(new int[] {1, 1});
+        runScript(2,
+            "insert into t1 values (1)",
+            "insert into t1 values (2)",
+            "insert into t1 values (3)",
+            "insert into t1 values (4)");
+
+        Mockito.verify(statement, Mockito.times(4)).addBatch(Mockito.anyString());
+        Mockito.verify(statement, Mockito.times(2)).executeStatementBatch();
+    }
+
+    @Test
+    public void flushBatchAtScriptEnd() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenReturn(new int[] {1, 1});
+        SQLScriptProcessor processor = runScript(1000,
+            "insert into t1 values (1)",
+            "insert into t1 values (2)");
+
+        Mockito.verify(statement, Mockito.times(1)).executeStatementBatch();
+        Assert.assertEquals(2, processor.getTotalStatistics().getRowsUpdated());
+        Assert.assertEquals(2, processor.getTotalStatistics().getStatementsCount());
+    }
+
+    @Test
+    public void reportFailedQuery() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenThrow(new DBCException(
+            "Batch failed", new BatchUpdateException(new int[] {1, Statement.EXECUTE_FAILED, 1})));
+        DBCException error = Assert.assertThrows(DBCException.class, () -> runScript(10,
+            "insert into t1 values (1)",
+            "insert into t1 values (1)",
+            "insert into t1 values (2)"));
+
+        Assert.assertNotNull(error.getCause());
+        Assert.assertEquals(
+            "Query #2 failed (batch of queries #1-#3):\ninsert into t1 values (1)",
+            error.getCause().getMessage());
+    }
+
+    @Test
+    public void reportFailedBatchWithoutUpdateCounts() throws Exception {
+        Mockito.when(statement.executeStatementBatch()).thenThrow(new DBCException("Batch failed"));
+        DBCException error = Assert.assertThrows(DBCException.class, () -> runScript(10,
+            "insert into t1 values (1)",
+            "insert into t1 values (2)",
+            "insert into t1 values (3)"));
+
+        Assert.assertNotNull(error.getCause());
+        Assert.assertEquals("Batch of queries #1-#3 failed", error.getCause().getMessage());
+    }
+
+    private SQLScriptProcessor runScript(int batchSize, String... queries) throws DBCException {
+        List<SQLScriptElement> elements = new ArrayList<>();
+        for (String query : queries) {
+            elements.add(new SQLQuery(dataSource, query));
+        }
+        SQLScriptContext scriptContext = new SQLScriptContext(null, () -> executionContext, null, new StringWriter(), null);
+        SQLScriptProcessor processor = new SQLScriptProcessor(executionContext, elements, scriptContext, dataReceiver, log);
+        processor.setInsertBatchSize(batchSize);
+        processor.runScript(new VoidProgressMonitor());
+        return processor;
+    }
+}
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.model.sql.parser;
 
 import org.eclipse.jface.text.Document;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ext.generic.GenericConstants;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
@@ -40,6 +41,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -527,6 +531,62 @@ public class SQLScriptParserTest {
         }
     }
     
+    @Test
+    public void parseScriptStream() throws DBException, IOException {
+        String script = "create table t1 (id int, name varchar(100));\n" +
+            "insert into t1 values (1, 'one; two');\n" +
+            "-- comment;\n" +
+            "do $$\nbegin\n\traise notice 'hello;';\nend $$;\n" +
+            "insert into t1 values (2, 'a very long value which doesn''t fit into the window');\n" +
+            "select * from t1";
+        SQLParserContext context = createParserContext(setDialect("postgresql"), script);
+        List<SQLScriptElement> expected = SQLScriptParser.extractScriptQueries(context, 0, script.length(), true, false, true);
+
+        for (int windowSize : new int[]{16, 50, 1024}) {
+            List<String> actual = new ArrayList<>();
+            try (SQLScriptStreamParser parser = new SQLScriptStreamParser(
+                dataSource, new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, script.length())) {
+                parser.setWindowSize(windowSize);
+                for (SQLScriptElement element = parser.nextElement(); element != null; element = parser.nextElement()) {
+                    actual.add(element.getText());
+                }
+                Assert.assertEquals(script.length(), parser.getBytesRead());
+            }
+            Assert.assertEquals(
+                expected.stream().map(SQLScriptElement::getText).collect(Collectors.toList()),
+                actual);
+        }
+    }
+
+    @Test
+    public void parseScriptStreamWithDelimiter() throws DBException, IOException {
+        Mockito.lenient().when(driver.getDriverParameter(GenericConstants.PARAM_SCRIPT_DELIMITER_REDEFINER)).thenReturn("DELIMITER");
+        String script = "DELIMITER $$\n" +
+            "select 1; select 2$$\n" +
+            "select 3; select 4$$\n" +
+            "DELIMITER ;\n" +
+            "select 5;\n" +
+            "select 6";
+        SQLParserContext context = createParserContext(setDialect("generic"), script);
+        List<String> expected = SQLScriptParser.extractScriptQueries(context, 0, script.length(), true, false, true)
+            .stream().map(SQLScriptElement::getText).collect(Collectors.toList());
+        Assert.assertTrue(expected.contains("select 1; select 2"));
+        Assert.assertTrue(expected.contains("select 5"));
+
+        // Delimiter block crosses window boundaries
+        for (int windowSize : new int[]{16, 24, 1024}) {
+            List<String> actual = new ArrayList<>();
+            try (SQLScriptStreamParser parser = new SQLScriptStreamParser(
+                dataSource, new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, script.length())) {
+                parser.setWindowSize(windowSize);
+                for (SQLScriptElement element = parser.nextElement(); element != null; element = parser.nextElement()) {
+                    actual.add(element.getText());
+                }
+            }
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
     private void assertParse(String dialectName, String[] expected) throws DBException {
     	String source = Arrays.stream(expected).filter(e -> e != null).collect(Collectors.joining());
     	List<String> expectedParts = new ArrayList<>(expected.length);
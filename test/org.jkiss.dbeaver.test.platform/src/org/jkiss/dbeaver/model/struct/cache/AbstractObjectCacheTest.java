@@ -0,0 +1,207 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class AbstractObjectCacheTest {
+
+    private static final int OBJECT_COUNT = 1000;
+
+    @Test
+    public void testCopyOnWriteLookup() {
+        TestCache cache = createCache(true);
+        Assert.assertEquals(OBJECT_COUNT, cache.getCacheSize());
+        Assert.assertNotNull(cache.getCachedObject("object10"));
+
+        DBSObject object = cache.getCachedObject("object10");
+        cache.removeObject(object, false);
+        Assert.assertNull(cache.getCachedObject("object10"));
+        Assert.assertEquals(OBJECT_COUNT - 1, cache.getCacheSize());
+
+        DBSObject renamed = cache.getCachedObject("object20");
+        cache.renameObject(renamed, "object20", "renamed20");
+        Assert.assertSame(renamed, cache.getCachedObject("renamed20"));
+        Assert.assertNull(cache.getCachedObject("object20"));
+
+        cache.clearCache();
+        Assert.assertEquals(0, cache.getCacheSize());
+        Assert.assertNull(cache.getCachedObject("object30"));
+        Assert.assertTrue(cache.getCachedObjects().isEmpty());
+    }
+
+    @Test
+    public void testCopyOnWriteSnapshotIsStable() {
+        TestCache cache = createCache(true);
+        List<DBSObject> objects = cache.getCachedObjects();
+        cache.cacheObject(makeObject("extra"));
+        Assert.assertEquals(OBJECT_COUNT, objects.size());
+        Assert.assertEquals(OBJECT_COUNT + 1, cache.getCachedObjects().size());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> objects.add(makeObject("other")));
+    }
+
+    @Test
+    public void testConcurrentReadersAndWriter() throws Exception {
+        TestCache cache = createCache(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    cache.cacheObject(makeObject("new" + i));
+                }
+            }));
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int k = 0; k < 10000; k++) {
+                        Assert.assertNotNull(cache.getCachedObject("object" + (k % OBJECT_COUNT)));
+                        for (DBSObject object : cache.getCachedObjects()) {
+                            Assert.assertNotNull(object);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(OBJECT_COUNT + 200, cache.getCacheSize());
+    }
+
+    @Test
+    public void testReadersDoNotLockCache() throws Exception {
+        TestCache cache = createCache(true);
+        cache.cacheObject(makeObject("extra"));
+        // First read after modification publishes the snapshot
+        Assert.assertEquals(OBJECT_COUNT + 1, cache.getCacheSize());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            synchronized (cache.getCacheSync()) {
+                // Cache is locked by a writer. Readers must use the published snapshot
+                Assert.assertNotNull(executor.submit(() -> cache.getCachedObject("extra")).get(1, TimeUnit.MINUTES));
+                Assert.assertEquals(OBJECT_COUNT + 1, (int) executor.submit(cache::getCacheSize).get(1, TimeUnit.MINUTES));
+                Assert.assertEquals(OBJECT_COUNT + 1, executor.submit(cache::getCachedObjects).get(1, TimeUnit.MINUTES).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the same concurrent workload in locking and copy-on-write modes with 1, 4 and 16 reader threads.
+     * Both modes must end with the same cache contents. Throughput is printed only, there are no timing assertions.
+     */
+    @Test
+    public void testCompareWithLockingMode() throws Exception {
+        for (int threads : new int[] {1, 4, 16}) {
+            TestCache lockingCache = createCache(false);
+            TestCache cowCache = createCache(true);
+            long lockingOps = runWorkload(lockingCache, threads);
+            long cowOps = runWorkload(cowCache, threads);
+            Assert.assertEquals(lockingCache.getCacheSize(), cowCache.getCacheSize());
+            for (DBSObject object : lockingCache.getCachedObjects()) {
+                Assert.assertSame(object, lockingCache.getCachedObject(object.getName()));
+                Assert.assertNotNull(cowCache.getCachedObject(object.getName()));
+            }
+            System.out.println("Cache reads (" + threads + " threads): locking=" + lockingOps + " ops/ms, copy-on-write=" + cowOps + " ops/ms");
+        }
+    }
+
+    /**
+     * One writer adds and removes objects while readers look up objects which are never removed.
+     * Returns reader throughput.
+     */
+    private static long runWorkload(TestCache cache, int threads) throws Exception {
+        final int iterations = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Callable<Object>> tasks = new ArrayList<>();
+            tasks.add(() -> {
+                for (int i = 0; i < 200; i++) {
+                    DBSObject object = makeObject("new" + i);
+                    cache.cacheObject(object);
+                    if (i % 2 == 0) {
+                        cache.removeObject(object, false);
+                    }
+                }
+                return null;
+            });
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> {
+                    for (int k = 0; k < iterations; k++) {
+                        Assert.assertNotNull(cache.getCachedObject("object" + (k % OBJECT_COUNT)));
+                        Assert.assertTrue(cache.getCacheSize() >= OBJECT_COUNT);
+                    }
+                    return null;
+                });
+            }
+            long startTime = System.nanoTime();
+            for (Future<Object> future : executor.invokeAll(tasks, 5, TimeUnit.MINUTES)) {
+                future.get();
+            }
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            Assert.assertEquals(OBJECT_COUNT + 100, cache.getCacheSize());
+            return (long) iterations * threads / elapsedMs;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TestCache createCache(boolean copyOnWrite) {
+        TestCache cache = new TestCache();
+        cache.setCopyOnWrite(copyOnWrite);
+        List<DBSObject> objects = new ArrayList<>();
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            objects.add(makeObject("object" + i));
+        }
+        cache.setCache(objects);
+        return cache;
+    }
+
+    private static DBSObject makeObject(String name) {
+        DBSObject object = Mockito.mock(DBSObject.class);
+        Mockito.when(object.getName()).thenReturn(name);
+        return object;
+    }
+
+    private static class TestCache extends AbstractObjectCache<DBSObject, DBSObject> {
+        @NotNull
+        @Override
+        public List<DBSObject> getAllObjects(@NotNull DBRProgressMonitor monitor, @Nullable DBSObject owner) {
+            return getCachedObjects();
+        }
+
+        @Nullable
+        @Override
+        public DBSObject getObject(@NotNull DBRProgressMonitor monitor, @NotNull DBSObject owner, @NotNull String name) {
+            return getCachedObject(name);
+        }
+    }
+
+}
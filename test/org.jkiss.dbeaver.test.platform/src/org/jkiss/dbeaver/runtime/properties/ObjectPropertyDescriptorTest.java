@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.properties;
+
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
+import org.jkiss.dbeaver.model.meta.IPropertyCacheValidator;
+import org.jkiss.dbeaver.model.meta.LazyProperty;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class ObjectPropertyDescriptorTest {
+
+    @Test
+    public void readValue() throws Exception {
+        TestObject object = new TestObject("table1", 10);
+        Assert.assertEquals("table1", getProperty(TestObject.class, "name").readValue(object, null, false));
+        Assert.assertEquals(10, getProperty(TestObject.class, "rowCount").readValue(object, null, false));
+    }
+
+    @Test
+    public void readLazyValue() throws Exception {
+        ObjectPropertyDescriptor property = getProperty(TestObject.class, "comment");
+        Assert.assertTrue(property.isLazy());
+        Assert.assertEquals("table1 comment", property.readValue(new TestObject("table1", 10), new VoidProgressMonitor(), false));
+        Assert.assertThrows(IllegalAccessException.class, () -> property.readValue(new TestObject("table1", 10), null, false));
+    }
+
+    @Test
+    public void readValueErrors() {
+        InvocationTargetException error = Assert.assertThrows(
+            InvocationTargetException.class,
+            () -> getProperty(TestObject.class, "broken").readValue(new TestObject("table1", 10), null, false));
+        Assert.assertTrue(error.getTargetException() instanceof IllegalStateException);
+
+        Assert.assertThrows(
+            IllegalArgumentException.class,
+            () -> getProperty(TestObject.class, "name").readValue(new HiddenObject(), null, false));
+    }
+
+    @Test
+    public void readValues() {
+        List<ObjectPropertyDescriptor> properties = Arrays.asList(
+            getProperty(TestObject.class, "name"),
+            null,
+            getProperty(TestObject.class, "broken"),
+            getProperty(TestObject.class, "rowCount"));
+        Object[][] values = ObjectPropertyDescriptor.readValues(
+            Arrays.asList(new TestObject("table1", 1), null, new TestObject("table2", 2)), properties, null, false);
+        Assert.assertEquals(3, values.length);
+        Assert.assertArrayEquals(new Object[] {"table1", null, null, 1}, values[0]);
+        Assert.assertArrayEquals(new Object[4], values[1]);
+        Assert.assertArrayEquals(new Object[] {"table2", null, null, 2}, values[2]);
+
+        Assert.assertEquals(0, ObjectPropertyDescriptor.readValues(Collections.emptyList(), properties, null, false).length);
+    }
+
+    @Test
+    public void loadLazyValues() throws Exception {
+        ObjectPropertyDescriptor property = getProperty(StatObject.class, "size");
+        Assert.assertTrue(property.supportsBulkLoad());
+        Assert.assertFalse(getProperty(TestObject.class, "comment").supportsBulkLoad());
+
+        StatObject.loadCount = 0;
+        StatObject cached = new StatObject();
+        cached.size = 100L;
+        List<StatObject> objects = Arrays.asList(new StatObject(), cached, new StatObject());
+        property.loadLazyValues(new VoidProgressMonitor(), objects);
+        Assert.assertEquals(1, StatObject.loadCount);
+        Assert.assertEquals(Long.valueOf(0), objects.get(0).size);
+        Assert.assertEquals(Long.valueOf(100), objects.get(1).size);
+        Assert.assertEquals(Long.valueOf(2), objects.get(2).size);
+
+        // All values are cached now
+        property.loadLazyValues(new VoidProgressMonitor(), objects);
+        Assert.assertEquals(1, StatObject.loadCount);
+        Assert.assertEquals(2L, property.readValue(objects.get(2), new VoidProgressMonitor(), false));
+    }
+
+    private static ObjectPropertyDescriptor getProperty(Class<?> objectClass, String id) {
+        for (ObjectPropertyDescriptor property : ObjectAttributeDescriptor.extractAnnotations(null, objectClass, null, null)) {
+            if (property.getId().equals(id)) {
+                return property;
+            }
+        }
+        throw new IllegalArgumentException("Property " + id + " not found");
+    }
+
+    public static class TestObject {
+        private final String name;
+        private final int rowCount;
+
+        TestObject(String name, int rowCount) {
+            this.name = name;
+            this.rowCount = rowCount;
+        }
+
+        @Property(name = "Name", order = 1)
+        public String getName() {
+            return name;
+        }
+
+        @Property(name = "Row count", order = 2)
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Property(name = "Comment", order = 3)
+        public String getComment(DBRProgressMonitor monitor) {
+            return monitor == null ? null : name + " comment";
+        }
+
+        @Property(name = "Broken", order = 4)
+        public String getBroken() {
+            throw new IllegalStateException("Can't read property");
+        }
+    }
+
+    public static class StatObject {
+        static int loadCount;
+        Long size;
+
+        @Property(name = "Size", order = 1)
+        @LazyProperty(cacheValidator = SizeValidator.class, bulkLoader = SizeLoader.class)
+        public Long getSize(DBRProgressMonitor monitor) {
+            if (size == null) {
+                size = -1L;
+            }
+            return size;
+        }
+    }
+
+    public static class SizeValidator implements IPropertyCacheValidator<StatObject> {
+        @Override
+        public boolean isPropertyCached(StatObject object, Object propertyId) {
+            return object.size != null;
+        }
+    }
+
+    public static class SizeLoader implements IPropertyBulkLoader<StatObject> {
+        @Override
+        public void loadProperty(DBRProgressMonitor monitor, Collection<StatObject> objects, Object propertyId) {
+            StatObject.loadCount++;
+            // Position in the list of not cached objects
+            long index = 0;
+            for (StatObject object : objects) {
+                object.size = index++ * 2;
+            }
+        }
+    }
+
+    static class HiddenObject {
+        @Property(name = "Name", order = 1)
+        public String getName() {
+            return "hidden";
+        }
+    }
+
+}
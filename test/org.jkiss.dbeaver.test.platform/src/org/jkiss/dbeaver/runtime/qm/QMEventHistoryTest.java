@@ -0,0 +1,155 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2023 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMObjectType;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class QMEventHistoryTest {
+
+    @Test
+    public void testRingBufferEviction() {
+        QMEventHistory history = new QMEventHistory(10);
+        for (int i = 0; i < 25; i++) {
+            history.addEvent(createQueryEvent("select " + i, DBCExecutionPurpose.USER));
+        }
+        Assert.assertEquals(10, history.getSize());
+        List<QMMetaEvent> events = history.getEvents();
+        Assert.assertEquals("select 15", events.get(0).getObject().getText());
+        Assert.assertEquals("select 24", events.get(9).getObject().getText());
+    }
+
+    @Test
+    public void testCursorOrderAndTypes() throws Exception {
+        QMEventHistory history = new QMEventHistory(100);
+        history.addEvent(createSessionEvent("session"));
+        history.addEvent(createQueryEvent("select 1", DBCExecutionPurpose.USER));
+        history.addEvent(createQueryEvent("select 2", DBCExecutionPurpose.META));
+        history.addEvent(createQueryEvent("select 3", DBCExecutionPurpose.USER));
+
+        Assert.assertEquals(
+            List.of("select 3", "select 2", "select 1", "session"),
+            readTexts(history.openCursor(null, null, null, null)));
+        Assert.assertEquals(
+            List.of("select 3", "select 1"),
+            readTexts(history.openCursor(new QMObjectType[]{QMObjectType.query}, new DBCExecutionPurpose[]{DBCExecutionPurpose.USER}, null, null)));
+        Assert.assertEquals(
+            List.of("session"),
+            readTexts(history.openCursor(new QMObjectType[]{QMObjectType.session}, null, null, null)));
+    }
+
+    @Test
+    public void testTextSearch() throws Exception {
+        QMEventHistory history = new QMEventHistory(100);
+        history.addEvent(createQueryEvent("SELECT * FROM Customers", DBCExecutionPurpose.USER));
+        history.addEvent(createQueryEvent("select * from orders", DBCExecutionPurpose.USER));
+        history.addEvent(createQueryEvent("update customers set a=1", DBCExecutionPurpose.USER));
+
+        Assert.assertEquals(
+            List.of("update customers set a=1", "SELECT * FROM Customers"),
+            readTexts(history.openCursor(null, null, "CUSTOMERS", null)));
+        // Short strings are checked without index
+        Assert.assertEquals(
+            List.of("select * from orders"),
+            readTexts(history.openCursor(null, null, "or", null)));
+        Assert.assertEquals(0, history.openCursor(null, null, "products", null).getTotalSize());
+        // Trigrams match but text doesn't
+        Assert.assertEquals(0, history.openCursor(null, null, "orders set", null).getTotalSize());
+    }
+
+    @Test
+    public void testSearchAfterEviction() throws Exception {
+        QMEventHistory history = new QMEventHistory(10);
+        history.addEvent(createQueryEvent("select unique_name", DBCExecutionPurpose.USER));
+        for (int i = 0; i < 30; i++) {
+            history.addEvent(createQueryEvent("select " + i, DBCExecutionPurpose.USER));
+        }
+        Assert.assertEquals(0, history.openCursor(null, null, "unique_name", null).getTotalSize());
+        Assert.assertEquals(1, history.openCursor(null, null, "select 29", null).getTotalSize());
+    }
+
+    @Test
+    public void testSearchNewEvents() throws Exception {
+        QMEventHistory history = new QMEventHistory(100);
+        history.addEvent(createQueryEvent("select 1 from customers", DBCExecutionPurpose.USER));
+        Assert.assertEquals(1, history.openCursor(null, null, "customers", null).getTotalSize());
+        Assert.assertEquals(0, history.openCursor(null, null, "orders", null).getTotalSize());
+        // Added after the text index was built
+        history.addEvent(createQueryEvent("select 2 from orders", DBCExecutionPurpose.USER));
+        history.addEvent(createQueryEvent("select 3 from customers", DBCExecutionPurpose.USER));
+        Assert.assertEquals(List.of("select 2 from orders"), readTexts(history.openCursor(null, null, "orders", null)));
+        Assert.assertEquals(2, history.openCursor(null, null, "customers", null).getTotalSize());
+    }
+
+    @Test
+    public void testSearchLongText() throws Exception {
+        QMEventHistory history = new QMEventHistory(100);
+        String longText = "insert into values " + "(1),".repeat(QMEventHistory.MAX_INDEXED_TEXT_LENGTH / 4) + "(unique_value)";
+        history.addEvent(createQueryEvent(longText, DBCExecutionPurpose.USER));
+        history.addEvent(createQueryEvent("select 1", DBCExecutionPurpose.USER));
+        Assert.assertEquals(List.of(longText), readTexts(history.openCursor(null, null, "unique_value", null)));
+        Assert.assertEquals(List.of("select 1", longText), readTexts(history.openCursor(null, null, "1", null)));
+        Assert.assertEquals(0, history.openCursor(null, null, "missing", null).getTotalSize());
+    }
+
+    @Test
+    public void testCursorDoesNotSeeNewEvents() throws Exception {
+        QMEventHistory history = new QMEventHistory(100);
+        history.addEvent(createQueryEvent("select 1", DBCExecutionPurpose.USER));
+        QMEventCursor cursor = history.openCursor(null, null, "select", null);
+        history.addEvent(createQueryEvent("select 2", DBCExecutionPurpose.USER));
+        Assert.assertEquals(1, cursor.getTotalSize());
+        Assert.assertEquals(List.of("select 1"), readTexts(cursor));
+    }
+
+    private static List<String> readTexts(QMEventCursor cursor) throws Exception {
+        List<String> texts = new ArrayList<>();
+        try (cursor) {
+            while (cursor.hasNextEvent(null)) {
+                texts.add(cursor.nextEvent(null).getObject().getText());
+            }
+        }
+        return texts;
+    }
+
+    private static QMMetaEvent createQueryEvent(String text, DBCExecutionPurpose purpose) {
+        QMMStatementInfo statement = Mockito.mock(QMMStatementInfo.class);
+        Mockito.when(statement.getPurpose()).thenReturn(purpose);
+        QMMStatementExecuteInfo execute = Mockito.mock(QMMStatementExecuteInfo.class);
+        Mockito.when(execute.getStatement()).thenReturn(statement);
+        Mockito.when(execute.getText()).thenReturn(text);
+        return new QMMetaEvent(execute, QMEventAction.END, "test");
+    }
+
+    private static QMMetaEvent createSessionEvent(String text) {
+        QMMConnectionInfo connection = Mockito.mock(QMMConnectionInfo.class);
+        Mockito.when(connection.getText()).thenReturn(text);
+        return new QMMetaEvent(connection, QMEventAction.BEGIN, "test");
+    }
+}